@@ -0,0 +1,112 @@
+package org.example.aspect;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.annotations.Loggable;
+import org.example.context.RequestIdGenerator;
+import org.example.metrics.MethodMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead {@link LoggingAspect} adds to a {@link Loggable} method.
+ * <p>
+ * The advised call is compared with a direct call to the same target. Log events are formatted
+ * by a pattern encoder and written to a discarding stream, so the measurement includes message
+ * rendering but no I/O. With {@code WARN} the aspect logging is disabled and only the advice
+ * dispatch, the request context and the latency metrics remain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+    @Param({"WARN", "INFO"})
+    public String level;
+
+    private Target target;
+    private Target advised;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} %X - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(ch.qos.logback.classic.Level.WARN);
+        loggerContext.getLogger(LoggingAspect.class).setLevel(ch.qos.logback.classic.Level.toLevel(this.level));
+
+        this.target = new Target();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(this.target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(
+                new RequestIdGenerator("benchmark"),
+                new MethodMetrics(new SimpleMeterRegistry())
+        ));
+        this.advised = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return this.target.fetchHeadOfDepartment("Computer Science");
+    }
+
+    @Benchmark
+    public String advised() {
+        return this.advised.fetchHeadOfDepartment("Computer Science");
+    }
+
+    @Benchmark
+    public List<String> advisedLargeResult() {
+        return this.advised.fetchEmployeeNames("Computer Science");
+    }
+
+    /**
+     * Stand-in for an annotated service method.
+     */
+    public static class Target {
+        private final List<String> employeeNames = IntStream.range(0, 1000)
+                .mapToObj(i -> "Lector " + i)
+                .toList();
+
+        @Loggable(
+                logArguments = true,
+                logReturnValue = true,
+                logException = true
+        )
+        public String fetchHeadOfDepartment(String departmentName) {
+            return "Head of " + departmentName;
+        }
+
+        @Loggable(
+                logArguments = true,
+                logReturnValue = true,
+                logException = true
+        )
+        public List<String> fetchEmployeeNames(String departmentName) {
+            return this.employeeNames;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import org.example.snapshot.UniversitySnapshotHolder;
+import org.example.stats.DepartmentStatsChecker;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Minimal application context for benchmarks.
+ * Boots the repositories and services against an in-memory H2 database in PostgreSQL mode,
+ * without the console runner or the web server.
+ */
+@Configuration
+@EnableAutoConfiguration
+@EntityScan("org.example.entity")
+@EnableJpaRepositories("org.example.repositrory")
+@ComponentScan({
+        "org.example.service",
+        "org.example.mapper",
+        "org.example.cache",
+        "org.example.search",
+        "org.example.stats",
+        "org.example.payroll",
+        "org.example.report",
+        "org.example.snapshot"
+})
+public class BenchmarkApplication {
+
+    /**
+     * Starts the benchmark context and fills the database with the given dataset.
+     * H2 has no statistics triggers, so the {@code department_stats} rows are filled by the checker.
+     * An enabled university snapshot is rebuilt from the seeded data.
+     *
+     * @param departments the number of departments to create
+     * @param lectorsPerDepartment the number of lectors in every department
+     * @param properties additional {@code key=value} properties overriding the benchmark profile
+     * @return the started application context
+     */
+    public static ConfigurableApplicationContext start(int departments, int lectorsPerDepartment, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .profiles("benchmark")
+                .properties(properties)
+                .run();
+        BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), departments, lectorsPerDepartment);
+        context.getBean(DepartmentStatsChecker.class).repair();
+        UniversitySnapshotHolder snapshotHolder = context.getBean(UniversitySnapshotHolder.class);
+        if (snapshotHolder.current() != null) {
+            snapshotHolder.refresh();
+        }
+        return context;
+    }
+}
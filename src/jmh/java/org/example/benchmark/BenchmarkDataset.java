@@ -0,0 +1,78 @@
+package org.example.benchmark;
+
+import org.example.enums.Degree;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a deterministic university dataset for benchmarks.
+ * Every lector belongs to its own department and to the next one, so the
+ * department-lector graph is connected the same way as in production data.
+ */
+public final class BenchmarkDataset {
+    private static final Degree[] DEGREES = Degree.values();
+
+    private BenchmarkDataset() {
+    }
+
+    /**
+     * Returns the name of the department with the given index.
+     *
+     * @param index the zero-based department index
+     * @return the department name
+     */
+    public static String departmentName(int index) {
+        return "Department " + index;
+    }
+
+    /**
+     * Inserts departments, lectors and memberships through batched JDBC statements
+     * and restarts the id sequences after the inserted ids.
+     *
+     * @param jdbcTemplate the template bound to the benchmark datasource
+     * @param departments the number of departments to create
+     * @param lectorsPerDepartment the number of lectors in every department
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int departments, int lectorsPerDepartment) {
+        int lectors = departments * lectorsPerDepartment;
+        List<Object[]> lectorRows = new ArrayList<>(lectors);
+        for (long id = 1; id <= lectors; id++) {
+            lectorRows.add(new Object[]{
+                    id,
+                    "Lector " + id,
+                    DEGREES[(int) (id % DEGREES.length)].name(),
+                    BigDecimal.valueOf(40000 + id % 40000),
+                    id % lectorsPerDepartment == 1
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO lectors (id, name, degree, salary, is_head_of_department) VALUES (?, ?, ?, ?, ?)",
+                lectorRows
+        );
+
+        List<Object[]> departmentRows = new ArrayList<>(departments);
+        List<Object[]> membershipRows = new ArrayList<>(lectors * 2);
+        for (int index = 0; index < departments; index++) {
+            long departmentId = index + 1L;
+            long firstLectorId = (long) index * lectorsPerDepartment + 1;
+            departmentRows.add(new Object[]{departmentId, departmentName(index), firstLectorId});
+            for (long lectorId = firstLectorId; lectorId < firstLectorId + lectorsPerDepartment; lectorId++) {
+                membershipRows.add(new Object[]{departmentId, lectorId});
+                membershipRows.add(new Object[]{(departmentId % departments) + 1, lectorId});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO departments (id, department_name, head_of_department_id) VALUES (?, ?, ?)",
+                departmentRows
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO department_lector (department_id, lector_id) VALUES (?, ?)",
+                membershipRows
+        );
+        jdbcTemplate.execute("ALTER SEQUENCE lectors_id_seq RESTART WITH " + (lectors + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE departments_id_seq RESTART WITH " + (departments + 1));
+    }
+}
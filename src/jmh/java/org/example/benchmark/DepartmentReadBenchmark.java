@@ -0,0 +1,81 @@
+package org.example.benchmark;
+
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.example.repositrory.DepartmentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the department read paths that hydrate the managed {@link Department} graph
+ * with the projection based read paths.
+ * <p>
+ * Run with {@code -prof gc} to get the heap allocation per call ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentReadBenchmark {
+    @Param({"200"})
+    public int lectorsPerDepartment;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentRepository departmentRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private String departmentName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(20, this.lectorsPerDepartment);
+        this.departmentRepository = this.context.getBean(DepartmentRepository.class);
+        this.readOnlyTransaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.departmentName = BenchmarkDataset.departmentName(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Integer employeeCountFromEntity() {
+        return this.readOnlyTransaction.execute(status -> this.departmentRepository
+                .findByDepartmentName(this.departmentName)
+                .map(department -> department.getEmployees().size())
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public Integer employeeCountFromSummary() {
+        return this.readOnlyTransaction.execute(status -> this.departmentRepository
+                .findSummaryByDepartmentName(this.departmentName)
+                .map(DepartmentSummary::employeeCount)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public String headOfDepartmentFromEntity() {
+        return this.readOnlyTransaction.execute(status -> this.departmentRepository
+                .findByDepartmentName(this.departmentName)
+                .map(Department::getHeadOfDepartment)
+                .map(Lector::getName)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public String headOfDepartmentFromSummary() {
+        return this.readOnlyTransaction.execute(status -> this.departmentRepository
+                .findSummaryByDepartmentName(this.departmentName)
+                .map(DepartmentSummary::headOfDepartmentName)
+                .orElseThrow());
+    }
+}
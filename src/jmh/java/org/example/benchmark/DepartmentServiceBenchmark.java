@@ -0,0 +1,97 @@
+package org.example.benchmark;
+
+import org.example.dto.depatrment.DepartmentRequestDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.service.DepartmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read methods of {@link DepartmentService} end to end: transaction, queries, mapping
+ * and the department lookup cache and the university snapshot when they are enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentServiceBenchmark {
+    @Param({"200"})
+    public int lectorsPerDepartment;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"false", "true"})
+    public boolean snapshotEnabled;
+
+    private ConfigurableApplicationContext context;
+    private DepartmentService departmentService;
+    private String departmentName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(
+                20,
+                this.lectorsPerDepartment,
+                "department.cache.enabled=" + this.cacheEnabled,
+                "snapshot.enabled=" + this.snapshotEnabled
+        );
+        this.departmentService = this.context.getBean(DepartmentService.class);
+        this.departmentName = BenchmarkDataset.departmentName(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Optional<DepartmentRequestDTO> findByName() {
+        return this.departmentService.findByName(this.departmentName);
+    }
+
+    @Benchmark
+    public Optional<DepartmentResponseDTO> findDetailsByName() {
+        return this.departmentService.findDetailsByName(this.departmentName);
+    }
+
+    @Benchmark
+    public BigDecimal fetchAverageSalary() {
+        return this.departmentService.fetchAverageSalary(this.departmentName);
+    }
+
+    @Benchmark
+    public EnumMap<Degree, Long> fetchDegreeHistogram() {
+        return this.departmentService.fetchDegreeHistogram(this.departmentName);
+    }
+
+    @Benchmark
+    public String fetchHeadOfDepartment() {
+        return this.departmentService.fetchHeadOfDepartment(this.departmentName);
+    }
+
+    @Benchmark
+    public LectorDTO fetchHeadOfDepartmentDetails() {
+        return this.departmentService.fetchHeadOfDepartmentDetails(this.departmentName);
+    }
+
+    @Benchmark
+    public List<LectorDTO> fetchEmployees() {
+        return this.departmentService.fetchEmployees(this.departmentName);
+    }
+
+    @Benchmark
+    public Integer fetchEmployeeCount() {
+        return this.departmentService.fetchEmployeeCount(this.departmentName);
+    }
+}
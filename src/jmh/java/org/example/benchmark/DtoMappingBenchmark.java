@@ -0,0 +1,85 @@
+package org.example.benchmark;
+
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.mapper.DepartmentMapper;
+import org.example.mapper.DepartmentMapperImpl;
+import org.example.mapper.LectorMapper;
+import org.example.mapper.LectorMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@link ModelMapper} with the generated MapStruct mappers
+ * on detached, fully initialized entities, so only the mapping itself is measured.
+ * <p>
+ * Run with {@code -prof gc} to get the heap allocation per call ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    @Param({"200"})
+    public int employees;
+
+    private ModelMapper modelMapper;
+    private LectorMapper lectorMapper;
+    private DepartmentMapper departmentMapper;
+    private Department department;
+    private Lector lector;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.lectorMapper = new LectorMapperImpl();
+        this.departmentMapper = new DepartmentMapperImpl(this.lectorMapper);
+
+        Set<Lector> lectors = new HashSet<>();
+        for (int i = 0; i < this.employees; i++) {
+            Lector employee = new Lector();
+            employee.setId((long) i);
+            employee.setName("Lector " + i);
+            employee.setDegree(Degree.values()[i % Degree.values().length]);
+            employee.setSalary(BigDecimal.valueOf(30000 + i));
+            employee.setIsHeadOfDepartment(i == 0);
+            lectors.add(employee);
+        }
+        this.lector = lectors.iterator().next();
+        this.department = new Department();
+        this.department.setId(1L);
+        this.department.setDepartmentName(BenchmarkDataset.departmentName(1));
+        this.department.setHeadOfDepartment(this.lector);
+        this.department.setEmployees(lectors);
+    }
+
+    @Benchmark
+    public LectorDTO lectorWithModelMapper() {
+        return this.modelMapper.map(this.lector, LectorDTO.class);
+    }
+
+    @Benchmark
+    public LectorDTO lectorWithMapStruct() {
+        return this.lectorMapper.toDto(this.lector);
+    }
+
+    @Benchmark
+    public DepartmentResponseDTO departmentWithModelMapper() {
+        return this.modelMapper.map(this.department, DepartmentResponseDTO.class);
+    }
+
+    @Benchmark
+    public DepartmentResponseDTO departmentWithMapStruct() {
+        return this.departmentMapper.toResponseDto(this.department);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures persisting lectors through JPA in one transaction, flushing and clearing the persistence context
+ * every {@link #flushInterval} lectors. Throughput is {@link #lectors} divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LectorInsertBenchmark {
+    private static final Degree[] DEGREES = Degree.values();
+
+    @Param({"100000"})
+    public int lectors;
+
+    @Param({"50"})
+    public int flushInterval;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transaction;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(0, 0);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                this.context.getBean(EntityManagerFactory.class)
+        );
+        this.transaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteLectors() {
+        this.jdbcTemplate.update("DELETE FROM lectors");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void persistLectors() {
+        this.transaction.executeWithoutResult(status -> {
+            for (int i = 1; i <= this.lectors; i++) {
+                Lector lector = new Lector();
+                lector.setName("Lector " + i);
+                lector.setDegree(DEGREES[i % DEGREES.length]);
+                lector.setSalary(BigDecimal.valueOf(40000 + i % 40000));
+                lector.setIsHeadOfDepartment(false);
+                this.entityManager.persist(lector);
+                if (i % this.flushInterval == 0) {
+                    this.entityManager.flush();
+                    this.entityManager.clear();
+                }
+            }
+        });
+    }
+}
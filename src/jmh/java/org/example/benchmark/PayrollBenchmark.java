@@ -0,0 +1,109 @@
+package org.example.benchmark;
+
+import org.example.enums.Degree;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.SalaryStatistics;
+import org.example.payroll.SalaryTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the salary distributions of all departments computed from {@code long} cents in a
+ * {@link SalaryTable} with the same statistics computed from boxed {@link BigDecimal} salaries,
+ * on data already in memory, so only the aggregation is measured.
+ * <p>
+ * Run with {@code -prof gc} to get the heap allocation per call ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollBenchmark {
+    private static final Degree[] DEGREES = Degree.values();
+    private static final int[] PERCENTILES = {25, 75, 90, 99};
+
+    @Param({"100"})
+    public int departments;
+
+    @Param({"200"})
+    public int lectorsPerDepartment;
+
+    private SalaryTable table;
+    private Map<String, List<Salary>> boxed;
+
+    private record Salary(BigDecimal amount, Degree degree) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        SalaryTable.Builder builder = new SalaryTable.Builder();
+        this.boxed = new LinkedHashMap<>();
+        for (int department = 1; department <= this.departments; department++) {
+            String name = BenchmarkDataset.departmentName(department);
+            builder.department(department, name);
+            List<Salary> salaries = new ArrayList<>();
+            for (int i = 0; i < this.lectorsPerDepartment; i++) {
+                long cents = random.nextLong(3_000_000, 12_000_000);
+                Degree degree = DEGREES[random.nextInt(DEGREES.length)];
+                builder.salary(cents, degree.ordinal());
+                salaries.add(new Salary(BigDecimal.valueOf(cents, 2), degree));
+            }
+            this.boxed.put(name, salaries);
+        }
+        this.table = builder.build();
+    }
+
+    @Benchmark
+    public Map<String, DepartmentSalaries> primitiveCents() {
+        return SalaryStatistics.summarizeAll(this.table);
+    }
+
+    @Benchmark
+    public Map<String, List<BigDecimal>> boxedBigDecimal() {
+        Map<String, List<BigDecimal>> result = new LinkedHashMap<>();
+        this.boxed.forEach((name, salaries) -> {
+            List<BigDecimal> statistics = statistics(salaries.stream().map(Salary::amount).toList());
+            EnumMap<Degree, List<BigDecimal>> byDegree = new EnumMap<>(Degree.class);
+            for (Salary salary : salaries) {
+                byDegree.computeIfAbsent(salary.degree(), degree -> new ArrayList<>()).add(salary.amount());
+            }
+            byDegree.values().forEach(amounts -> statistics.addAll(statistics(amounts)));
+            result.put(name, statistics);
+        });
+        return result;
+    }
+
+    private static List<BigDecimal> statistics(List<BigDecimal> amounts) {
+        List<BigDecimal> sorted = new ArrayList<>(amounts);
+        sorted.sort(null);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : sorted) {
+            sum = sum.add(amount);
+        }
+        int count = sorted.size();
+        List<BigDecimal> statistics = new ArrayList<>();
+        statistics.add(sorted.getFirst());
+        statistics.add(sorted.getLast());
+        statistics.add(count % 2 == 1
+                ? sorted.get(count / 2)
+                : sorted.get(count / 2 - 1).add(sorted.get(count / 2))
+                        .divide(BigDecimal.TWO, 2, RoundingMode.HALF_UP));
+        for (int percent : PERCENTILES) {
+            statistics.add(sorted.get(Math.max((percent * count + 99) / 100, 1) - 1));
+        }
+        statistics.add(sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP));
+        return statistics;
+    }
+}
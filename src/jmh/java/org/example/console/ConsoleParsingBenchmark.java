@@ -0,0 +1,87 @@
+package org.example.console;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the command parsing of the console: the {@link CommandParser} against the former
+ * split, {@code startsWith} and {@code replaceAll} parsing, kept here as the baseline.
+ * Lives in the {@code org.example.console} package to reach the package-private parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleParsingBenchmark {
+    @Param({
+            "Who is head of department Computer Science",
+            "Show Computer Science statistics.",
+            "Show the average salary for the department Computer Science",
+            "Show count of employee for Computer Science",
+            "Global search by van",
+            "Show metrics.",
+            "Unknown command"
+    })
+    public String input;
+
+    private CommandParser commandParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.commandParser = new CommandParser();
+    }
+
+    @Benchmark
+    public Command parse() {
+        return this.commandParser.parse(this.input);
+    }
+
+    @Benchmark
+    public String legacyParse() {
+        String commandType = legacyCommandType(this.input);
+        return switch (commandType) {
+            case "head", "statistics", "averageSalary", "employeeCount" -> legacyDepartmentName(this.input);
+            case "globalSearch" -> this.input.replace("Global search by", "").trim();
+            default -> commandType;
+        };
+    }
+
+    private static String legacyCommandType(String input) {
+        switch (input.split(" ")[0].toLowerCase()) {
+            case "who":
+                if (input.startsWith("Who is head of department")) {
+                    return "head";
+                }
+                break;
+            case "show":
+                if (input.equals("Show metrics.")) {
+                    return "metrics";
+                } else if (input.endsWith("statistics.")) {
+                    return "statistics";
+                } else if (input.startsWith("Show the average salary for the department")) {
+                    return "averageSalary";
+                } else if (input.startsWith("Show count of employee for")) {
+                    return "employeeCount";
+                }
+                break;
+            case "global":
+                if (input.startsWith("Global search by")) {
+                    return "globalSearch";
+                }
+                break;
+            default:
+                return "unknown";
+        }
+        return "unknown";
+    }
+
+    private static String legacyDepartmentName(String input) {
+        return input.replaceAll(
+                "(?i)(Who is head of department|Show the average salary for the department|Show count of employee for|Show|statistics\\.)",
+                ""
+        ).trim();
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.aspect;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lazy, length-capped string rendering of method arguments and results for log messages.
+ * <p>
+ * Nothing is rendered until {@link #toString()} is called, which the logging backend only does for
+ * log events that are actually written. Collections, maps and arrays are rendered element by element
+ * and rendering stops as soon as the cap is reached, so a large result is never turned into one big string.
+ * Records are rendered component by component in the format of their {@code toString()}. Entities are rendered
+ * as their type and id, like {@code Lector[id=42]}, instead of their {@code toString()}, which may be of any
+ * size. Uninitialized Hibernate proxies and collections are not loaded for logging.
+ */
+final class CappedRendering {
+    static final String TRUNCATED = "...";
+    static final String UNINITIALIZED = "<uninitialized>";
+
+    private static final ClassValue<Field> ENTITY_IDS = new ClassValue<>() {
+        @Override
+        protected Field computeValue(Class<?> type) {
+            for (Class<?> declaring = type; declaring != null; declaring = declaring.getSuperclass()) {
+                for (Field field : declaring.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Id.class)) {
+                        field.setAccessible(true);
+                        return field;
+                    }
+                }
+            }
+            return null;
+        }
+    };
+    private static final ClassValue<Method[]> RECORD_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            Method[] accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
+                accessors[i].setAccessible(true);
+            }
+            return accessors;
+        }
+    };
+
+    private final Object value;
+    private final int maxLength;
+    private final int maxArguments;
+
+    private CappedRendering(Object value, int maxLength, int maxArguments) {
+        this.value = value;
+        this.maxLength = maxLength;
+        this.maxArguments = maxArguments;
+    }
+
+    /**
+     * Renders a method result.
+     *
+     * @param result the method result
+     * @param maxLength the maximum number of rendered characters
+     * @return the lazy rendering
+     */
+    static CappedRendering result(Object result, int maxLength) {
+        return new CappedRendering(result, maxLength, -1);
+    }
+
+    /**
+     * Renders method arguments as a comma separated list.
+     *
+     * @param args the method arguments
+     * @param maxArguments the maximum number of rendered arguments
+     * @param maxLength the maximum number of rendered characters
+     * @return the lazy rendering
+     */
+    static CappedRendering arguments(Object[] args, int maxArguments, int maxLength) {
+        return new CappedRendering(args, maxLength, maxArguments);
+    }
+
+    @Override
+    public String toString() {
+        if (this.maxArguments >= 0) {
+            return this.value == null ? "No arguments" : render((Object[]) this.value, this.maxArguments);
+        }
+        return this.value == null ? "No result" : render(this.value);
+    }
+
+    private String render(Object[] args, int maxArguments) {
+        StringBuilder builder = new StringBuilder();
+        int count = Math.min(args.length, maxArguments);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && !append(builder, ", ")) {
+                return builder.toString();
+            }
+            if (!appendValue(builder, args[i])) {
+                return builder.toString();
+            }
+        }
+        return builder.toString();
+    }
+
+    private String render(Object value) {
+        StringBuilder builder = new StringBuilder();
+        appendValue(builder, value);
+        return builder.toString();
+    }
+
+    /**
+     * Appends a value, returning {@code false} once the cap is reached.
+     */
+    private boolean appendValue(StringBuilder builder, Object value) {
+        if (value == null) {
+            return append(builder, "null");
+        }
+        if (!Hibernate.isInitialized(value)) {
+            return append(builder, UNINITIALIZED);
+        }
+        if (value instanceof Iterable<?> iterable) {
+            return appendElements(builder, iterable, "[", "]");
+        }
+        if (value instanceof Map<?, ?> map) {
+            return appendElements(builder, map.entrySet(), "{", "}");
+        }
+        if (value instanceof Object[] array) {
+            return appendElements(builder, Arrays.asList(array), "[", "]");
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.isEmpty()
+                    ? append(builder, "Optional.empty")
+                    : append(builder, "Optional[") && appendValue(builder, optional.get()) && append(builder, "]");
+        }
+        if (value instanceof Map.Entry<?, ?> entry) {
+            return appendValue(builder, entry.getKey()) && append(builder, "=") && appendValue(builder, entry.getValue());
+        }
+        if (value instanceof Record record) {
+            return appendRecord(builder, record);
+        }
+        Class<?> type = Hibernate.getClass(value);
+        if (type.isAnnotationPresent(Entity.class)) {
+            return append(builder, type.getSimpleName() + "[id=" + entityId(value, type) + "]");
+        }
+        return append(builder, String.valueOf(value));
+    }
+
+    private boolean appendRecord(StringBuilder builder, Record record) {
+        Method[] accessors = RECORD_ACCESSORS.get(record.getClass());
+        if (!append(builder, record.getClass().getSimpleName() + "[")) {
+            return false;
+        }
+        for (int i = 0; i < accessors.length; i++) {
+            if (i > 0 && !append(builder, ", ")) {
+                return false;
+            }
+            Object component;
+            try {
+                component = accessors[i].invoke(record);
+            } catch (ReflectiveOperationException e) {
+                component = "<" + e.getClass().getSimpleName() + ">";
+            }
+            if (!append(builder, accessors[i].getName() + "=") || !appendValue(builder, component)) {
+                return false;
+            }
+        }
+        return append(builder, "]");
+    }
+
+    private static Object entityId(Object entity, Class<?> type) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        Field id = ENTITY_IDS.get(type);
+        if (id == null) {
+            return "?";
+        }
+        try {
+            return id.get(entity);
+        } catch (IllegalAccessException e) {
+            return "?";
+        }
+    }
+
+    private boolean appendElements(StringBuilder builder, Iterable<?> elements, String open, String close) {
+        if (!append(builder, open)) {
+            return false;
+        }
+        boolean first = true;
+        for (Object element : elements) {
+            if (!first && !append(builder, ", ")) {
+                return false;
+            }
+            if (!appendValue(builder, element)) {
+                return false;
+            }
+            first = false;
+        }
+        return append(builder, close);
+    }
+
+    private boolean append(StringBuilder builder, String text) {
+        int remaining = this.maxLength - builder.length();
+        if (text.length() <= remaining) {
+            builder.append(text);
+            return true;
+        }
+        builder.append(text, 0, Math.max(remaining, 0)).append(TRUNCATED);
+        return false;
+    }
+}
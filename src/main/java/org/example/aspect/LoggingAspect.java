@@ -1,80 +1,47 @@
 package org.example.aspect;
 
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 
+import lombok.RequiredArgsConstructor;
 import org.example.annotations.Loggable;
+import org.example.context.RequestContext;
+import org.example.context.RequestIdGenerator;
+import org.example.metrics.MethodMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
-
-import static org.slf4j.MDC.*;
-
+/**
+ * Logs calls of {@link Loggable} methods through a single around advice.
+ * <p>
+ * Every call is timed with {@link System#nanoTime()} and recorded in the {@link MethodMetrics} of the method.
+ * It produces at most one log event at {@link Loggable#level()}, written after the method returns, with the
+ * execution time and, when requested, the arguments and the result. Arguments and results are rendered
+ * lazily and capped by {@link CappedRendering}, and nothing is rendered when the level is disabled.
+ * Exceptions are logged at {@code ERROR} when {@link Loggable#logException()} is set.
+ * <p>
+ * Calls are logged with the ID of the current {@link RequestContext}. A {@link Loggable} method called
+ * outside of a console command or HTTP request opens a context of its own for the duration of the call.
+ */
 @Aspect
 @Component
+@RequiredArgsConstructor
 public class LoggingAspect {
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-    private static final String REQUEST_ID = "requestId";
-
-    /**
-     * Logs method entry with arguments if specified.
-     *
-     * @param joinPoint the join point representing the method call
-     * @param loggable the loggable annotation instance
-     */
-    @Before("@annotation(loggable)")
-    public void logBefore(JoinPoint joinPoint, Loggable loggable) {
-        String requestId = generateRequestId();
-        put(REQUEST_ID, requestId);
-        if (loggable.logArguments()) {
-            logger.info("Entering method: {} with arguments: {}, Request ID: {}",
-                    joinPoint.getSignature().getName(),
-                    logArguments(joinPoint.getArgs()),
-                    requestId);
-        } else {
-            logger.info("Entering method: {}, Request ID: {}",
-                    joinPoint.getSignature().getName(),
-                    requestId);
-        }
-    }
-
-    /**
-     * Logs method exit.
-     *
-     * @param joinPoint the join point representing the method call
-     */
-    @After("@annotation(org.example.annotations.Loggable)")
-    public void logAfter(JoinPoint joinPoint) {
-        String requestId = get(REQUEST_ID);
-        logger.debug("Exiting method: {} with Request ID: {}", joinPoint.getSignature().getName(), requestId);
-        clear();
-    }
+    static final int MAX_ARGUMENTS = 5;
+    static final int MAX_RENDERED_LENGTH = 200;
+    private static final Level[] LEVELS = Level.values();
 
-    /**
-     * Logs exceptions thrown by the method.
-     *
-     * @param joinPoint the join point representing the method call
-     * @param ex the exception thrown
-     * @param loggable the loggable annotation instance
-     */
-    @AfterThrowing(value = "@annotation(loggable)", throwing = "ex")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable ex, Loggable loggable) {
-        String requestId = get(REQUEST_ID);
-        if (loggable.logException()) {
-            logger.error("Exception in method: {} with cause: {}. Request ID: {}",
-                    joinPoint.getSignature().getName(),
-                    ex.getMessage(),
-                    requestId, ex);
-        }
-        clear();
-    }
+    private final RequestIdGenerator requestIdGenerator;
+    private final MethodMetrics methodMetrics;
 
     /**
-     * Logs method execution time and return value if specified.
+     * Records the method call in its metrics and logs its execution time and, if specified,
+     * its arguments, result and exception.
      *
      * @param joinPoint the join point representing the method call
      * @param loggable the loggable annotation instance
@@ -83,70 +50,106 @@ public class LoggingAspect {
      */
     @Around("@annotation(loggable)")
     public Object logAround(ProceedingJoinPoint joinPoint, Loggable loggable) throws Throwable {
-        String requestId = get(REQUEST_ID);
-        long startTime = System.currentTimeMillis();
+        RequestContext context = RequestContext.current();
+        RequestContext.Scope scope = RequestContext.Scope.NOOP;
+        if (context == null) {
+            scope = RequestContext.open(this.requestIdGenerator.next());
+            context = RequestContext.current();
+        }
         try {
-            Object result = joinPoint.proceed();
-            long timeTaken = System.currentTimeMillis() - startTime;
-            if (loggable.logReturnValue()) {
-                logger.info("Method: {} executed in {} ms with result: {}. Request ID: {}",
-                        joinPoint.getSignature().getName(),
-                        timeTaken,
-                        logResult(result),
-                        requestId);
-            } else {
-                logger.info("Method: {} executed in {} ms. Request ID: {}",
+            MethodMetrics.MethodMeters meters = this.methodMetrics.forMethod(
+                    ((MethodSignature) joinPoint.getSignature()).getMethod()
+            );
+            long startNanos = meters.start();
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Throwable ex) {
+                long elapsedNanos = meters.stop(startNanos, true);
+                logFailure(joinPoint, loggable, ex, elapsedNanos, context.requestId());
+                throw ex;
+            }
+            long elapsedNanos = meters.stop(startNanos, false);
+            Level level = resolveLevel(loggable.level());
+            if (logger.isEnabledForLevel(level)) {
+                logger.atLevel(level).log(
+                        "Method: {} with arguments: {} executed in {} ms with result: {}. Request ID: {}",
                         joinPoint.getSignature().getName(),
-                        timeTaken,
-                        requestId);
+                        loggable.logArguments() ? renderArguments(joinPoint.getArgs()) : "not logged",
+                        toMillis(elapsedNanos),
+                        loggable.logReturnValue() ? renderResult(result) : "not logged",
+                        context.requestId()
+                );
             }
             return result;
-        } catch (Throwable ex) {
-            long timeTaken = System.currentTimeMillis() - startTime;
-            logger.error("Method: {} executed in {} ms with exception: {}. Request ID: {}",
+        } finally {
+            scope.close();
+        }
+    }
+
+    private void logFailure(
+            ProceedingJoinPoint joinPoint,
+            Loggable loggable,
+            Throwable ex,
+            long elapsedNanos,
+            String requestId
+    ) {
+        if (loggable.logException() && logger.isErrorEnabled()) {
+            logger.error("Method: {} with arguments: {} failed in {} ms with exception: {}. Request ID: {}",
                     joinPoint.getSignature().getName(),
-                    timeTaken,
+                    loggable.logArguments() ? renderArguments(joinPoint.getArgs()) : "not logged",
+                    toMillis(elapsedNanos),
                     ex.getMessage(),
-                    requestId, ex);
-            throw ex;
-        } finally {
-            clear();
+                    requestId,
+                    ex);
+            return;
+        }
+        Level level = resolveLevel(loggable.level());
+        if (logger.isEnabledForLevel(level)) {
+            logger.atLevel(level).log("Method: {} failed in {} ms with exception: {}. Request ID: {}",
+                    joinPoint.getSignature().getName(),
+                    toMillis(elapsedNanos),
+                    ex.getMessage(),
+                    requestId);
         }
     }
 
     /**
-     * Generates a unique request ID.
+     * Returns a lazy, capped rendering of method arguments.
      *
-     * @return the generated request ID
+     * @param args the method arguments
+     * @return the rendering, formatted only when the log event is written
      */
-    String generateRequestId() {
-        return "REQ-" + System.currentTimeMillis();
+    Object renderArguments(Object[] args) {
+        return CappedRendering.arguments(args, MAX_ARGUMENTS, MAX_RENDERED_LENGTH);
     }
 
     /**
-     * Logs method arguments.
+     * Returns a lazy, capped rendering of a method result.
      *
-     * @param args the method arguments
-     * @return a string representation of the arguments
+     * @param result the method result
+     * @return the rendering, formatted only when the log event is written
      */
-    String logArguments(Object[] args) {
-        return args != null ? Arrays.stream(args)
-                .map(Object::toString)
-                .limit(5)
-                .collect(Collectors.joining(", ")) : "No arguments";
+    Object renderResult(Object result) {
+        return CappedRendering.result(result, MAX_RENDERED_LENGTH);
     }
 
     /**
-     * Logs method result.
+     * Resolves the level name of {@link Loggable#level()}, ignoring case and falling back to {@code INFO}.
      *
-     * @param result the method result
-     * @return a string representation of the result
+     * @param name the level name
+     * @return the level
      */
-    String logResult(Object result) {
-        if (result != null) {
-            String resultStr = result.toString();
-            return resultStr.length() > 200 ? resultStr.substring(0, 200) + "..." : resultStr;
+    static Level resolveLevel(String name) {
+        for (Level level : LEVELS) {
+            if (level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
         }
-        return "No result";
+        return Level.INFO;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package org.example.bulkhead;
+
+import org.example.config.HikariPoolSizing;
+import org.example.exceptionHandling.customExceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of requests working against the database at the same time.
+ * <p>
+ * With virtual threads every request gets a thread of its own, so the JDBC connection pool becomes the
+ * real limit. The bulkhead holds as many permits as the Hikari pool has connections, or
+ * {@code bulkhead.database.max-concurrent-calls} when that is set. A request waits at most
+ * {@code bulkhead.database.acquire-timeout} for a permit and is rejected with a
+ * {@link ServiceUnavailableException} afterwards, instead of queueing on the pool until its connection
+ * timeout.
+ */
+@Component
+public class DatabaseBulkhead {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final long acquireTimeoutNanos;
+
+    @Autowired
+    public DatabaseBulkhead(
+            @Value("${bulkhead.database.max-concurrent-calls:0}") int maxConcurrentCalls,
+            @Value("${bulkhead.database.acquire-timeout:PT1S}") Duration acquireTimeout,
+            ObjectProvider<DataSource> dataSource
+    ) {
+        this(maxConcurrentCalls > 0 ? maxConcurrentCalls : HikariPoolSizing.maximumPoolSize(dataSource.getIfAvailable(), DEFAULT_POOL_SIZE), acquireTimeout);
+    }
+
+    public DatabaseBulkhead(int maxConcurrentCalls, Duration acquireTimeout) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Waits for a permit.
+     *
+     * @param resourceId the resource the caller works on, reported when the permit is not granted
+     * @throws ServiceUnavailableException if no permit became available within the acquire timeout
+     */
+    public void acquire(String resourceId) {
+        acquire(resourceId, this.acquireTimeoutNanos);
+    }
+
+    private void acquire(String resourceId, long timeoutNanos) {
+        boolean acquired;
+        try {
+            acquired = this.permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new ServiceUnavailableException("Too many concurrent database requests", resourceId);
+        }
+    }
+
+    /**
+     * Returns a permit taken by {@link #acquire(String)}.
+     */
+    public void release() {
+        this.permits.release();
+    }
+
+    /**
+     * Runs a call while holding a permit.
+     *
+     * @param resourceId the resource the call works on
+     * @param call the call
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws ServiceUnavailableException if no permit became available within the acquire timeout
+     */
+    public <T> T call(String resourceId, Supplier<T> call) {
+        return call(resourceId, Duration.ofNanos(this.acquireTimeoutNanos), call);
+    }
+
+    /**
+     * Runs a call while holding a permit, waiting for the permit at most the given time.
+     *
+     * @param resourceId the resource the call works on
+     * @param acquireTimeout the maximum time to wait for a permit
+     * @param call the call
+     * @param <T> the result type
+     * @return the result of the call
+     * @throws ServiceUnavailableException if no permit became available in time or the thread was interrupted
+     */
+    public <T> T call(String resourceId, Duration acquireTimeout, Supplier<T> call) {
+        acquire(resourceId, acquireTimeout.toNanos());
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Returns the number of calls allowed at the same time.
+     *
+     * @return the number of permits
+     */
+    public int maxConcurrentCalls() {
+        return this.maxConcurrentCalls;
+    }
+
+    /**
+     * Returns the number of permits currently free.
+     *
+     * @return the free permits
+     */
+    public int availablePermits() {
+        return this.permits.availablePermits();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a {@link DatabaseBulkhead} permit for the duration of an API request.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseBulkheadInterceptor implements HandlerInterceptor {
+    private final DatabaseBulkhead databaseBulkhead;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        this.databaseBulkhead.acquire(request.getRequestURI());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        this.databaseBulkhead.release();
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.bulkimport;
+
+/**
+ * The outcome of a lector import.
+ *
+ * @param method the load method, {@code copy} or {@code jdbc}
+ * @param lectors the number of lectors inserted
+ * @param memberships the number of department memberships inserted
+ * @param departmentsCreated the number of departments created for unknown names
+ * @param elapsedNanos the time taken by the import, including the commit
+ */
+public record ImportReport(
+        String method,
+        long lectors,
+        long memberships,
+        long departmentsCreated,
+        long elapsedNanos
+) {
+
+    /**
+     * Returns the throughput of the import.
+     *
+     * @return the lectors inserted per second
+     */
+    public double rowsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.lectors * 1_000_000_000.0 / this.elapsedNanos;
+    }
+}
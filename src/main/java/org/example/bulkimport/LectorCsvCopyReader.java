@@ -0,0 +1,74 @@
+package org.example.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds a lector import file to PostgreSQL {@code COPY}, accepting the same input as {@link LectorCsvReader}.
+ * <p>
+ * The header is checked and blank lines are dropped, as {@code COPY} would fail on them. The numbers of the
+ * dropped lines are kept, usually few, to map the rows of the staging table back to lines of the file.
+ */
+final class LectorCsvCopyReader extends Reader {
+    private final BufferedReader reader;
+    private final List<Long> blankLines = new ArrayList<>();
+    private long line;
+    private String current;
+    private int position;
+
+    LectorCsvCopyReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        LectorCsvReader.readHeader(reader);
+        this.line = 1;
+        this.current = LectorCsvReader.HEADER + "\n";
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (this.position == this.current.length()) {
+            String text = this.reader.readLine();
+            if (text == null) {
+                return -1;
+            }
+            this.line++;
+            if (text.isBlank()) {
+                this.blankLines.add(this.line);
+            } else {
+                this.current = text + "\n";
+                this.position = 0;
+            }
+        }
+        int count = Math.min(length, this.current.length() - this.position);
+        this.current.getChars(this.position, this.position + count, buffer, offset);
+        this.position += count;
+        return count;
+    }
+
+    /**
+     * Returns the line of the file a row was read from.
+     *
+     * @param row the number of the row among the rows copied, starting at 1
+     * @return the line number in the file
+     */
+    long fileLine(long row) {
+        long fileLine = row + 1;
+        for (long blankLine : this.blankLines) {
+            if (blankLine > fileLine) {
+                break;
+            }
+            fileLine++;
+        }
+        return fileLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.bulkimport;
+
+import org.example.enums.Degree;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of lector import files, one line at a time.
+ * <p>
+ * The file is CSV with the header {@value #HEADER}. Fields may be quoted, with doubled quotes inside,
+ * but may not span lines. The departments field lists department names separated by
+ * {@value #DEPARTMENT_SEPARATOR}. Empty degree and salary fields are read as {@code null}. The head of
+ * department flag is {@code true} or {@code false}, ignoring case, and an empty flag is {@code false}.
+ * This is the format PostgreSQL {@code COPY ... WITH (FORMAT csv, HEADER true)} reads.
+ */
+final class LectorCsvReader implements Closeable {
+    static final String HEADER = "name,degree,salary,is_head_of_department,departments";
+    static final String DEPARTMENT_SEPARATOR = "|";
+    static final String INVALID_HEAD_OF_DEPARTMENT = "invalid head of department flag %s, expected true or false";
+    private static final int FIELDS = 5;
+
+    private final BufferedReader reader;
+    private long line;
+
+    LectorCsvReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader(reader);
+        this.line = 1;
+    }
+
+    /**
+     * Reads the first line of a file and checks that it is the header.
+     *
+     * @param reader the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the first line is not the header
+     */
+    static void readHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null || !header.strip().equals(HEADER)) {
+            throw new IllegalArgumentException("Line 1: expected the header " + HEADER);
+        }
+    }
+
+    /**
+     * Reads the next lector, skipping blank lines.
+     *
+     * @return the lector, or {@code null} at the end of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    LectorImportRow next() throws IOException {
+        String text;
+        do {
+            text = this.reader.readLine();
+            this.line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        List<String> fields = split(text);
+        if (fields.size() != FIELDS) {
+            throw invalid("expected " + FIELDS + " fields but found " + fields.size());
+        }
+        String name = fields.get(0).strip();
+        if (name.isEmpty()) {
+            throw invalid("the name is empty");
+        }
+        return new LectorImportRow(
+                this.line,
+                name,
+                parseDegree(fields.get(1).strip()),
+                parseSalary(fields.get(2).strip()),
+                parseHeadOfDepartment(fields.get(3).strip()),
+                splitDepartments(fields.get(4))
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private Degree parseDegree(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Degree.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw invalid("unknown degree " + value);
+        }
+    }
+
+    private boolean parseHeadOfDepartment(String value) {
+        if (value.isEmpty() || value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        throw invalid(INVALID_HEAD_OF_DEPARTMENT.formatted(value));
+    }
+
+    private BigDecimal parseSalary(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw invalid("invalid salary " + value);
+        }
+    }
+
+    private List<String> split(String text) {
+        List<String> fields = new ArrayList<>(FIELDS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw invalid("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static List<String> splitDepartments(String value) {
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        while (start <= value.length()) {
+            int end = value.indexOf(DEPARTMENT_SEPARATOR, start);
+            if (end < 0) {
+                end = value.length();
+            }
+            String name = value.substring(start, end).strip();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+            start = end + 1;
+        }
+        return names;
+    }
+
+    private IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Line " + this.line + ": " + message);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.bulkimport;
+
+import org.example.enums.Degree;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One lector of an import file.
+ *
+ * @param line the line number in the file
+ * @param name the lector name
+ * @param degree the degree, or {@code null} if the field is empty
+ * @param salary the salary, or {@code null} if the field is empty
+ * @param headOfDepartment whether the lector heads a department
+ * @param departmentNames the names of the departments the lector works in
+ */
+record LectorImportRow(
+        long line,
+        String name,
+        Degree degree,
+        BigDecimal salary,
+        boolean headOfDepartment,
+        List<String> departmentNames
+) {
+}
@@ -0,0 +1,381 @@
+package org.example.bulkimport;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.entity.abstracts.OrganizationalUnit;
+import org.example.entity.abstracts.UniversityMember;
+import org.example.enums.Degree;
+import org.example.stats.DepartmentStatsChecker;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads lectors and their department memberships from a CSV file in the format of {@link LectorCsvReader}.
+ * <p>
+ * The file is streamed, so memory use does not grow with its size. Rows are written with plain JDBC,
+ * bypassing Hibernate:
+ * <ul>
+ *     <li>on PostgreSQL the file is sent with {@code COPY} into a temporary staging table and moved into
+ *     the tables with a few set-based statements,</li>
+ *     <li>on other databases the file is read in chunks of {@code lector-import.batch-size} rows, lectors and
+ *     memberships are written as JDBC batches.</li>
+ * </ul>
+ * Lector ids are drawn from {@code lectors_id_seq} in the blocks of the pooled-lo optimizer of the entities,
+ * one sequence call per {@value UniversityMember#ID_ALLOCATION_SIZE} lectors.
+ * Department names are resolved to ids in bulk; unknown departments are created. The import runs in one
+ * transaction, so a malformed row leaves the database unchanged. Both ways accept the same input: the header
+ * is checked and blank lines are skipped. On PostgreSQL the per-row statistics trigger of the memberships is
+ * deferred while they are inserted, and the statistics of the departments that gained members are recomputed
+ * once; elsewhere, without triggers, the statistics of the departments named in the file are repaired before
+ * the commit. After the commit a {@link LectorsImportedEvent} is published for derived state such as caches
+ * and search indexes.
+ */
+@Component
+public class LectorImporter {
+    private static final Logger logger = LoggerFactory.getLogger(LectorImporter.class);
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE lector_import (
+                line BIGSERIAL,
+                name VARCHAR(255),
+                degree VARCHAR(255),
+                salary NUMERIC(15, 2),
+                is_head_of_department TEXT,
+                departments TEXT,
+                lector_id BIGINT
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_STAGING_TABLE = """
+            COPY lector_import (name, degree, salary, is_head_of_department, departments)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+    private static final String HEAD_OF_DEPARTMENT_FLAG = "lower(btrim(coalesce(is_head_of_department, '')))";
+    private static final String FIND_INVALID_STAGED_ROW = """
+            SELECT line, name, degree, is_head_of_department,
+                   %1$s NOT IN ('', 'true', 'false') AS invalid_head_of_department
+            FROM lector_import
+            WHERE btrim(coalesce(name, '')) = '' OR (degree IS NOT NULL AND btrim(degree) NOT IN (%%s))
+               OR %1$s NOT IN ('', 'true', 'false')
+            ORDER BY line LIMIT 1
+            """.formatted(HEAD_OF_DEPARTMENT_FLAG);
+    private static final String ASSIGN_STAGED_IDS = """
+            WITH blocks AS (
+                SELECT n - 1 AS block, nextval('lectors_id_seq') AS low
+                FROM generate_series(1, (SELECT (count(*) + %1$d - 1) / %1$d FROM lector_import)) AS n
+            )
+            UPDATE lector_import i SET lector_id = b.low + (i.line - 1) %% %1$d
+            FROM blocks b WHERE b.block = (i.line - 1) / %1$d
+            """.formatted(UniversityMember.ID_ALLOCATION_SIZE);
+    private static final String INSERT_STAGED_LECTORS = """
+            INSERT INTO lectors (id, name, degree, salary, is_head_of_department)
+            SELECT lector_id, btrim(name), nullif(btrim(degree), ''), salary, %s = 'true'
+            FROM lector_import ORDER BY line
+            """.formatted(HEAD_OF_DEPARTMENT_FLAG);
+    private static final String STAGED_MEMBERSHIPS = """
+            SELECT DISTINCT i.lector_id, btrim(d.name) AS department_name
+            FROM lector_import i
+            CROSS JOIN LATERAL unnest(string_to_array(i.departments, '|')) AS d(name)
+            WHERE btrim(d.name) <> ''
+            """;
+    private static final String INSERT_STAGED_DEPARTMENTS = """
+            INSERT INTO departments (department_name)
+            SELECT DISTINCT m.department_name FROM (%s) m
+            WHERE NOT EXISTS (SELECT 1 FROM departments d WHERE d.department_name = m.department_name)
+            """.formatted(STAGED_MEMBERSHIPS);
+    private static final String INSERT_STAGED_MEMBERSHIPS = """
+            WITH inserted AS (
+                INSERT INTO department_lector (department_id, lector_id)
+                SELECT DISTINCT d.id, m.lector_id FROM (%s) m
+                JOIN departments d ON d.department_name = m.department_name
+                ON CONFLICT DO NOTHING
+                RETURNING department_id
+            )
+            SELECT department_id, count(*) AS memberships FROM inserted GROUP BY department_id
+            """.formatted(STAGED_MEMBERSHIPS);
+    private static final String DEFER_DEPARTMENT_STATS = "SET LOCAL department_stats.deferred = on";
+    private static final String RESUME_DEPARTMENT_STATS = "SET LOCAL department_stats.deferred = off";
+    private static final String LOCK_DEPARTMENT_STATS = """
+            SELECT department_id FROM department_stats WHERE department_id IN (:departmentIds)
+            ORDER BY department_id FOR UPDATE
+            """;
+
+    private static final String INSERT_LECTOR = """
+            INSERT INTO lectors (id, name, degree, salary, is_head_of_department) VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_DEPARTMENT = "INSERT INTO departments (id, department_name) VALUES (?, ?)";
+    private static final String INSERT_MEMBERSHIP =
+            "INSERT INTO department_lector (department_id, lector_id) VALUES (?, ?)";
+    private static final String FIND_DEPARTMENT_IDS =
+            "SELECT id, department_name FROM departments WHERE department_name IN (:departmentNames)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DepartmentStatsChecker departmentStatsChecker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public LectorImporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            DepartmentStatsChecker departmentStatsChecker,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${lector-import.batch-size:1000}") int batchSize
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.departmentStatsChecker = departmentStatsChecker;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports the lectors of a CSV file in one transaction.
+     *
+     * @param file the CSV file
+     * @return the import report
+     * @throws IllegalArgumentException if a row of the file is malformed
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public ImportReport importCsv(Path file) {
+        long startTime = System.nanoTime();
+        ImportReport written = this.transaction.execute(status -> write(file));
+        ImportReport report = new ImportReport(written.method(), written.lectors(), written.memberships(),
+                written.departmentsCreated(), System.nanoTime() - startTime);
+        this.eventPublisher.publishEvent(new LectorsImportedEvent(report));
+        logger.info("Imported {} lectors and {} memberships from {} with {} in {} ms ({} rows/s)",
+                report.lectors(), report.memberships(), file, report.method(),
+                report.elapsedNanos() / 1_000_000, Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    private ImportReport write(Path file) {
+        Connection connection = DataSourceUtils.getConnection(this.dataSource);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return copy(connection.unwrap(PGConnection.class), reader);
+            }
+            return insertInBatches(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw this.jdbcTemplate.getExceptionTranslator().translate("lector import", null, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, this.dataSource);
+        }
+    }
+
+    private ImportReport copy(PGConnection connection, BufferedReader reader)
+            throws SQLException, IOException {
+        this.jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        LectorCsvCopyReader copyReader = new LectorCsvCopyReader(reader);
+        long lectors = connection.getCopyAPI().copyIn(COPY_STAGING_TABLE, copyReader);
+        rejectInvalidStagedRow(copyReader);
+        this.jdbcTemplate.update(ASSIGN_STAGED_IDS);
+        this.jdbcTemplate.update(INSERT_STAGED_LECTORS);
+        long departmentsCreated = this.jdbcTemplate.update(INSERT_STAGED_DEPARTMENTS);
+        List<Long> departmentIds = new ArrayList<>();
+        long memberships = 0;
+        this.jdbcTemplate.execute(DEFER_DEPARTMENT_STATS);
+        try {
+            for (Map<String, Object> department : this.jdbcTemplate.queryForList(INSERT_STAGED_MEMBERSHIPS)) {
+                departmentIds.add(((Number) department.get("department_id")).longValue());
+                memberships += ((Number) department.get("memberships")).longValue();
+            }
+        } finally {
+            this.jdbcTemplate.execute(RESUME_DEPARTMENT_STATS);
+        }
+        repairStats(departmentIds);
+        return new ImportReport("copy", lectors, memberships, departmentsCreated, 0);
+    }
+
+    /**
+     * Recomputes the statistics of the departments that gained members while the membership trigger was
+     * deferred. Their rows are locked first, so membership changes of other transactions either commit before
+     * the recomputation reads them or wait and apply on top of it.
+     */
+    private void repairStats(List<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return;
+        }
+        this.namedParameterJdbcTemplate.queryForList(LOCK_DEPARTMENT_STATS, Map.of("departmentIds", departmentIds),
+                Long.class);
+        this.departmentStatsChecker.repair(departmentIds);
+    }
+
+    private void rejectInvalidStagedRow(LectorCsvCopyReader copyReader) {
+        String degrees = Arrays.stream(Degree.values())
+                .map(degree -> "'" + degree.name() + "'")
+                .collect(Collectors.joining(", "));
+        this.jdbcTemplate.query(FIND_INVALID_STAGED_ROW.formatted(degrees), resultSet -> {
+            if (!resultSet.next()) {
+                return null;
+            }
+            String line = "Line " + copyReader.fileLine(resultSet.getLong("line")) + ": ";
+            if (resultSet.getBoolean("invalid_head_of_department")) {
+                throw new IllegalArgumentException(line + LectorCsvReader.INVALID_HEAD_OF_DEPARTMENT
+                        .formatted(resultSet.getString("is_head_of_department").strip()));
+            }
+            throw new IllegalArgumentException(line + "invalid lector " + resultSet.getString("name")
+                    + " with degree " + resultSet.getString("degree"));
+        });
+    }
+
+    private ImportReport insertInBatches(BufferedReader reader) throws IOException {
+        LectorCsvReader csv = new LectorCsvReader(reader);
+        Dialect dialect = this.entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        PooledIds lectorIds = new PooledIds(
+                this.jdbcTemplate,
+                dialect,
+                "lectors_id_seq",
+                UniversityMember.ID_ALLOCATION_SIZE
+        );
+        PooledIds newDepartmentIds = new PooledIds(
+                this.jdbcTemplate,
+                dialect,
+                "departments_id_seq",
+                OrganizationalUnit.ID_ALLOCATION_SIZE
+        );
+        Map<String, Long> departmentIds = new HashMap<>();
+        List<LectorImportRow> chunk = new ArrayList<>(this.batchSize);
+        long lectors = 0;
+        long memberships = 0;
+        long departmentsCreated = 0;
+        for (LectorImportRow row = csv.next(); row != null; row = csv.next()) {
+            chunk.add(row);
+            if (chunk.size() == this.batchSize) {
+                departmentsCreated += resolveDepartments(chunk, departmentIds, newDepartmentIds);
+                memberships += insertChunk(chunk, departmentIds, lectorIds);
+                lectors += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            departmentsCreated += resolveDepartments(chunk, departmentIds, newDepartmentIds);
+            memberships += insertChunk(chunk, departmentIds, lectorIds);
+            lectors += chunk.size();
+        }
+        this.departmentStatsChecker.repair(departmentIds.values());
+        return new ImportReport("jdbc", lectors, memberships, departmentsCreated, 0);
+    }
+
+    /**
+     * Adds the ids of the departments named in a chunk to the map, creating the unknown departments.
+     *
+     * @return the number of departments created
+     */
+    private int resolveDepartments(
+            List<LectorImportRow> chunk,
+            Map<String, Long> departmentIds,
+            PooledIds newDepartmentIds
+    ) {
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (LectorImportRow row : chunk) {
+            for (String departmentName : row.departmentNames()) {
+                if (!departmentIds.containsKey(departmentName)) {
+                    unresolved.add(departmentName);
+                }
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return 0;
+        }
+        this.namedParameterJdbcTemplate.query(FIND_DEPARTMENT_IDS, Map.of("departmentNames", unresolved),
+                resultSet -> {
+                    String departmentName = resultSet.getString("department_name");
+                    departmentIds.putIfAbsent(departmentName, resultSet.getLong("id"));
+                    unresolved.remove(departmentName);
+                });
+        List<Object[]> departments = new ArrayList<>(unresolved.size());
+        for (String departmentName : unresolved) {
+            long id = newDepartmentIds.next();
+            departmentIds.put(departmentName, id);
+            departments.add(new Object[]{id, departmentName});
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_DEPARTMENT, departments);
+        return unresolved.size();
+    }
+
+    /**
+     * Inserts the lectors of a chunk and their memberships as two JDBC batches.
+     *
+     * @return the number of memberships inserted
+     */
+    private int insertChunk(List<LectorImportRow> chunk, Map<String, Long> departmentIds, PooledIds lectorIds) {
+        long[] ids = new long[chunk.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = lectorIds.next();
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_LECTOR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                LectorImportRow row = chunk.get(i);
+                statement.setLong(1, ids[i]);
+                statement.setString(2, row.name());
+                if (row.degree() == null) {
+                    statement.setNull(3, Types.VARCHAR);
+                } else {
+                    statement.setString(3, row.degree().name());
+                }
+                statement.setBigDecimal(4, row.salary());
+                statement.setBoolean(5, row.headOfDepartment());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+        List<long[]> memberships = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            for (String departmentName : new LinkedHashSet<>(chunk.get(i).departmentNames())) {
+                memberships.add(new long[]{departmentIds.get(departmentName), ids[i]});
+            }
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships, this.batchSize, (statement, membership) -> {
+            statement.setLong(1, membership[0]);
+            statement.setLong(2, membership[1]);
+        });
+        return memberships.size();
+    }
+}
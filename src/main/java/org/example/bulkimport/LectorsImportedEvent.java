@@ -0,0 +1,10 @@
+package org.example.bulkimport;
+
+/**
+ * Published when a lector import has committed its rows. The rows bypass JPA, so no entity events are
+ * published for them; listeners of this event refresh whatever they derive from lectors and departments.
+ *
+ * @param report the outcome of the import
+ */
+public record LectorsImportedEvent(ImportReport report) {
+}
@@ -0,0 +1,37 @@
+package org.example.bulkimport;
+
+import org.hibernate.dialect.Dialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out ids from a database sequence the way the Hibernate pooled-lo optimizer does: every sequence
+ * value {@code v} reserves the ids {@code v} to {@code v + allocationSize - 1}. Rows inserted with these ids
+ * never collide with ids Hibernate draws from the same sequence. The sequence is read with the statement of
+ * the Hibernate dialect, such as {@code nextval} on PostgreSQL and {@code NEXT VALUE FOR} on H2.
+ */
+final class PooledIds {
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueQuery;
+    private final int allocationSize;
+    private long next;
+    private long end;
+
+    PooledIds(JdbcTemplate jdbcTemplate, Dialect dialect, String sequenceName, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueQuery = dialect.getSequenceSupport().getSequenceNextValString(sequenceName);
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Returns the next id, drawing a new block from the sequence when the current one is used up.
+     *
+     * @return the id
+     */
+    long next() {
+        if (this.next == this.end) {
+            this.next = this.jdbcTemplate.queryForObject(this.nextValueQuery, Long.class);
+            this.end = this.next + this.allocationSize;
+        }
+        return this.next++;
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.bulkimport.LectorsImportedEvent;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.DepartmentChangedEvent;
+import org.example.entity.listener.LectorChangedEvent;
+import org.example.replica.PrimaryReads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of department summaries keyed by normalized department name.
+ * <p>
+ * Unknown names are cached as empty results with a shorter time to live, so repeated typos do not reach
+ * the database. Entries are evicted by size and time to live, and invalidated from the
+ * {@link DepartmentChangedEvent}s and {@link LectorChangedEvent}s of committed transactions:
+ * <ul>
+ *     <li>a department change drops the entry of that department and all empty results,</li>
+ *     <li>a lector update drops the entries of the departments the lector is head of,</li>
+ *     <li>a lector insert or delete drops all found entries, as memberships and head assignments may change,</li>
+ *     <li>a {@link LectorsImportedEvent} drops all entries, as departments may have been created.</li>
+ * </ul>
+ * An invalidation cannot see a value whose load is still running, and that load may have read the data as it
+ * was before the commit. Every invalidation therefore bumps a generation, and a lookup that overlapped one
+ * removes the value it stored again, so the next lookup reloads it. Misses are loaded from the primary, as
+ * a lagging replica's answer would stay cached for the whole time to live.
+ * Hit, miss and eviction counters are published as the {@code cache.*} metrics tagged
+ * {@code cache=departmentLookups}. Set {@code department.cache.enabled=false} to bypass the cache.
+ */
+@Component
+public class DepartmentLookupCache {
+    private static final String CACHE_NAME = "departmentLookups";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, Optional<DepartmentSummary>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public DepartmentLookupCache(
+            @Value("${department.cache.enabled:true}") boolean enabled,
+            @Value("${department.cache.maximum-size:1000}") long maximumSize,
+            @Value("${department.cache.ttl:PT5M}") Duration ttl,
+            @Value("${department.cache.negative-ttl:PT30S}") Duration negativeTtl,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.cache = enabled ? buildCache(maximumSize, ttl, negativeTtl) : null;
+        if (this.cache != null) {
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME));
+        }
+    }
+
+    private DepartmentLookupCache() {
+        this.cache = null;
+    }
+
+    /**
+     * Creates a cache that always delegates to the loader.
+     *
+     * @return a disabled cache
+     */
+    public static DepartmentLookupCache disabled() {
+        return new DepartmentLookupCache();
+    }
+
+    /**
+     * Returns the cached summary of a department, loading it on a miss.
+     * The loader receives the normalized department name.
+     *
+     * @param departmentName the name of the department
+     * @param loader the lookup to run on a cache miss
+     * @return the summary of the department, or empty if there is no such department
+     */
+    public Optional<DepartmentSummary> get(
+            String departmentName,
+            Function<String, Optional<DepartmentSummary>> loader
+    ) {
+        String key = normalize(departmentName);
+        if (this.cache == null) {
+            return loader.apply(key);
+        }
+        long loadGeneration = this.generation.get();
+        Optional<DepartmentSummary> summary = this.cache.get(
+                key,
+                name -> PrimaryReads.call(() -> loader.apply(name))
+        );
+        if (this.generation.get() != loadGeneration) {
+            this.cache.asMap().remove(key, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void invalidateAll() {
+        if (this.cache != null) {
+            this.generation.incrementAndGet();
+            this.cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache.
+     *
+     * @return the cache statistics, empty when the cache is disabled
+     */
+    public CacheStats stats() {
+        return this.cache == null ? CacheStats.empty() : this.cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        invalidateIf(summary -> summary.isEmpty()
+                || Objects.equals(summary.get().id(), event.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        if (event.type() == ChangeType.UPDATED) {
+            invalidateIf(summary -> summary.isPresent()
+                    && Objects.equals(summary.get().headOfDepartmentId(), event.id()));
+        } else {
+            invalidateIf(Optional::isPresent);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorsImported(LectorsImportedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Normalizes a department name by trimming it and collapsing inner whitespace.
+     * Case is kept, department names are case-sensitive in the database.
+     *
+     * @param departmentName the name of the department
+     * @return the normalized name
+     */
+    public static String normalize(String departmentName) {
+        return departmentName == null ? "" : WHITESPACE.matcher(departmentName.strip()).replaceAll(" ");
+    }
+
+    private void invalidateIf(Predicate<Optional<DepartmentSummary>> predicate) {
+        if (this.cache != null) {
+            this.generation.incrementAndGet();
+            this.cache.asMap().values().removeIf(predicate);
+        }
+    }
+
+    private static Cache<String, Optional<DepartmentSummary>> buildCache(
+            long maximumSize,
+            Duration ttl,
+            Duration negativeTtl
+    ) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<DepartmentSummary>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<DepartmentSummary> value, long currentTime) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String key,
+                            Optional<DepartmentSummary> value,
+                            long currentTime,
+                            long currentDuration
+                    ) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String key,
+                            Optional<DepartmentSummary> value,
+                            long currentTime,
+                            long currentDuration
+                    ) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Sizes the Hikari pools from the machine instead of the fixed default of 10 connections.
+ * <p>
+ * A pool gets {@code cores * 2 + datasource.pool.effective-spindles} connections, the rule of thumb for a
+ * database server on hardware like the application's, but never more than
+ * {@code datasource.pool.expected-concurrency}, the number of requests expected to work against the database
+ * at the same time. The pool is kept at a fixed size. Pools with an explicit
+ * {@code spring.datasource.hikari.maximum-pool-size} are left alone.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.pool.expected-concurrency")
+public class HikariPoolSizing implements BeanPostProcessor, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolSizing.class);
+
+    private final int poolSize;
+    private final boolean explicitPoolSize;
+
+    @Autowired
+    public HikariPoolSizing(
+            @Value("${datasource.pool.expected-concurrency}") int expectedConcurrency,
+            @Value("${datasource.pool.effective-spindles:1}") int effectiveSpindles,
+            @Value("${spring.datasource.hikari.maximum-pool-size:0}") int explicitPoolSize
+    ) {
+        this(Runtime.getRuntime().availableProcessors(), expectedConcurrency, effectiveSpindles, explicitPoolSize);
+    }
+
+    HikariPoolSizing(int cores, int expectedConcurrency, int effectiveSpindles, int explicitPoolSize) {
+        this.poolSize = poolSize(cores, expectedConcurrency, effectiveSpindles);
+        this.explicitPoolSize = explicitPoolSize > 0;
+    }
+
+    /**
+     * Returns the pool size for a machine and workload.
+     *
+     * @param cores the available processors
+     * @param expectedConcurrency the requests expected to work against the database at the same time
+     * @param effectiveSpindles the disks the database can read from in parallel
+     * @return the pool size, at least 2
+     */
+    static int poolSize(int cores, int expectedConcurrency, int effectiveSpindles) {
+        return Math.max(2, Math.min(cores * 2 + effectiveSpindles, expectedConcurrency));
+    }
+
+    /**
+     * Returns the maximum size of the Hikari pool behind a data source, unwrapping proxies such as the
+     * replica routing.
+     *
+     * @param dataSource the data source, may be {@code null}
+     * @param defaultSize the size to return if the data source is not a Hikari pool
+     * @return the maximum pool size
+     */
+    public static int maximumPoolSize(DataSource dataSource, int defaultSize) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                return poolSize > 0 ? poolSize : defaultSize;
+            }
+        } catch (SQLException e) {
+            // not a wrapper of a Hikari pool after all
+        }
+        return defaultSize;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool && !this.explicitPoolSize) {
+            pool.setMaximumPoolSize(this.poolSize);
+            pool.setMinimumIdle(this.poolSize);
+            logger.info("Sized connection pool {} to {} connections", beanName, this.poolSize);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        // after the configuration properties are bound to the pool
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.replica.Replica;
+import org.example.replica.ReplicaDataSource;
+import org.example.replica.ReplicaSelection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replica pools when {@code replica.urls} is set.
+ * <p>
+ * The application data source is a {@link LazyConnectionDataSourceProxy} over the primary pool. It fetches
+ * the physical connection at the first statement, once the transaction has marked the connection read-only,
+ * and takes the connections of read-only transactions from the {@link ReplicaDataSource}.
+ * The replica pools use the driver properties of the primary pool. The {@link ReplicaDataSource} bean is a
+ * transaction execution listener, which Spring Boot registers with the transaction manager.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.urls")
+public class ReplicaRoutingConfig {
+    /**
+     * Lag of a PostgreSQL standby: the age of the last replayed transaction, or zero when all received
+     * WAL has been replayed, so an idle primary does not make its standbys look stale. Zero on a primary.
+     */
+    static final String PG_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${replica.urls}") List<String> urls,
+            @Value("${replica.username:${spring.datasource.username:}}") String username,
+            @Value("${replica.password:${spring.datasource.password:}}") String password,
+            @Value("${replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${replica.connection-timeout:PT2S}") Duration connectionTimeout,
+            @Value("${replica.selection:round-robin}") ReplicaSelection selection,
+            @Value("${replica.lag-query:" + PG_LAG_QUERY + "}") String lagQuery,
+            @Value("${replica.max-lag:PT10S}") Duration maxLag,
+            @Value("${replica.read-after-write:${replica.max-lag:PT10S}}") Duration readAfterWrite,
+            @Value("${replica.health-check-interval:PT5S}") Duration healthCheckInterval,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        List<Replica> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(urls.get(i).strip());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            pool.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replicas.add(new Replica(pool.getPoolName(), pool));
+        }
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(
+                primaryDataSource,
+                replicas,
+                selection,
+                lagQuery,
+                maxLag,
+                readAfterWrite
+        );
+        meterRegistry.ifAvailable(replicaDataSource::bindTo);
+        replicaDataSource.startHealthChecks(healthCheckInterval);
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaDataSource replicaDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.bulkhead.DatabaseBulkheadInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final DatabaseBulkheadInterceptor databaseBulkheadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this.databaseBulkheadInterceptor)
+                .addPathPatterns("/departments/**", "/lectors/**", "/reports/**");
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.console;
+
+/**
+ * A parsed console command.
+ *
+ * @param type the command type
+ * @param argument the department name or search template, or {@code null} if the command takes none
+ * @param input the command as entered
+ */
+record Command(CommandType type, String argument, String input) {
+}
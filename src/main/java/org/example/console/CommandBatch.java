@@ -0,0 +1,190 @@
+package org.example.console;
+
+import lombok.RequiredArgsConstructor;
+import org.example.context.RequestContext;
+import org.example.context.RequestIdGenerator;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.enums.Degree;
+import org.example.service.DepartmentService;
+import org.example.service.LectorService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a command script without interaction.
+ * <p>
+ * All commands are parsed before any of them runs. Department commands are grouped by department name, so
+ * every distinct department is resolved once: summaries, degree histograms and average salaries are each read
+ * with one {@code IN} query through the bulk methods of {@link DepartmentService}, and identical global searches
+ * run once. Other commands are processed one by one by the {@link ConsoleInterface}. The outputs are written
+ * in input order to the given stream, which the caller is expected to buffer. A failing command prints its
+ * failure and the batch goes on.
+ */
+@RequiredArgsConstructor
+class CommandBatch {
+    private final ConsoleInterface console;
+    private final DepartmentService departmentService;
+    private final LectorService lectorService;
+    private final RequestIdGenerator requestIdGenerator;
+
+    /**
+     * Reads the script until its end or an 'exit' line and runs all of its commands.
+     *
+     * @param reader the script
+     * @param out the stream to print the outputs to
+     * @return the number of commands and distinct departments and the elapsed time
+     * @throws IOException if the script cannot be read
+     */
+    BatchReport run(BufferedReader reader, PrintStream out) throws IOException {
+        long startNanos = System.nanoTime();
+        List<Command> commands = parse(reader);
+        Set<String> departmentNames = new LinkedHashSet<>();
+        Set<String> statisticsDepartmentNames = new LinkedHashSet<>();
+        Set<String> averageSalaryDepartmentNames = new LinkedHashSet<>();
+        Set<String> searchTemplates = new LinkedHashSet<>();
+        for (Command command : commands) {
+            switch (command.type()) {
+                case HEAD, EMPLOYEE_COUNT -> departmentNames.add(command.argument());
+                case STATISTICS -> {
+                    departmentNames.add(command.argument());
+                    statisticsDepartmentNames.add(command.argument());
+                }
+                case AVERAGE_SALARY -> {
+                    departmentNames.add(command.argument());
+                    averageSalaryDepartmentNames.add(command.argument());
+                }
+                case GLOBAL_SEARCH -> searchTemplates.add(command.argument());
+                default -> {
+                }
+            }
+        }
+
+        try (RequestContext.Scope ignored = RequestContext.open(this.requestIdGenerator.next())) {
+            Map<String, DepartmentSummary> summaries = departmentNames.isEmpty()
+                    ? Map.of()
+                    : this.departmentService.findSummaries(departmentNames);
+            Map<String, EnumMap<Degree, Long>> histograms = statisticsDepartmentNames.isEmpty()
+                    ? Map.of()
+                    : this.departmentService.fetchDegreeHistograms(statisticsDepartmentNames);
+            Map<String, BigDecimal> averageSalaries = averageSalaryDepartmentNames.isEmpty()
+                    ? Map.of()
+                    : this.departmentService.fetchAverageSalaries(averageSalaryDepartmentNames);
+            Map<String, String> searchResults = new HashMap<>();
+            for (String template : searchTemplates) {
+                searchResults.put(template, search(template));
+            }
+
+            for (Command command : commands) {
+                String name = command.argument();
+                DepartmentSummary summary = name == null ? null : summaries.get(name);
+                switch (command.type()) {
+                    case HEAD -> {
+                        out.printf(ConsoleInterface.EXTRACTED_DEPARTMENT_FORMAT, name);
+                        if (summary == null || summary.headOfDepartmentName() == null) {
+                            printFailure(out, command, "Head of department not found");
+                        } else {
+                            out.printf(ConsoleInterface.HEAD_FORMAT, name, summary.headOfDepartmentName());
+                        }
+                    }
+                    case STATISTICS -> {
+                        if (summary == null) {
+                            printFailure(out, command, "Department not found");
+                        } else {
+                            EnumMap<Degree, Long> histogram = histograms.get(name);
+                            out.printf(
+                                    ConsoleInterface.STATISTICS_FORMAT,
+                                    histogram == null ? 0L : histogram.get(Degree.ASSISTANT),
+                                    histogram == null ? 0L : histogram.get(Degree.ASSOCIATE_PROFESSOR),
+                                    histogram == null ? 0L : histogram.get(Degree.PROFESSOR)
+                            );
+                        }
+                    }
+                    case AVERAGE_SALARY -> {
+                        BigDecimal averageSalary = averageSalaries.get(name);
+                        if (summary == null) {
+                            printFailure(out, command, "Department not found");
+                        } else if (averageSalary == null) {
+                            printFailure(out, command, "Average salary not found");
+                        } else {
+                            out.printf(ConsoleInterface.AVERAGE_SALARY_FORMAT, name, averageSalary);
+                        }
+                    }
+                    case EMPLOYEE_COUNT -> {
+                        if (summary == null) {
+                            printFailure(out, command, "Department not found");
+                        } else {
+                            out.printf(ConsoleInterface.EMPLOYEE_COUNT_FORMAT, summary.employeeCount());
+                        }
+                    }
+                    case GLOBAL_SEARCH -> out.println(searchResults.get(name));
+                    default -> {
+                        try {
+                            this.console.processCommand(command.input(), out);
+                        } catch (RuntimeException e) {
+                            printFailure(out, command, e.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+        out.flush();
+        return new BatchReport(commands.size(), departmentNames.size(), System.nanoTime() - startNanos);
+    }
+
+    private List<Command> parse(BufferedReader reader) throws IOException {
+        List<Command> commands = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String input = line.trim();
+            if (input.isEmpty()) {
+                continue;
+            }
+            if (input.equalsIgnoreCase("exit")) {
+                break;
+            }
+            commands.add(this.console.parseCommand(input));
+        }
+        return commands;
+    }
+
+    private String search(String template) {
+        return this.lectorService.searchByNameContaining(template, ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0)
+                .stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void printFailure(PrintStream out, Command command, String message) {
+        out.printf("Command failed: %s: %s%n", command.input(), message);
+    }
+
+    /**
+     * The outcome of a batch run.
+     *
+     * @param commands the number of commands run
+     * @param departments the number of distinct departments resolved
+     * @param elapsedNanos the time taken to parse, resolve and print all commands
+     */
+    record BatchReport(int commands, int departments, long elapsedNanos) {
+
+        /**
+         * Returns the throughput of the run.
+         *
+         * @return the commands run per second
+         */
+        double commandsPerSecond() {
+            return this.elapsedNanos == 0 ? 0 : this.commands * 1_000_000_000.0 / this.elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.console;
+
+import jakarta.annotation.PreDestroy;
+import org.example.bulkhead.DatabaseBulkhead;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs console commands concurrently, each on a virtual thread of its own.
+ * <p>
+ * Commands share the {@link DatabaseBulkhead} with the HTTP API, so no more commands work against the
+ * database than the connection pool has connections, and a piped command stream keeps every connection
+ * busy. Commands are submitted through a {@link CommandSession}, which prints their output in input order.
+ * A command that has not completed within {@code console.command.timeout} of its submission is cancelled.
+ * At most {@code console.command.max-pending} commands of a session are in flight; further submissions
+ * wait until the oldest output has been printed.
+ */
+@Component
+public class CommandExecutor {
+    private final DatabaseBulkhead databaseBulkhead;
+    private final Duration timeout;
+    private final int maxPending;
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public CommandExecutor(
+            DatabaseBulkhead databaseBulkhead,
+            @Value("${console.command.timeout:PT30S}") Duration timeout,
+            @Value("${console.command.max-pending:1000}") int maxPending
+    ) {
+        this.databaseBulkhead = databaseBulkhead;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Opens a session that runs commands with the given handler and prints their output to {@code out}.
+     *
+     * @param handler the handler writing the output of a command to the given stream
+     * @param out the stream to print the outputs to
+     * @return the session
+     */
+    public CommandSession openSession(BiConsumer<String, PrintStream> handler, PrintStream out) {
+        return new CommandSession(
+                this.executorService,
+                (input, commandOut) -> this.databaseBulkhead.call(input, this.timeout, () -> {
+                    handler.accept(input, commandOut);
+                    return null;
+                }),
+                out,
+                this.timeout,
+                this.maxPending
+        );
+    }
+
+    /**
+     * Cancels all running commands.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.console;
+
+import java.io.PrintStream;
+
+/**
+ * Runs a parsed console command.
+ */
+@FunctionalInterface
+interface CommandHandler {
+
+    /**
+     * Runs the command and prints its output.
+     *
+     * @param command the parsed command
+     * @param out the stream to print the output to
+     */
+    void handle(Command command, PrintStream out);
+}
@@ -0,0 +1,47 @@
+package org.example.console;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses console input into {@link Command}s.
+ * <p>
+ * The command table is built once: every {@link CommandType} is indexed by the first word of its prefix.
+ * Parsing looks up the first word of the input and checks the prefix and suffix of the few commands
+ * sharing it, so no regular expression is compiled or run and the input is scanned only a few times.
+ */
+final class CommandParser {
+    private final Map<String, CommandType[]> commandsByFirstWord;
+
+    CommandParser() {
+        Map<String, List<CommandType>> commands = new HashMap<>();
+        for (CommandType type : CommandType.values()) {
+            if (type != CommandType.UNKNOWN) {
+                commands.computeIfAbsent(type.firstWord(), word -> new ArrayList<>()).add(type);
+            }
+        }
+        this.commandsByFirstWord = new HashMap<>();
+        commands.forEach((word, types) -> this.commandsByFirstWord.put(word, types.toArray(CommandType[]::new)));
+    }
+
+    /**
+     * Parses the user input.
+     *
+     * @param input the trimmed user input
+     * @return the command, of type {@link CommandType#UNKNOWN} if no syntax matches
+     */
+    Command parse(String input) {
+        int end = input.indexOf(' ');
+        CommandType[] candidates = this.commandsByFirstWord.get(end < 0 ? input : input.substring(0, end));
+        if (candidates != null) {
+            for (CommandType type : candidates) {
+                if (type.matches(input)) {
+                    return new Command(type, type.argument(input), input);
+                }
+            }
+        }
+        return new Command(CommandType.UNKNOWN, null, input);
+    }
+}
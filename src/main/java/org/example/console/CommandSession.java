@@ -0,0 +1,241 @@
+package org.example.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Stream of console commands running concurrently with their outputs printed in input order.
+ * <p>
+ * Every submitted command runs on the executor and writes into a buffer of its own. A printer thread takes
+ * the commands in submission order, waits for each until its deadline and prints its buffered output,
+ * or a timeout or failure message. Commands past their deadline are cancelled, which interrupts them.
+ * Closing the session waits until every submitted command has been printed.
+ * <p>
+ * A command with a large output is submitted as streaming instead. It starts only once all earlier outputs
+ * have been printed and writes straight to the output, so its memory use does not grow with its output.
+ * Its deadline counts from its start, and once past it, its further writes are dropped.
+ */
+public class CommandSession implements AutoCloseable {
+    private static final Pending END = new Pending("", CompletableFuture.completedFuture(""), 0, null, null);
+
+    private final ExecutorService executorService;
+    private final BiConsumer<String, PrintStream> handler;
+    private final PrintStream out;
+    private final long timeoutNanos;
+    private final Semaphore pendingPermits;
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    private final Thread printer;
+
+    CommandSession(
+            ExecutorService executorService,
+            BiConsumer<String, PrintStream> handler,
+            PrintStream out,
+            Duration timeout,
+            int maxPending
+    ) {
+        this.executorService = executorService;
+        this.handler = handler;
+        this.out = out;
+        this.timeoutNanos = timeout.toNanos();
+        this.pendingPermits = new Semaphore(maxPending);
+        this.printer = Thread.ofVirtual().name("console-printer").start(this::printInOrder);
+    }
+
+    /**
+     * Starts a command. Waits while the session already has the maximum number of commands in flight.
+     *
+     * @param input the user input command
+     */
+    public void submit(String input) {
+        this.pendingPermits.acquireUninterruptibly();
+        Future<String> output = this.executorService.submit(() -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (PrintStream commandOut = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+                this.handler.accept(input, commandOut);
+            }
+            return buffer.toString(StandardCharsets.UTF_8);
+        });
+        this.pending.add(new Pending(input, output, System.nanoTime() + this.timeoutNanos, null, null));
+    }
+
+    /**
+     * Queues a command that writes its output straight to the session output once the outputs of all
+     * commands submitted before it have been printed. Waits while the session already has the maximum
+     * number of commands in flight.
+     *
+     * @param input the user input command
+     */
+    public void submitStreaming(String input) {
+        this.pendingPermits.acquireUninterruptibly();
+        DirectOutput direct = new DirectOutput(this.out);
+        FutureTask<String> output = new FutureTask<>(() -> {
+            try (PrintStream commandOut = new PrintStream(direct, true, this.out.charset())) {
+                this.handler.accept(input, commandOut);
+            }
+            return "";
+        });
+        this.pending.add(new Pending(input, output, 0, () -> this.executorService.execute(output), direct));
+    }
+
+    /**
+     * Prints a text after the outputs of all commands submitted so far.
+     *
+     * @param text the text to print
+     */
+    public void println(String text) {
+        this.pendingPermits.acquireUninterruptibly();
+        this.pending.add(
+                new Pending("", CompletableFuture.completedFuture(text + System.lineSeparator()), 0, null, null)
+        );
+    }
+
+    /**
+     * Cancels all commands that have not completed yet. Their outputs are reported as cancelled.
+     */
+    public void cancelAll() {
+        for (Pending command : this.pending) {
+            command.cancel();
+        }
+    }
+
+    /**
+     * Waits until the outputs of all submitted commands have been printed.
+     */
+    @Override
+    public void close() {
+        this.pending.add(END);
+        boolean interrupted = false;
+        while (this.printer.isAlive()) {
+            try {
+                this.printer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                cancelAll();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printInOrder() {
+        while (true) {
+            Pending command;
+            try {
+                command = this.pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (command == END) {
+                return;
+            }
+            long deadlineNanos = command.deadlineNanos();
+            if (command.start() != null) {
+                command.start().run();
+                deadlineNanos = System.nanoTime() + this.timeoutNanos;
+            }
+            this.out.print(await(command, deadlineNanos));
+            this.out.flush();
+            this.pendingPermits.release();
+        }
+    }
+
+    private String await(Pending command, long deadlineNanos) {
+        try {
+            long remaining = deadlineNanos - System.nanoTime();
+            return command.output().isDone()
+                    ? command.output().get()
+                    : command.output().get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            command.cancel();
+            return String.format("Command timed out: %s%n", command.input());
+        } catch (CancellationException e) {
+            return String.format("Command cancelled: %s%n", command.input());
+        } catch (ExecutionException e) {
+            return String.format("Command failed: %s: %s%n", command.input(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            command.cancel();
+            return String.format("Command cancelled: %s%n", command.input());
+        }
+    }
+
+    /**
+     * A command waiting for its output to be printed. A streaming command has a {@code start} action,
+     * run by the printer, and writes through its {@code direct} output.
+     */
+    private record Pending(
+            String input,
+            Future<String> output,
+            long deadlineNanos,
+            Runnable start,
+            DirectOutput direct
+    ) {
+        /**
+         * Cancels the command, first detaching the output of a streaming command.
+         */
+        void cancel() {
+            if (this.direct != null) {
+                this.direct.detach();
+            }
+            this.output.cancel(true);
+        }
+    }
+
+    /**
+     * The output of a streaming command, which stops writing through once detached. Detaching waits for a
+     * write in progress, so nothing of a timed-out command interleaves with the outputs printed after it.
+     */
+    private static final class DirectOutput extends OutputStream {
+        private final PrintStream target;
+        private boolean detached;
+
+        DirectOutput(PrintStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (!this.detached) {
+                this.target.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            if (!this.detached) {
+                this.target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (!this.detached) {
+                this.target.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        synchronized void detach() {
+            this.detached = true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.console;
+
+/**
+ * The console commands and their syntax.
+ * <p>
+ * A command is written as its prefix, followed by an argument and its suffix when it takes one.
+ * Prefix and suffix are matched case-sensitively on word boundaries, and the argument is trimmed.
+ * A suffix starting with punctuation, like a final period, may directly follow the argument.
+ * The {@link CommandParser} tries the commands sharing a first word in declaration order,
+ * so a command must be declared before any command whose syntax also matches its input.
+ */
+enum CommandType {
+    METRICS("Show metrics.", "", false),
+    AVERAGE_SALARY("Show the average salary for the department", "", true),
+    EMPLOYEE_COUNT("Show count of employee for", "", true),
+    SALARY_DISTRIBUTION("Show salary distribution for", ".", true),
+    STATISTICS("Show", "statistics.", true),
+    HEAD("Who is head of department", "", true),
+    GLOBAL_SEARCH("Global search by", "", true),
+    LIST_LECTORS("List lectors by", "", true),
+    CHECK_STATISTICS("Check department statistics.", "", false),
+    EXPORT_REPORT("Export report.", "", false),
+    UNKNOWN("", "", false);
+
+    private final String prefix;
+    private final String suffix;
+    private final boolean takesArgument;
+
+    CommandType(String prefix, String suffix, boolean takesArgument) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.takesArgument = takesArgument;
+    }
+
+    /**
+     * Returns the first word of the prefix, under which the {@link CommandParser} indexes the command.
+     *
+     * @return the first word
+     */
+    String firstWord() {
+        int end = this.prefix.indexOf(' ');
+        return end < 0 ? this.prefix : this.prefix.substring(0, end);
+    }
+
+    /**
+     * Checks whether the input is written in the syntax of this command.
+     *
+     * @param input the trimmed user input
+     * @return {@code true} if the input matches
+     */
+    boolean matches(String input) {
+        int start = this.prefix.length();
+        int end = input.length() - this.suffix.length();
+        if (end < start || !input.startsWith(this.prefix) || !input.endsWith(this.suffix)) {
+            return false;
+        }
+        if (!this.takesArgument) {
+            return start == end;
+        }
+        boolean prefixEndsWord = start == input.length() || input.charAt(start) == ' ';
+        boolean suffixStartsWord = this.suffix.isEmpty()
+                || start == end
+                || input.charAt(end - 1) == ' '
+                || !Character.isLetterOrDigit(this.suffix.charAt(0));
+        return prefixEndsWord && suffixStartsWord;
+    }
+
+    /**
+     * Extracts the argument of an input matching this command.
+     *
+     * @param input the trimmed user input
+     * @return the trimmed argument, or {@code null} if the command takes none
+     */
+    String argument(String input) {
+        if (!this.takesArgument) {
+            return null;
+        }
+        return input.substring(this.prefix.length(), input.length() - this.suffix.length()).trim();
+    }
+}
@@ -2,11 +2,36 @@ package org.example.console;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.example.bulkimport.ImportReport;
+import org.example.bulkimport.LectorImporter;
+import org.example.context.RequestContext;
+import org.example.context.RequestIdGenerator;
+import org.example.enums.Degree;
+import org.example.metrics.MethodMetrics;
+import org.example.metrics.MethodStats;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.SalaryDistribution;
+import org.example.report.DepartmentReportExporter;
+import org.example.report.ReportExport;
 import org.example.service.DepartmentService;
 import org.example.service.LectorService;
+import org.example.stats.DepartmentStatsChecker;
+import org.example.stats.DepartmentStatsMismatch;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.stream.Collectors;
 
@@ -14,14 +39,43 @@ import java.util.stream.Collectors;
 /**
  * ConsoleInterface is a command-line interface for interacting with university data.
  * It allows users to perform various operations such as fetching the head of a department,
- * displaying department statistics, calculating average salaries, counting employees,
- * and performing global searches.
+ * displaying department statistics, calculating average salaries and salary distributions, counting employees,
+ * performing global searches, showing method latency metrics, checking the department statistics table and
+ * exporting a report of all departments.
+ * <p>
+ * Started with {@value #BATCH_OPTION}, it runs a command script from standard input, or from the file given
+ * as {@code --batch=<file>}, through a {@link CommandBatch} instead. Started with {@code --import=<file>},
+ * it loads lectors from a CSV file through the {@link LectorImporter} and exits.
  */
 @Component
 @RequiredArgsConstructor
 public class ConsoleInterface implements CommandLineRunner {
+    static final int GLOBAL_SEARCH_LIMIT = 50;
+    static final String BATCH_OPTION = "--batch";
+    static final String IMPORT_OPTION = "--import=";
+    static final int BATCH_BUFFER_SIZE = 64 * 1024;
+
+    static final String EXTRACTED_DEPARTMENT_FORMAT = "Extracted department name: %s%n";
+    static final String HEAD_FORMAT = "Head of %s department is %s%n";
+    static final String STATISTICS_FORMAT = "assistants - %d%nassociate professors - %d%nprofessors - %d%n";
+    static final String AVERAGE_SALARY_FORMAT = "The average salary of %s is %.2f%n";
+    static final String EMPLOYEE_COUNT_FORMAT = "%d%n";
+    static final String LECTORS_LISTED_FORMAT = "%d lectors found%n";
+    static final String SALARY_DISTRIBUTION_FORMAT = "Salary distribution of %s (%d salaries):%n";
+    static final String SALARY_DISTRIBUTION_HEADER_FORMAT = "%-20s %6s %12s %12s %12s %12s %12s %12s %12s %12s%n";
+    static final String SALARY_DISTRIBUTION_ROW_FORMAT =
+            "%-20s %6d %12.2f %12.2f %12.2f %12.2f %12.2f %12.2f %12.2f %12.2f%n";
+
     private final DepartmentService departmentService;
     private final LectorService lectorService;
+    private final DepartmentStatsChecker departmentStatsChecker;
+    private final RequestIdGenerator requestIdGenerator;
+    private final MethodMetrics methodMetrics;
+    private final CommandExecutor commandExecutor;
+    private final LectorImporter lectorImporter;
+    private final DepartmentReportExporter departmentReportExporter;
+    private final CommandParser commandParser = new CommandParser();
+    private final Map<CommandType, CommandHandler> commandHandlers = createCommandHandlers();
 
     /**
      * Initializes the ConsoleInterface bean and prints the initialized services.
@@ -36,97 +90,187 @@ public class ConsoleInterface implements CommandLineRunner {
     }
 
     /**
-     * Runs the console interface, prompting the user for commands until 'exit' is entered.
+     * Runs the console interface, reading commands until 'exit' is entered or the input ends.
+     * Commands run concurrently through the {@link CommandExecutor}; their outputs are printed in input order.
      *
      * @param args command-line arguments
      */
     @Override
     public void run(String... args) {
+        for (String arg : args) {
+            if (arg.equals(BATCH_OPTION) || arg.startsWith(BATCH_OPTION + "=")) {
+                runBatch(arg.substring(Math.min(arg.length(), BATCH_OPTION.length() + 1)));
+                return;
+            }
+            if (arg.startsWith(IMPORT_OPTION)) {
+                runImport(arg.substring(IMPORT_OPTION.length()));
+                return;
+            }
+        }
         Scanner scanner = new Scanner(System.in);
         System.out.println("Welcome to the University console interface!");
-        while (true) {
-            System.out.println("Please enter the command:");
-            String command = scanner.nextLine().trim();
-            if (command.equalsIgnoreCase("exit")) {
-                System.out.println("Goodbye!");
-                break;
+        try (CommandSession session = this.commandExecutor.openSession(this::processCommand, System.out)) {
+            while (true) {
+                session.println("Please enter the command:");
+                if (!scanner.hasNextLine()) {
+                    break;
+                }
+                String command = scanner.nextLine().trim();
+                if (command.equalsIgnoreCase("exit")) {
+                    break;
+                }
+                if (streamsOutput(command)) {
+                    session.submitStreaming(command);
+                } else {
+                    session.submit(command);
+                }
             }
-            processCommand(command);
         }
+        System.out.println("Goodbye!");
     }
 
     /**
-     * Processes the user input command and delegates to the appropriate handler method.
+     * Runs a command script through a {@link CommandBatch}, writing the outputs to the standard output through
+     * a {@value #BATCH_BUFFER_SIZE} byte buffer and the throughput to the standard error.
+     *
+     * @param file the script file, or an empty string to read the script from the standard input
+     */
+    void runBatch(String file) {
+        CommandBatch batch = new CommandBatch(
+                this,
+                this.departmentService,
+                this.lectorService,
+                this.requestIdGenerator
+        );
+        PrintStream out = new PrintStream(
+                new BufferedOutputStream(System.out, BATCH_BUFFER_SIZE),
+                false,
+                System.out.charset()
+        );
+        try (BufferedReader reader = file.isEmpty()
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(file))) {
+            CommandBatch.BatchReport report = batch.run(reader, out);
+            System.err.printf(
+                    "Processed %d commands for %d departments in %d ms (%.0f commands/s)%n",
+                    report.commands(),
+                    report.departments(),
+                    report.elapsedNanos() / 1_000_000,
+                    report.commandsPerSecond()
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read batch script " + file, e);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Imports lectors from a CSV file and prints the import report to the standard output.
+     *
+     * @param file the CSV file
+     */
+    void runImport(String file) {
+        ImportReport report = this.lectorImporter.importCsv(Path.of(file));
+        System.out.printf(
+                "Imported %d lectors, %d memberships and %d new departments with %s in %d ms (%.0f rows/s)%n",
+                report.lectors(),
+                report.memberships(),
+                report.departmentsCreated(),
+                report.method(),
+                report.elapsedNanos() / 1_000_000,
+                report.rowsPerSecond()
+        );
+    }
+
+    /**
+     * Processes the user input command and prints its output to the standard output.
      *
      * @param input the user input command
      */
     void processCommand(String input) {
-        String commandType = getCommandType(input);
-        switch (commandType) {
-            case "head":
-                handleHeadOfDepartment(input);
-                break;
-            case "statistics":
-                handleStatistics(input);
-                break;
-            case "averageSalary":
-                handleAverageSalary(input);
-                break;
-            case "employeeCount":
-                handleEmployeeCount(input);
-                break;
-            case "globalSearch":
-                handleGlobalSearch(input);
-                break;
-            default:
-                System.out.println("Unknown command. Please try again.");
-        }
+        processCommand(input, System.out);
     }
 
     /**
-     * Determines the type of command based on the user input.
+     * Processes the user input command and delegates to the appropriate handler method.
+     * Every command runs in a {@link RequestContext} of its own.
      *
      * @param input the user input command
-     * @return the command type
+     * @param out the stream to print the output to
      */
-    String getCommandType(String input) {
-        switch (input.split(" ")[0].toLowerCase()) {
-            case "who":
-                if (input.startsWith("Who is head of department")) {
-                    return "head";
-                }
-                break;
-            case "show":
-                if (input.endsWith("statistics.")) {
-                    return "statistics";
-                } else if (input.startsWith("Show the average salary for the department")) {
-                    return "averageSalary";
-                } else if (input.startsWith("Show count of employee for")) {
-                    return "employeeCount";
-                }
-                break;
-            case "global":
-                if (input.startsWith("Global search by")) {
-                    return "globalSearch";
-                }
-                break;
-            default:
-                return "unknown";
+    void processCommand(String input, PrintStream out) {
+        try (RequestContext.Scope ignored = RequestContext.open(this.requestIdGenerator.next())) {
+            dispatchCommand(input, out);
         }
-        return "unknown";
     }
 
     /**
-     * Handles the 'Who is head of department' command.
+     * Parses the user input command and delegates it to the handler registered for its type.
+     *
+     * @param input the user input command
+     * @param out the stream to print the output to
+     */
+    private void dispatchCommand(String input, PrintStream out) {
+        Command command = parseCommand(input);
+        this.commandHandlers.get(command.type()).handle(command, out);
+    }
+
+    /**
+     * Tells whether a command writes its output straight to the console instead of buffering it, because
+     * its output grows with the data, like the names printed by 'List lectors by'.
+     *
+     * @param input the user input command
+     * @return {@code true} if the command is submitted as streaming
+     */
+    boolean streamsOutput(String input) {
+        return parseCommand(input).type() == CommandType.LIST_LECTORS;
+    }
+
+    /**
+     * Parses the user input command.
      *
      * @param input the user input command
+     * @return the parsed command
+     */
+    Command parseCommand(String input) {
+        return this.commandParser.parse(input);
+    }
+
+    /**
+     * Creates the handler table of the console. A new command is added by declaring its {@link CommandType}
+     * and registering its handler here.
+     *
+     * @return the handler of every command type
      */
-    void handleHeadOfDepartment(String input) {
-        String departmentName = extractDepartmentName(input);
-        System.out.println("Extracted department name: " + departmentName);
+    private Map<CommandType, CommandHandler> createCommandHandlers() {
+        Map<CommandType, CommandHandler> handlers = new EnumMap<>(CommandType.class);
+        handlers.put(CommandType.HEAD, this::handleHeadOfDepartment);
+        handlers.put(CommandType.STATISTICS, this::handleStatistics);
+        handlers.put(CommandType.SALARY_DISTRIBUTION, this::handleSalaryDistribution);
+        handlers.put(CommandType.AVERAGE_SALARY, this::handleAverageSalary);
+        handlers.put(CommandType.EMPLOYEE_COUNT, this::handleEmployeeCount);
+        handlers.put(CommandType.GLOBAL_SEARCH, this::handleGlobalSearch);
+        handlers.put(CommandType.LIST_LECTORS, this::handleListLectors);
+        handlers.put(CommandType.METRICS, (command, out) -> handleMetrics(out));
+        handlers.put(CommandType.CHECK_STATISTICS, (command, out) -> handleStatisticsCheck(out));
+        handlers.put(CommandType.EXPORT_REPORT, (command, out) -> handleExportReport(out));
+        handlers.put(CommandType.UNKNOWN, (command, out) -> out.println("Unknown command. Please try again."));
+        return handlers;
+    }
+
+    /**
+     * Handles the 'Who is head of department' command.
+     *
+     * @param command the parsed command
+     * @param out the stream to print the output to
+     */
+    void handleHeadOfDepartment(Command command, PrintStream out) {
+        String departmentName = command.argument();
+        out.printf(EXTRACTED_DEPARTMENT_FORMAT, departmentName);
         String headOfDepartment = this.departmentService.fetchHeadOfDepartment(departmentName);
-        System.out.printf(
-                "Head of %s department is %s%n",
+        out.printf(
+                HEAD_FORMAT,
                 departmentName,
                 headOfDepartment
         );
@@ -135,78 +279,192 @@ public class ConsoleInterface implements CommandLineRunner {
     /**
      * Handles the 'Show statistics' command.
      *
-     * @param input the user input command
+     * @param command the parsed command
+     * @param out the stream to print the output to
      */
-    void handleStatistics(String input) {
-        String departmentName = extractDepartmentName(input);
-        int assistants = this.departmentService.fetchAssistantsCount(departmentName);
-        int associateProfessors = this.departmentService.fetchAssociateProfessorsCount(departmentName);
-        int professors = this.departmentService.fetchProfessorsCount(departmentName);
-        System.out.printf(
-                "assistants - %d%nassociate professors - %d%nprofessors - %d%n",
-                assistants,
-                associateProfessors,
-                professors
+    void handleStatistics(Command command, PrintStream out) {
+        String departmentName = command.argument();
+        EnumMap<Degree, Long> histogram = this.departmentService.fetchDegreeHistogram(departmentName);
+        out.printf(
+                STATISTICS_FORMAT,
+                histogram.get(Degree.ASSISTANT),
+                histogram.get(Degree.ASSOCIATE_PROFESSOR),
+                histogram.get(Degree.PROFESSOR)
         );
     }
 
     /**
      * Handles the 'Show the average salary for the department' command.
      *
-     * @param input the user input command
+     * @param command the parsed command
+     * @param out the stream to print the output to
      */
-    void handleAverageSalary(String input) {
-        String departmentName = extractDepartmentName(input);
-        double averageSalary = this.departmentService.fetchAverageSalary(departmentName)
-                .doubleValue();
-        System.out.printf(
-                "The average salary of %s is %.2f%n",
+    void handleAverageSalary(Command command, PrintStream out) {
+        String departmentName = command.argument();
+        BigDecimal averageSalary = this.departmentService.fetchAverageSalary(departmentName);
+        out.printf(
+                AVERAGE_SALARY_FORMAT,
                 departmentName,
                 averageSalary
         );
     }
 
+    /**
+     * Handles the 'Show salary distribution for' command.
+     * Prints the count, minimum, quartiles, 90th and 99th percentiles, maximum and average of the salaries of
+     * the department, over all lectors and per degree.
+     *
+     * @param command the parsed command
+     * @param out the stream to print the output to
+     */
+    void handleSalaryDistribution(Command command, PrintStream out) {
+        String departmentName = command.argument();
+        DepartmentSalaries salaries = this.departmentService.fetchSalaryDistribution(departmentName);
+        if (salaries.all() == null) {
+            out.printf("No salaries recorded for %s.%n", departmentName);
+            return;
+        }
+        out.printf(SALARY_DISTRIBUTION_FORMAT, departmentName, salaries.all().count());
+        out.printf(
+                SALARY_DISTRIBUTION_HEADER_FORMAT,
+                "lectors", "count", "min", "p25", "median", "p75", "p90", "p99", "max", "average"
+        );
+        printSalaryDistribution(out, "all", salaries.all());
+        printSalaryDistribution(out, "assistants", salaries.byDegree().get(Degree.ASSISTANT));
+        printSalaryDistribution(out, "associate professors", salaries.byDegree().get(Degree.ASSOCIATE_PROFESSOR));
+        printSalaryDistribution(out, "professors", salaries.byDegree().get(Degree.PROFESSOR));
+    }
+
+    private static void printSalaryDistribution(PrintStream out, String label, SalaryDistribution distribution) {
+        if (distribution == null) {
+            return;
+        }
+        out.printf(
+                SALARY_DISTRIBUTION_ROW_FORMAT,
+                label,
+                distribution.count(),
+                SalaryDistribution.amount(distribution.minCents()),
+                SalaryDistribution.amount(distribution.p25Cents()),
+                SalaryDistribution.amount(distribution.medianCents()),
+                SalaryDistribution.amount(distribution.p75Cents()),
+                SalaryDistribution.amount(distribution.p90Cents()),
+                SalaryDistribution.amount(distribution.p99Cents()),
+                SalaryDistribution.amount(distribution.maxCents()),
+                SalaryDistribution.amount(distribution.averageCents())
+        );
+    }
+
     /**
      * Handles the 'Show count of employee for' command.
      *
-     * @param input the user input command
+     * @param command the parsed command
+     * @param out the stream to print the output to
      */
-    void handleEmployeeCount(String input) {
-        String departmentName = extractDepartmentName(input);
+    void handleEmployeeCount(Command command, PrintStream out) {
+        String departmentName = command.argument();
         int employeeCount = this.departmentService.fetchEmployeeCount(departmentName);
-        System.out.printf(
-                "%d%n",
+        out.printf(
+                EMPLOYEE_COUNT_FORMAT,
                 employeeCount
         );
     }
 
     /**
      * Handles the 'Global search by' command.
+     * Prints the {@value #GLOBAL_SEARCH_LIMIT} best matching lector names.
      *
-     * @param input the user input command
+     * @param command the parsed command
+     * @param out the stream to print the output to
      */
-    void handleGlobalSearch(String input) {
-        String template = input.replace(
-                "Global search by",
-                ""
-        ).trim();
-        String result = this.lectorService.searchByNameContaining(template)
+    void handleGlobalSearch(Command command, PrintStream out) {
+        String template = command.argument();
+        String result = this.lectorService.searchByNameContaining(template, GLOBAL_SEARCH_LIMIT, 0)
                 .stream()
                 .map(Object::toString)
                 .collect(Collectors.joining(", "));
-        System.out.println(result);
+        out.println(result);
     }
 
     /**
-     * Extracts the department name from the user input command.
+     * Handles the 'List lectors by' command.
+     * Prints every matching lector name on a line of its own as it is read, followed by the number of names.
+     * The interactive console submits it as streaming, see {@link #streamsOutput(String)}.
      *
-     * @param input the user input command
-     * @return the extracted department name
+     * @param command the parsed command
+     * @param out the stream to print the output to
+     */
+    void handleListLectors(Command command, PrintStream out) {
+        int count = this.lectorService.forEachNameContaining(command.argument(), out::println);
+        out.printf(LECTORS_LISTED_FORMAT, count);
+    }
+
+    /**
+     * Handles the 'Check department statistics.' command.
+     * Prints every department whose statistics row differs from the recomputed aggregates.
+     *
+     * @param out the stream to print the output to
      */
-    String extractDepartmentName(String input) {
-        return input.replaceAll(
-                "(?i)(Who is head of department|Show the average salary for the department|Show count of employee for|Show|statistics\\.)",
-                ""
-        ).trim();
+    void handleStatisticsCheck(PrintStream out) {
+        List<DepartmentStatsMismatch> mismatches = this.departmentStatsChecker.check();
+        if (mismatches.isEmpty()) {
+            out.println("Department statistics are consistent.");
+            return;
+        }
+        for (DepartmentStatsMismatch mismatch : mismatches) {
+            out.printf(
+                    "Department %d: expected %s, found %s%n",
+                    mismatch.departmentId(),
+                    mismatch.expected(),
+                    mismatch.actual()
+            );
+        }
+    }
+
+    /**
+     * Handles the 'Export report.' command.
+     * Writes the report of all departments to the configured file and prints where it went.
+     *
+     * @param out the stream to print the output to
+     */
+    void handleExportReport(PrintStream out) {
+        ReportExport export = this.departmentReportExporter.export();
+        out.printf(
+                "Exported %d departments as %s to %s in %d ms%n",
+                export.departments(),
+                export.format(),
+                export.file().toAbsolutePath(),
+                export.elapsedNanos() / 1_000_000
+        );
+    }
+
+    /**
+     * Handles the 'Show metrics.' command.
+     * Prints call counts and latency percentiles in milliseconds of every method called so far.
+     *
+     * @param out the stream to print the output to
+     */
+    void handleMetrics(PrintStream out) {
+        List<MethodStats> stats = this.methodMetrics.snapshot();
+        if (stats.isEmpty()) {
+            out.println("No metrics recorded yet.");
+            return;
+        }
+        out.printf(
+                "%-50s %8s %6s %9s %9s %9s %9s %9s%n",
+                "method", "calls", "errors", "in-flight", "mean", "p50", "p99", "p999"
+        );
+        for (MethodStats method : stats) {
+            out.printf(
+                    "%-50s %8d %6d %9d %9.3f %9.3f %9.3f %9.3f%n",
+                    method.method(),
+                    method.calls(),
+                    method.errors(),
+                    method.inFlight(),
+                    method.meanMillis(),
+                    method.p50Millis(),
+                    method.p99Millis(),
+                    method.p999Millis()
+            );
+        }
     }
-}
\ No newline at end of file
+}
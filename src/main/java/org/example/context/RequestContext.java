@@ -0,0 +1,116 @@
+package org.example.context;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Context of the console command or HTTP request the current thread is working on.
+ * <p>
+ * A context is opened once per request with {@link #open(String)} and bound to the thread until the
+ * returned {@link Scope} is closed. The request ID is written to the {@link MDC} under {@value #MDC_KEY}
+ * when the context is bound, so nested calls neither generate nor write it again. {@link #wrap(Runnable)}
+ * and {@link #wrap(Callable)} carry the context over to tasks running on other threads, including
+ * virtual threads.
+ *
+ * @param requestId the unique request ID
+ * @param startNanos the {@link System#nanoTime()} at which the request started
+ */
+public record RequestContext(String requestId, long startNanos) {
+    public static final String MDC_KEY = "requestId";
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the context bound to the current thread.
+     *
+     * @return the current context, or {@code null} outside of a request
+     */
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a new request context on the current thread.
+     *
+     * @param requestId the unique request ID
+     * @return the scope that restores the previous context when closed
+     */
+    public static Scope open(String requestId) {
+        return attach(new RequestContext(requestId, System.nanoTime()));
+    }
+
+    /**
+     * Binds an existing context to the current thread.
+     *
+     * @param context the context to bind, may be {@code null}
+     * @return the scope that restores the previous context when closed
+     */
+    public static Scope attach(RequestContext context) {
+        RequestContext previous = CURRENT.get();
+        if (previous == context) {
+            return Scope.NOOP;
+        }
+        bind(context);
+        return () -> bind(previous);
+    }
+
+    /**
+     * Wraps a task so that it runs in the context of the calling thread.
+     *
+     * @param task the task
+     * @return the task bound to the current context, or the task itself outside of a request
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(context)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs in the context of the calling thread.
+     *
+     * @param task the task
+     * @param <T> the result type
+     * @return the task bound to the current context, or the task itself outside of a request
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        RequestContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(context)) {
+                return task.call();
+            }
+        };
+    }
+
+    private static void bind(RequestContext context) {
+        if (context == null) {
+            CURRENT.remove();
+            MDC.remove(MDC_KEY);
+        } else {
+            CURRENT.set(context);
+            MDC.put(MDC_KEY, context.requestId());
+        }
+    }
+
+    /**
+     * Binding of a context to a thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        Scope NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.context;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates the {@link RequestContext} to tasks submitted to Spring managed executors.
+ * Spring Boot applies the decorator to the auto-configured task executor, platform or virtual threaded.
+ */
+@Component
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return RequestContext.wrap(runnable);
+    }
+}
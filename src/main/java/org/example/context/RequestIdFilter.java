@@ -0,0 +1,39 @@
+package org.example.context;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link RequestContext} for every HTTP request and returns its ID in the
+ * {@value #REQUEST_ID_HEADER} response header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestIdFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+
+    private final RequestIdGenerator requestIdGenerator;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String requestId = this.requestIdGenerator.next();
+        try (RequestContext.Scope ignored = RequestContext.open(requestId)) {
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+            filterChain.doFilter(request, response);
+        }
+    }
+}
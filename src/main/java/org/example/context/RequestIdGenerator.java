@@ -0,0 +1,43 @@
+package org.example.context;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates request IDs of the form {@code <node>-<sequence>}.
+ * <p>
+ * The sequence is a per-JVM counter, so IDs are unique and monotonic within a process no matter how
+ * many requests start in the same millisecond. The node prefix tells processes apart. It is taken from
+ * {@code request-context.node} or, when that is blank, derived from the process ID and start time.
+ */
+@Component
+public class RequestIdGenerator {
+    private final String prefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public RequestIdGenerator(@Value("${request-context.node:}") String node) {
+        this.prefix = (node == null || node.isBlank() ? defaultNode() : node.strip()) + "-";
+    }
+
+    /**
+     * Returns the next request ID.
+     *
+     * @return a request ID unique within this process
+     */
+    public String next() {
+        return this.prefix + this.sequence.incrementAndGet();
+    }
+
+    private static String defaultNode() {
+        ProcessHandle process = ProcessHandle.current();
+        long startMillis = process.info()
+                .startInstant()
+                .map(instant -> instant.toEpochMilli())
+                .orElseGet(System::currentTimeMillis);
+        return Long.toString(process.pid(), 36) + Long.toString(startMillis, 36);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.payroll.DepartmentSalaries;
+import org.example.service.DepartmentService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * HTTP API for the department commands of the console interface and for paging through all departments.
+ */
+@RestController
+@RequestMapping("/departments")
+@RequiredArgsConstructor
+public class DepartmentController {
+    private final DepartmentService departmentService;
+
+    @GetMapping
+    public KeysetPage<DepartmentDTO> list(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return this.departmentService.listDepartments(afterId, limit);
+    }
+
+    @GetMapping("/{departmentName}")
+    public DepartmentResponseDTO findDetails(@PathVariable String departmentName) {
+        return this.departmentService.findDetailsByName(departmentName)
+                .orElseThrow(() -> new NotFoundException("Department not found", departmentName));
+    }
+
+    @GetMapping("/{departmentName}/head")
+    public LectorDTO fetchHeadOfDepartment(@PathVariable String departmentName) {
+        return this.departmentService.fetchHeadOfDepartmentDetails(departmentName);
+    }
+
+    @GetMapping("/{departmentName}/statistics")
+    public EnumMap<Degree, Long> fetchStatistics(@PathVariable String departmentName) {
+        return this.departmentService.fetchDegreeHistogram(departmentName);
+    }
+
+    @GetMapping("/{departmentName}/average-salary")
+    public BigDecimal fetchAverageSalary(@PathVariable String departmentName) {
+        return this.departmentService.fetchAverageSalary(departmentName);
+    }
+
+    @GetMapping("/{departmentName}/salary-distribution")
+    public DepartmentSalaries fetchSalaryDistribution(@PathVariable String departmentName) {
+        return this.departmentService.fetchSalaryDistribution(departmentName);
+    }
+
+    @GetMapping("/{departmentName}/employee-count")
+    public Integer fetchEmployeeCount(@PathVariable String departmentName) {
+        return this.departmentService.fetchEmployeeCount(departmentName);
+    }
+
+    @GetMapping("/{departmentName}/employees")
+    public List<LectorDTO> fetchEmployees(@PathVariable String departmentName) {
+        return this.departmentService.fetchEmployees(departmentName);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.service.LectorService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * HTTP API for the lector search commands of the console interface and for paging through all lectors.
+ */
+@RestController
+@RequestMapping("/lectors")
+@RequiredArgsConstructor
+public class LectorController {
+    private final LectorService lectorService;
+
+    @GetMapping
+    public KeysetPage<LectorDTO> list(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Degree degree
+    ) {
+        return this.lectorService.listLectors(afterId, limit, degree);
+    }
+
+    @GetMapping("/search")
+    public List<String> search(
+            @RequestParam("q") String template,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int offset
+    ) {
+        return this.lectorService.searchByNameContaining(template, limit, offset);
+    }
+
+    @GetMapping("/names")
+    public void listNames(@RequestParam("q") String template, HttpServletResponse response) throws IOException {
+        response.setContentType("text/plain");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        this.lectorService.forEachNameContaining(template, writer::println);
+        writer.flush();
+    }
+}
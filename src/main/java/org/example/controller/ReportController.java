@@ -0,0 +1,36 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.report.DepartmentReportWriter;
+import org.example.report.ReportFormat;
+import org.example.service.DepartmentService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP API for the reports of the console interface. Reports are streamed to the response row by row.
+ */
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final DepartmentService departmentService;
+
+    @GetMapping("/departments")
+    public void exportDepartments(
+            @RequestParam(defaultValue = "CSV") ReportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        DepartmentReportWriter reportWriter = new DepartmentReportWriter(format, response.getWriter());
+        this.departmentService.allDepartmentsReport(reportWriter);
+        reportWriter.finish();
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of rows read in id order after a given id.
+ *
+ * @param items the rows of the page
+ * @param nextAfterId the id to pass as {@code afterId} for the next page, or {@code null} on the last page
+ * @param <T> the row type
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfterId) {
+    /** The largest number of rows per page. */
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Builds a page from the rows of a query limited to one row more than the page size,
+     * so the last page is recognized without another query.
+     *
+     * @param rows the rows read, at most {@code limit + 1}
+     * @param limit the page size
+     * @param id the id of a row
+     * @param <T> the row type
+     * @return the first {@code limit} rows, with the id of the last of them if more rows follow
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(List.copyOf(items), id.apply(items.getLast()));
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.dto.depatrment;
+
+/**
+ * Read-only projection of a department with its head and employee count.
+ * Built directly by a JPQL constructor expression, so no entity graph is loaded or dirty-tracked.
+ */
+public record DepartmentSummary(
+        Long id,
+        String departmentName,
+        Long headOfDepartmentId,
+        String headOfDepartmentName,
+        Integer employeeCount
+) {
+}
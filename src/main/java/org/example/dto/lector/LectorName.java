@@ -0,0 +1,7 @@
+package org.example.dto.lector;
+
+/**
+ * Read-only projection holding the id and name of a lector.
+ */
+public record LectorName(Long id, String name) {
+}
@@ -5,10 +5,32 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.example.annotations.EntityEqualsAndHashCode;
 import org.example.entity.abstracts.OrganizationalUnit;
+import org.example.entity.listener.DepartmentEntityListener;
 import java.util.Set;
 
 @Entity
 @Table(name = "departments")
+@SequenceGenerator(
+        name = OrganizationalUnit.ID_GENERATOR,
+        sequenceName = "departments_id_seq",
+        allocationSize = OrganizationalUnit.ID_ALLOCATION_SIZE
+)
+@EntityListeners(DepartmentEntityListener.class)
+@NamedEntityGraph(
+        name = Department.WITH_HEAD,
+        attributeNodes = @NamedAttributeNode("headOfDepartment")
+)
+@NamedEntityGraph(
+        name = Department.WITH_EMPLOYEES,
+        attributeNodes = @NamedAttributeNode("employees")
+)
+@NamedEntityGraph(
+        name = Department.WITH_HEAD_AND_EMPLOYEES,
+        attributeNodes = {
+                @NamedAttributeNode("headOfDepartment"),
+                @NamedAttributeNode("employees")
+        }
+)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -16,7 +38,11 @@ import java.util.Set;
 @EntityEqualsAndHashCode
 @ToString(callSuper = true, onlyExplicitlyIncluded = true)
 public class Department extends OrganizationalUnit {
-    @ManyToMany(fetch = FetchType.EAGER)
+    public static final String WITH_HEAD = "Department.withHead";
+    public static final String WITH_EMPLOYEES = "Department.withEmployees";
+    public static final String WITH_HEAD_AND_EMPLOYEES = "Department.withHeadAndEmployees";
+
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "department_lector",
             joinColumns = @JoinColumn(name = "department_id"),
@@ -26,7 +52,7 @@ public class Department extends OrganizationalUnit {
     @JsonIgnore
     private Set<Lector> employees;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "head_of_department_id")
     private Lector headOfDepartment;
 }
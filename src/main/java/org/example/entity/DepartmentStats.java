@@ -0,0 +1,92 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.annotations.EntityEqualsAndHashCode;
+import org.example.enums.Degree;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Objects;
+
+/**
+ * Aggregates of the lectors of one department, stored in the {@code department_stats} table.
+ * <p>
+ * The rows are kept current by the database triggers of migration V5 whenever departments, memberships or
+ * lector degrees and salaries change, so a statistic of a department is read with a single primary key lookup.
+ * The application only writes them to repair drift found by {@code DepartmentStatsChecker}.
+ */
+@Entity
+@Table(name = "department_stats")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EntityEqualsAndHashCode
+@ToString
+public class DepartmentStats {
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+    private Long headcount;
+    private BigDecimal salarySum;
+    private Long salaryCount;
+    private Long assistants;
+    private Long associateProfessors;
+    private Long professors;
+
+    /**
+     * Returns the average salary of the lectors with a salary, rounded to cents.
+     *
+     * @return the average salary, or {@code null} if no lector of the department has a salary
+     */
+    public BigDecimal averageSalary() {
+        if (this.salaryCount == 0) {
+            return null;
+        }
+        return this.salarySum.divide(BigDecimal.valueOf(this.salaryCount), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Returns the number of lectors per degree.
+     *
+     * @return the histogram, with every degree present
+     */
+    public EnumMap<Degree, Long> degreeHistogram() {
+        EnumMap<Degree, Long> histogram = new EnumMap<>(Degree.class);
+        histogram.put(Degree.ASSISTANT, this.assistants);
+        histogram.put(Degree.ASSOCIATE_PROFESSOR, this.associateProfessors);
+        histogram.put(Degree.PROFESSOR, this.professors);
+        return histogram;
+    }
+
+    /**
+     * Checks whether both rows hold the same aggregates, comparing salary sums by value.
+     *
+     * @param other the row to compare with
+     * @return {@code true} if all aggregates are equal
+     */
+    public boolean hasSameAggregates(DepartmentStats other) {
+        return Objects.equals(this.headcount, other.headcount)
+                && this.salarySum.compareTo(other.salarySum) == 0
+                && Objects.equals(this.salaryCount, other.salaryCount)
+                && Objects.equals(this.assistants, other.assistants)
+                && Objects.equals(this.associateProfessors, other.associateProfessors)
+                && Objects.equals(this.professors, other.professors);
+    }
+
+    /**
+     * Overwrites the aggregates with those of another row.
+     *
+     * @param other the row to copy from
+     */
+    public void copyAggregates(DepartmentStats other) {
+        this.headcount = other.headcount;
+        this.salarySum = other.salarySum;
+        this.salaryCount = other.salaryCount;
+        this.assistants = other.assistants;
+        this.associateProfessors = other.associateProfessors;
+        this.professors = other.professors;
+    }
+}
@@ -1,16 +1,25 @@
 package org.example.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.example.annotations.EntityEqualsAndHashCode;
 import org.example.entity.abstracts.UniversityMember;
+import org.example.entity.listener.LectorEntityListener;
 import java.util.Set;
 
 @Entity
 @Table(name = "lectors")
+@SequenceGenerator(
+        name = UniversityMember.ID_GENERATOR,
+        sequenceName = "lectors_id_seq",
+        allocationSize = UniversityMember.ID_ALLOCATION_SIZE
+)
+@EntityListeners(LectorEntityListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -19,7 +28,8 @@ import java.util.Set;
 @ToString(callSuper = true)
 public class Lector extends UniversityMember {
     private Boolean isHeadOfDepartment;
-    @ManyToMany(mappedBy = "employees", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "employees", fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Set<Department> department;
 }
 
@@ -11,8 +11,13 @@ import lombok.*;
 @ToString
 @EqualsAndHashCode
 public abstract class OrganizationalUnit {
+    /** Name of the id generator, declared by each entity with its own sequence. */
+    public static final String ID_GENERATOR = "organizationalUnitId";
+    /** Ids drawn per sequence call; the sequences are incremented by this size. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
     @EqualsAndHashCode.Include
     private Long id;
     @Column(name = "department_name")
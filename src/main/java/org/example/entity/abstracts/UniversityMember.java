@@ -14,8 +14,13 @@ import java.math.BigDecimal;
 @ToString
 @EqualsAndHashCode
 public abstract class UniversityMember {
+    /** Name of the id generator, declared by each entity with its own sequence. */
+    public static final String ID_GENERATOR = "universityMemberId";
+    /** Ids drawn per sequence call; the sequences are incremented by this size. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
     private Long id;
     private String name;
     @Enumerated(EnumType.STRING)
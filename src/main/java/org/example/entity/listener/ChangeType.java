@@ -0,0 +1,10 @@
+package org.example.entity.listener;
+
+/**
+ * Kind of change made to an entity row.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    REMOVED
+}
@@ -0,0 +1,10 @@
+package org.example.entity.listener;
+
+/**
+ * Published after a department row or its employee memberships have been changed through JPA.
+ *
+ * @param id the department id
+ * @param type the kind of change
+ */
+public record DepartmentChangedEvent(Long id, ChangeType type) {
+}
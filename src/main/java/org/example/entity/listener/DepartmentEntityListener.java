@@ -0,0 +1,38 @@
+package org.example.entity.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.entity.Department;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener translating department lifecycle callbacks into {@link DepartmentChangedEvent}s.
+ * Changes of the employee collection alone are reported by {@link DepartmentMembershipListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(Department department) {
+        publish(department, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdated(Department department) {
+        publish(department, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemoved(Department department) {
+        publish(department, ChangeType.REMOVED);
+    }
+
+    private void publish(Department department, ChangeType type) {
+        this.eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId(), type));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.entity.listener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.example.entity.Department;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate collection listener reporting changes of {@link Department#getEmployees()}.
+ * <p>
+ * Adding or removing employees only rewrites {@code department_lector} rows. Hibernate does not invoke the
+ * JPA {@code @PostUpdate} callback of an unversioned owner for such changes, so they are published here
+ * as {@link DepartmentChangedEvent}s of type {@link ChangeType#UPDATED}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentMembershipListener implements
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Registers this listener with the Hibernate event system.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = this.entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        publish(event);
+    }
+
+    private void publish(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof Department department) {
+            this.eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId(), ChangeType.UPDATED));
+        }
+    }
+}
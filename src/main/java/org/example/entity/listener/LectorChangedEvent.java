@@ -0,0 +1,11 @@
+package org.example.entity.listener;
+
+/**
+ * Published after a lector row has been inserted, updated or deleted through JPA.
+ *
+ * @param id the lector id
+ * @param name the current lector name
+ * @param type the kind of change
+ */
+public record LectorChangedEvent(Long id, String name, ChangeType type) {
+}
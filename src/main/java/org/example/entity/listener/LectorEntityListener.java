@@ -0,0 +1,38 @@
+package org.example.entity.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.entity.Lector;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener translating lector lifecycle callbacks into {@link LectorChangedEvent}s.
+ * Hibernate obtains it from the Spring context, so the event publisher is injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectorEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(Lector lector) {
+        publish(lector, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdated(Lector lector) {
+        publish(lector, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemoved(Lector lector) {
+        publish(lector, ChangeType.REMOVED);
+    }
+
+    private void publish(Lector lector, ChangeType type) {
+        this.eventPublisher.publishEvent(new LectorChangedEvent(lector.getId(), lector.getName(), type));
+    }
+}
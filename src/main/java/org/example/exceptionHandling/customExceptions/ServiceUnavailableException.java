@@ -0,0 +1,21 @@
+package org.example.exceptionHandling.customExceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ServiceUnavailableException extends RuntimeException {
+    private final int errorCode;
+    private final String resourceId;
+    private final LocalDateTime timestamp;
+
+    public ServiceUnavailableException(String message, String resourceId) {
+        super(message);
+        this.errorCode = 503;
+        this.resourceId = resourceId;
+        this.timestamp = LocalDateTime.now();
+    }
+}
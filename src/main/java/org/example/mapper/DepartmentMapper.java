@@ -0,0 +1,33 @@
+package org.example.mapper;
+
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.depatrment.DepartmentRequestDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps department entities to the DTOs of {@code org.example.dto.depatrment}.
+ * The implementation is generated at compile time by MapStruct and uses plain getters and setters.
+ */
+@Mapper(uses = LectorMapper.class)
+public interface DepartmentMapper {
+    DepartmentDTO toDto(Department department);
+
+    DepartmentResponseDTO toResponseDto(Department department);
+
+    @Mapping(target = "employeesIds", source = "employees")
+    @Mapping(target = "headOfDepartmentId", source = "headOfDepartment.id")
+    DepartmentRequestDTO toRequestDto(Department department);
+
+    default Set<Long> toEmployeeIds(Set<Lector> employees) {
+        return employees == null ? null : employees.stream()
+                .map(Lector::getId)
+                .collect(Collectors.toSet());
+    }
+}
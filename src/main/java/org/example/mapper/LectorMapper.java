@@ -0,0 +1,36 @@
+package org.example.mapper;
+
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.dto.lector.LectorRequestDTO;
+import org.example.dto.lector.LectorResponseDTO;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps lector entities to the DTOs of {@code org.example.dto.lector}.
+ * The implementation is generated at compile time by MapStruct and uses plain getters and setters.
+ */
+@Mapper
+public interface LectorMapper {
+    LectorDTO toDto(Lector lector);
+
+    @Mapping(target = "departments", source = "department")
+    LectorResponseDTO toResponseDto(Lector lector);
+
+    @Mapping(target = "departmentsId", source = "department")
+    LectorRequestDTO toRequestDto(Lector lector);
+
+    DepartmentDTO toDepartmentDto(Department department);
+
+    default Set<Long> toDepartmentIds(Set<Department> departments) {
+        return departments == null ? null : departments.stream()
+                .map(Department::getId)
+                .collect(Collectors.toSet());
+    }
+}
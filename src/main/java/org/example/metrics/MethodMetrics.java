@@ -0,0 +1,151 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-method latency histograms and call, error and in-flight counters of
+ * {@link org.example.annotations.Loggable} methods, registered in the Micrometer {@link MeterRegistry}.
+ * <p>
+ * Every method gets a {@value #CALLS} timer with p50, p99 and p999 percentiles, a {@value #ERRORS}
+ * counter and a {@value #IN_FLIGHT} gauge, all tagged with {@code class} and {@code method}.
+ * The meters are registered on the first call; later calls only look them up in a concurrent map
+ * and record into lock-free histograms.
+ */
+@Component
+@RequiredArgsConstructor
+public class MethodMetrics {
+    public static final String CALLS = "method.calls";
+    public static final String ERRORS = "method.errors";
+    public static final String IN_FLIGHT = "method.in.flight";
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the meters of a method, registering them on the first call.
+     *
+     * @param method the method
+     * @return the meters of the method
+     */
+    public MethodMeters forMethod(Method method) {
+        MethodMeters methodMeters = this.meters.get(method);
+        return methodMeters != null ? methodMeters : this.meters.computeIfAbsent(method, this::register);
+    }
+
+    /**
+     * Returns the statistics of all methods called so far, ordered by method name.
+     *
+     * @return the method statistics
+     */
+    public List<MethodStats> snapshot() {
+        return this.meters.values()
+                .stream()
+                .map(MethodMeters::stats)
+                .sorted(Comparator.comparing(MethodStats::method))
+                .toList();
+    }
+
+    private MethodMeters register(Method method) {
+        String type = method.getDeclaringClass().getSimpleName();
+        Tags tags = Tags.of("class", type, "method", method.getName());
+        Timer timer = Timer.builder(CALLS)
+                .description("Latency of @Loggable method calls")
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(this.meterRegistry);
+        Counter errors = Counter.builder(ERRORS)
+                .description("Calls of @Loggable methods that threw")
+                .tags(tags)
+                .register(this.meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                .description("Calls of @Loggable methods currently running")
+                .tags(tags)
+                .register(this.meterRegistry);
+        return new MethodMeters(type + "." + method.getName(), timer, errors, inFlight);
+    }
+
+    /**
+     * Meters of one method.
+     */
+    public static final class MethodMeters {
+        private final String name;
+        private final Timer timer;
+        private final Counter errors;
+        private final AtomicInteger inFlight;
+
+        private MethodMeters(String name, Timer timer, Counter errors, AtomicInteger inFlight) {
+            this.name = name;
+            this.timer = timer;
+            this.errors = errors;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Marks the start of a call.
+         *
+         * @return the start time in {@link System#nanoTime()} units
+         */
+        public long start() {
+            this.inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * Marks the end of a call and records its latency.
+         *
+         * @param startNanos the start time returned by {@link #start()}
+         * @param failed whether the call threw
+         * @return the latency of the call in nanoseconds
+         */
+        public long stop(long startNanos, boolean failed) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            this.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (failed) {
+                this.errors.increment();
+            }
+            this.inFlight.decrementAndGet();
+            return elapsedNanos;
+        }
+
+        private MethodStats stats() {
+            HistogramSnapshot snapshot = this.timer.takeSnapshot();
+            double[] percentiles = new double[PERCENTILES.length];
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (value.percentile() == PERCENTILES[i]) {
+                        percentiles[i] = value.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            return new MethodStats(
+                    this.name,
+                    snapshot.count(),
+                    (long) this.errors.count(),
+                    this.inFlight.get(),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    percentiles[0],
+                    percentiles[1],
+                    percentiles[2]
+            );
+        }
+    }
+}
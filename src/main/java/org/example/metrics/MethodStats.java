@@ -0,0 +1,28 @@
+package org.example.metrics;
+
+/**
+ * Latency and call statistics of a {@link org.example.annotations.Loggable} method.
+ * Latencies are in milliseconds; percentiles cover the recent time window of the timer.
+ *
+ * @param method the method, as {@code Type.method}
+ * @param calls the number of completed calls
+ * @param errors the number of calls that threw
+ * @param inFlight the number of calls currently running
+ * @param meanMillis the mean latency
+ * @param maxMillis the maximum latency in the recent time window
+ * @param p50Millis the median latency
+ * @param p99Millis the 99th percentile latency
+ * @param p999Millis the 99.9th percentile latency
+ */
+public record MethodStats(
+        String method,
+        long calls,
+        long errors,
+        int inFlight,
+        double meanMillis,
+        double maxMillis,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis
+) {
+}
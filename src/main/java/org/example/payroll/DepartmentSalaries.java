@@ -0,0 +1,19 @@
+package org.example.payroll;
+
+import org.example.enums.Degree;
+
+import java.util.EnumMap;
+
+/**
+ * The salary distribution of a department, over all its lectors with a salary and per degree.
+ *
+ * @param departmentName the name of the department
+ * @param all the distribution over all salaries, {@code null} if no lector has a salary
+ * @param byDegree the distributions per degree, without entries for degrees nobody with a salary holds
+ */
+public record DepartmentSalaries(
+        String departmentName,
+        SalaryDistribution all,
+        EnumMap<Degree, SalaryDistribution> byDegree
+) {
+}
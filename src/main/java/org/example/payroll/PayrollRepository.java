@@ -0,0 +1,104 @@
+package org.example.payroll;
+
+import org.example.enums.Degree;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Loads lector salaries into a {@link SalaryTable} without materializing entities or {@code BigDecimal}s.
+ * <p>
+ * Salaries are read as whole cents, which is exact for the {@code NUMERIC(15, 2)} salary column, and degrees
+ * as their ordinals. Rows arrive ordered by department, so each department name is read once. Lectors
+ * without a salary are skipped.
+ */
+@Repository
+public class PayrollRepository {
+    static final int FETCH_SIZE = 1000;
+
+    private static final String SALARIES_QUERY = """
+            SELECT d.id, d.department_name,
+                   CAST(l.salary * 100 AS BIGINT) AS salary_cents,
+                   CASE l.degree %s ELSE %d END AS degree_ordinal
+            FROM departments d
+            JOIN department_lector dl ON dl.department_id = d.id
+            JOIN lectors l ON l.id = dl.lector_id
+            WHERE l.salary IS NOT NULL
+            """.formatted(
+            Arrays.stream(Degree.values())
+                    .map(degree -> "WHEN '" + degree.name() + "' THEN " + degree.ordinal())
+                    .collect(Collectors.joining(" ")),
+            SalaryTable.NO_DEGREE
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayrollRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Loads the salaries of one department.
+     *
+     * @param departmentId the id of the department
+     * @param departmentName the name of the department
+     * @return a table with the department as its only group, which is empty if no lector has a salary
+     */
+    public SalaryTable loadDepartment(long departmentId, String departmentName) {
+        SalaryTable.Builder builder = new SalaryTable.Builder().department(departmentId, departmentName);
+        this.jdbcTemplate.query(
+                SALARIES_QUERY + "AND d.id = ?",
+                resultSet -> {
+                    builder.salary(resultSet.getLong(3), resultSet.getInt(4));
+                },
+                departmentId
+        );
+        return builder.build();
+    }
+
+    /**
+     * Loads the salaries of every department with at least one salaried lector, ordered by department id.
+     *
+     * @return the salaries of all departments
+     */
+    public SalaryTable loadAll() {
+        return loadGrouped(SALARIES_QUERY + "ORDER BY d.id");
+    }
+
+    /**
+     * Loads the salaries of the departments with ids from {@code fromId} to {@code toId} that have at least
+     * one salaried lector, ordered by department id.
+     *
+     * @param fromId the lowest department id, inclusive
+     * @param toId the highest department id, inclusive
+     * @return the salaries of the departments in the range
+     */
+    public SalaryTable loadRange(long fromId, long toId) {
+        return loadGrouped(SALARIES_QUERY + "AND d.id BETWEEN ? AND ? ORDER BY d.id", fromId, toId);
+    }
+
+    private SalaryTable loadGrouped(String sql, Object... args) {
+        SalaryTable.Builder builder = new SalaryTable.Builder();
+        this.jdbcTemplate.query(sql, new RowCallbackHandler() {
+            private long currentDepartmentId = -1;
+
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                long departmentId = resultSet.getLong(1);
+                if (departmentId != this.currentDepartmentId) {
+                    builder.department(departmentId, resultSet.getString(2));
+                    this.currentDepartmentId = departmentId;
+                }
+                builder.salary(resultSet.getLong(3), resultSet.getInt(4));
+            }
+        }, args);
+        return builder.build();
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Salary statistics of a group of lectors, in cents.
+ * Percentiles use the nearest-rank method, the median of an even count is the rounded mean of the middle two.
+ *
+ * @param count the number of salaries
+ * @param minCents the lowest salary
+ * @param p25Cents the 25th percentile
+ * @param medianCents the median
+ * @param p75Cents the 75th percentile
+ * @param p90Cents the 90th percentile
+ * @param p99Cents the 99th percentile
+ * @param maxCents the highest salary
+ * @param averageCents the mean salary, rounded half up
+ */
+public record SalaryDistribution(
+        int count,
+        long minCents,
+        long p25Cents,
+        long medianCents,
+        long p75Cents,
+        long p90Cents,
+        long p99Cents,
+        long maxCents,
+        long averageCents
+) {
+
+    /**
+     * Converts cents to an amount with two decimal places.
+     *
+     * @param cents the cents
+     * @return the amount
+     */
+    public static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
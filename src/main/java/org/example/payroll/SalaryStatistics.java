@@ -0,0 +1,129 @@
+package org.example.payroll;
+
+import org.example.enums.Degree;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes salary distributions from a {@link SalaryTable} with primitive arithmetic.
+ * <p>
+ * A department is summarized by copying its salaries into a scratch array and sorting it, so the minimum,
+ * maximum, median and percentiles are read by index. The per-degree breakdown sorts salaries keyed by degree
+ * in the high bits, which puts each degree in a sorted run of its own. The scratch array is allocated once
+ * for all departments; only the resulting records are allocated per department.
+ */
+public final class SalaryStatistics {
+    private static final int DEGREE_SHIFT = 52;
+    /** The highest salary in cents that fits beside the degree in a sort key. */
+    static final long MAX_CENTS = (1L << DEGREE_SHIFT) - 1;
+    private static final Degree[] DEGREES = Degree.values();
+
+    private SalaryStatistics() {
+    }
+
+    /**
+     * Summarizes every department of the table.
+     *
+     * @param table the salaries
+     * @return the salary distributions by department name, in table order
+     */
+    public static Map<String, DepartmentSalaries> summarizeAll(SalaryTable table) {
+        long[] scratch = new long[table.largestDepartment()];
+        Map<String, DepartmentSalaries> distributions = new LinkedHashMap<>();
+        for (int department = 0; department < table.departments(); department++) {
+            distributions.put(table.departmentName(department), summarize(table, department, scratch));
+        }
+        return distributions;
+    }
+
+    /**
+     * Summarizes one department of the table with a scratch array of its own.
+     *
+     * @param table the salaries
+     * @param department the index of the department
+     * @return the salary distribution of the department
+     */
+    public static DepartmentSalaries summarize(SalaryTable table, int department) {
+        return summarize(table, department, new long[table.size(department)]);
+    }
+
+    /**
+     * Summarizes one department of the table.
+     *
+     * @param table the salaries
+     * @param department the index of the department
+     * @param scratch an array at least as long as the department's salaries
+     * @return the salary distribution of the department
+     */
+    public static DepartmentSalaries summarize(SalaryTable table, int department, long[] scratch) {
+        int from = table.from(department);
+        int to = table.to(department);
+        int count = to - from;
+        EnumMap<Degree, SalaryDistribution> byDegree = new EnumMap<>(Degree.class);
+        if (count == 0) {
+            return new DepartmentSalaries(table.departmentName(department), null, byDegree);
+        }
+        for (int i = 0; i < count; i++) {
+            scratch[i] = table.cents(from + i);
+        }
+        Arrays.sort(scratch, 0, count);
+        SalaryDistribution all = distribution(scratch, 0, count, MAX_CENTS);
+
+        int keyed = 0;
+        for (int i = from; i < to; i++) {
+            byte degree = table.degree(i);
+            if (degree != SalaryTable.NO_DEGREE) {
+                scratch[keyed++] = ((long) degree << DEGREE_SHIFT) | table.cents(i);
+            }
+        }
+        Arrays.sort(scratch, 0, keyed);
+        int runStart = 0;
+        while (runStart < keyed) {
+            int degree = (int) (scratch[runStart] >>> DEGREE_SHIFT);
+            int runEnd = runStart + 1;
+            while (runEnd < keyed && (int) (scratch[runEnd] >>> DEGREE_SHIFT) == degree) {
+                runEnd++;
+            }
+            byDegree.put(DEGREES[degree], distribution(scratch, runStart, runEnd, MAX_CENTS));
+            runStart = runEnd;
+        }
+        return new DepartmentSalaries(table.departmentName(department), all, byDegree);
+    }
+
+    /**
+     * Computes the distribution of a sorted, non-empty run, reading each value through the mask.
+     */
+    private static SalaryDistribution distribution(long[] sorted, int from, int to, long mask) {
+        int count = to - from;
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum = Math.addExact(sum, sorted[i] & mask);
+        }
+        int middle = from + count / 2;
+        long median = count % 2 == 1
+                ? sorted[middle] & mask
+                : ((sorted[middle - 1] & mask) + (sorted[middle] & mask) + 1) / 2;
+        return new SalaryDistribution(
+                count,
+                sorted[from] & mask,
+                percentile(sorted, from, count, 25, mask),
+                median,
+                percentile(sorted, from, count, 75, mask),
+                percentile(sorted, from, count, 90, mask),
+                percentile(sorted, from, count, 99, mask),
+                sorted[to - 1] & mask,
+                sum / count + (2 * (sum % count) >= count ? 1 : 0)
+        );
+    }
+
+    /**
+     * Returns the nearest-rank percentile of a sorted run.
+     */
+    private static long percentile(long[] sorted, int from, int count, int percent, long mask) {
+        int rank = (percent * count + 99) / 100;
+        return sorted[from + Math.max(rank, 1) - 1] & mask;
+    }
+}
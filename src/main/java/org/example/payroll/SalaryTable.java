@@ -0,0 +1,143 @@
+package org.example.payroll;
+
+import java.util.Arrays;
+
+/**
+ * Salaries of lectors grouped by department, in primitive arrays.
+ * <p>
+ * The salaries of department {@code i} are {@code cents[offsets[i]]} to {@code cents[offsets[i + 1] - 1]},
+ * with the ordinal of the lector's degree, or {@link #NO_DEGREE}, at the same index of {@code degrees}.
+ * A lector working in two departments appears in both.
+ */
+public final class SalaryTable {
+    static final byte NO_DEGREE = -1;
+
+    private final long[] departmentIds;
+    private final String[] departmentNames;
+    private final int[] offsets;
+    private final long[] cents;
+    private final byte[] degrees;
+
+    private SalaryTable(long[] departmentIds, String[] departmentNames, int[] offsets, long[] cents, byte[] degrees) {
+        this.departmentIds = departmentIds;
+        this.departmentNames = departmentNames;
+        this.offsets = offsets;
+        this.cents = cents;
+        this.degrees = degrees;
+    }
+
+    public int departments() {
+        return this.departmentNames.length;
+    }
+
+    public long departmentId(int department) {
+        return this.departmentIds[department];
+    }
+
+    public String departmentName(int department) {
+        return this.departmentNames[department];
+    }
+
+    /**
+     * Returns the number of salaries of a department.
+     *
+     * @param department the index of the department
+     * @return the number of salaries
+     */
+    public int size(int department) {
+        return to(department) - from(department);
+    }
+
+    int from(int department) {
+        return this.offsets[department];
+    }
+
+    int to(int department) {
+        return this.offsets[department + 1];
+    }
+
+    long cents(int index) {
+        return this.cents[index];
+    }
+
+    byte degree(int index) {
+        return this.degrees[index];
+    }
+
+    /**
+     * Returns the number of salaries of the largest department.
+     *
+     * @return the largest department size
+     */
+    int largestDepartment() {
+        int largest = 0;
+        for (int i = 0; i < departments(); i++) {
+            largest = Math.max(largest, size(i));
+        }
+        return largest;
+    }
+
+    /**
+     * Collects salaries department by department. All salaries of a department are added in a row.
+     */
+    public static final class Builder {
+        private long[] departmentIds = new long[16];
+        private String[] departmentNames = new String[16];
+        private int[] offsets = new int[17];
+        private long[] cents = new long[256];
+        private byte[] degrees = new byte[256];
+        private int departments;
+        private int size;
+
+        /**
+         * Starts the salaries of the next department.
+         *
+         * @param departmentId the id of the department
+         * @param departmentName the name of the department
+         * @return this builder
+         */
+        public Builder department(long departmentId, String departmentName) {
+            if (this.departments == this.departmentNames.length) {
+                this.departmentIds = Arrays.copyOf(this.departmentIds, this.departments * 2);
+                this.departmentNames = Arrays.copyOf(this.departmentNames, this.departments * 2);
+                this.offsets = Arrays.copyOf(this.offsets, this.departments * 2 + 1);
+            }
+            this.departmentIds[this.departments] = departmentId;
+            this.departmentNames[this.departments++] = departmentName;
+            this.offsets[this.departments] = this.size;
+            return this;
+        }
+
+        /**
+         * Adds a salary to the current department.
+         *
+         * @param cents the salary in cents, at least zero
+         * @param degreeOrdinal the ordinal of the lector's degree, or {@link #NO_DEGREE}
+         * @return this builder
+         */
+        public Builder salary(long cents, int degreeOrdinal) {
+            if (cents < 0 || cents > SalaryStatistics.MAX_CENTS) {
+                throw new IllegalArgumentException("Salary out of range: " + cents + " cents");
+            }
+            if (this.size == this.cents.length) {
+                this.cents = Arrays.copyOf(this.cents, this.size * 2);
+                this.degrees = Arrays.copyOf(this.degrees, this.size * 2);
+            }
+            this.cents[this.size] = cents;
+            this.degrees[this.size] = (byte) degreeOrdinal;
+            this.size++;
+            this.offsets[this.departments] = this.size;
+            return this;
+        }
+
+        public SalaryTable build() {
+            return new SalaryTable(
+                    Arrays.copyOf(this.departmentIds, this.departments),
+                    Arrays.copyOf(this.departmentNames, this.departments),
+                    Arrays.copyOf(this.offsets, this.departments + 1),
+                    Arrays.copyOf(this.cents, this.size),
+                    Arrays.copyOf(this.degrees, this.size)
+            );
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the read-only transactions of the current thread to the primary for the duration of a call.
+ * <p>
+ * Used for reads that fill caches, which would otherwise keep a lagging replica's answer for their whole
+ * time to live. The routing is decided when a transaction runs its first statement, so the call has to
+ * start before it. Without replicas this has no effect.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs a read with the read-only transactions of this thread on the primary.
+     *
+     * @param read the read
+     * @param <T> the type of the result
+     * @return the result of the read
+     */
+    public static <T> T call(Supplier<T> read) {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REQUESTED.remove();
+            } else {
+                REQUESTED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the current thread runs inside {@link #call(Supplier)}.
+     *
+     * @return {@code true} if reads of this thread go to the primary
+     */
+    static boolean requested() {
+        return REQUESTED.get() != null;
+    }
+}
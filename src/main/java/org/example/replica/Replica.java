@@ -0,0 +1,61 @@
+package org.example.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica pool with the outcome of its last health check.
+ * A replica starts unhealthy and takes reads once a health check has passed.
+ */
+public final class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public DataSource dataSource() {
+        return this.dataSource;
+    }
+
+    public boolean healthy() {
+        return this.healthy;
+    }
+
+    /**
+     * Returns the replication lag measured by the last health check.
+     *
+     * @return the lag in seconds, {@code NaN} if the last check failed
+     */
+    public double lagSeconds() {
+        return this.lagSeconds;
+    }
+
+    /**
+     * Returns the connections in use, {@code 0} for pools that are not Hikari pools or not started yet.
+     *
+     * @return the active connections
+     */
+    int activeConnections() {
+        if (this.dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    void update(boolean healthy, double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source of read-only transactions, handing out connections of the healthy replicas.
+ * <p>
+ * A replica is healthy while its lag query succeeds and reports at most {@code maxLag} seconds of lag.
+ * Among the healthy replicas one is picked by the {@link ReplicaSelection}. When no replica is healthy,
+ * or the picked replica fails to hand out a connection, the connection comes from the primary and the
+ * replica is marked unhealthy until its next passing health check.
+ * <p>
+ * Reads right after a write go to the primary as well, so a client does not miss its own change on a replica
+ * that has not replayed it yet: every committed read-write transaction sends all read-only transactions to
+ * the primary for the following {@code readAfterWrite}, which should cover {@code maxLag}. Registered as a
+ * {@link TransactionExecutionListener}, the data source sees the commits of the application's transaction
+ * manager. Reads inside {@link PrimaryReads#call} always go to the primary.
+ * <p>
+ * Publishes the {@code datasource.replica.lag} and {@code datasource.replica.healthy} gauges tagged with
+ * the replica name.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements TransactionExecutionListener, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long readAfterWriteNanos;
+    private volatile long primaryReadsUntil = System.nanoTime();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaDataSource(
+            DataSource primary,
+            List<Replica> replicas,
+            ReplicaSelection selection,
+            String lagQuery,
+            Duration maxLag,
+            Duration readAfterWrite
+    ) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toNanos() / 1_000_000_000.0;
+        this.readAfterWriteNanos = readAfterWrite.toNanos();
+    }
+
+    /**
+     * Runs the health checks in the background, the first one right away.
+     *
+     * @param interval the delay between two rounds of health checks
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (this.healthChecks == null) {
+            this.healthChecks = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("replica-health").daemon().factory()
+            );
+            this.healthChecks.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs the lag query on every replica and updates its health.
+     */
+    public void checkHealth() {
+        for (Replica replica : this.replicas) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                boolean healthy = lagSeconds <= this.maxLagSeconds;
+                if (replica.healthy() && !healthy) {
+                    logger.warn("Replica {} lags {} s behind the primary, reads go elsewhere", replica.name(), lagSeconds);
+                }
+                replica.update(healthy, lagSeconds);
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    /**
+     * Returns a connection of a healthy replica, or of the primary if there is none, inside
+     * {@link PrimaryReads#call} or shortly after a write.
+     *
+     * @return the connection
+     * @throws SQLException if the primary fails to hand out a connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = PrimaryReads.requested() || System.nanoTime() - this.primaryReadsUntil < 0
+                ? null
+                : select();
+        if (replica != null) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return this.primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the credentials of their pools");
+    }
+
+    /**
+     * Sends the reads of the next {@code readAfterWrite} to the primary after a read-write transaction
+     * committed.
+     *
+     * @param transaction the committed transaction
+     * @param commitFailure the failure of the commit, {@code null} if it succeeded
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            this.primaryReadsUntil = System.nanoTime() + this.readAfterWriteNanos;
+        }
+    }
+
+    /**
+     * Registers the lag and health gauges of the replicas.
+     *
+     * @param registry the meter registry
+     */
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.lag", replica, Replica::lagSeconds)
+                    .description("Replication lag measured by the last health check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy() ? 1 : 0)
+                    .description("Whether the replica takes read-only transactions")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+    }
+
+    public List<Replica> replicas() {
+        return this.replicas;
+    }
+
+    /**
+     * Stops the health checks and closes the replica pools.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.healthChecks != null) {
+            this.healthChecks.shutdownNow();
+            this.healthChecks = null;
+        }
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource() instanceof Closeable pool) {
+                try {
+                    pool.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close replica {}", replica.name(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks a healthy replica.
+     *
+     * @return the replica, or {@code null} if no replica is healthy
+     */
+    Replica select() {
+        return this.selection == ReplicaSelection.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+    }
+
+    private Replica roundRobin() {
+        int size = this.replicas.size();
+        int start = Math.floorMod(this.nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = this.replicas.get((start + i) % size);
+            if (replica.healthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnections() {
+        Replica selected = null;
+        int fewest = Integer.MAX_VALUE;
+        for (Replica replica : this.replicas) {
+            if (replica.healthy()) {
+                int active = replica.activeConnections();
+                if (active < fewest) {
+                    selected = replica;
+                    fewest = active;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private void markDown(Replica replica, Exception e) {
+        if (replica.healthy()) {
+            logger.warn("Replica {} is unavailable, reads go elsewhere: {}", replica.name(), e.getMessage());
+        }
+        replica.update(false, Double.NaN);
+    }
+}
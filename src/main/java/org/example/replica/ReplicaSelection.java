@@ -0,0 +1,11 @@
+package org.example.replica;
+
+/**
+ * How {@link ReplicaDataSource} picks among the healthy replicas.
+ */
+public enum ReplicaSelection {
+    /** Each replica in turn. */
+    ROUND_ROBIN,
+    /** The replica with the fewest connections in use. */
+    LEAST_CONNECTIONS
+}
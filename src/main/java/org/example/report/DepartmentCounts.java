@@ -0,0 +1,15 @@
+package org.example.report;
+
+/**
+ * A department with its head and the counts of its statistics row, as read for the report.
+ */
+record DepartmentCounts(
+        long id,
+        String name,
+        String headOfDepartmentName,
+        long headcount,
+        long assistants,
+        long associateProfessors,
+        long professors
+) {
+}
@@ -0,0 +1,61 @@
+package org.example.report;
+
+import org.example.service.DepartmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes the all-departments report of {@link DepartmentService#allDepartmentsReport} to a file, row by row.
+ * The format follows the file extension, see {@link ReportFormat#forFile(Path)}.
+ */
+@Component
+public class DepartmentReportExporter {
+    private final DepartmentService departmentService;
+    private final Path exportFile;
+
+    @Autowired
+    public DepartmentReportExporter(
+            DepartmentService departmentService,
+            @Value("${report.export-file:departments-report.csv}") Path exportFile
+    ) {
+        this.departmentService = departmentService;
+        this.exportFile = exportFile;
+    }
+
+    /**
+     * Writes the report to the {@code report.export-file}.
+     *
+     * @return the file, format, department count and elapsed time
+     */
+    public ReportExport export() {
+        return export(this.exportFile);
+    }
+
+    /**
+     * Writes the report to a file, replacing its content.
+     *
+     * @param file the file to write
+     * @return the file, format, department count and elapsed time
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public ReportExport export(Path file) {
+        long startNanos = System.nanoTime();
+        ReportFormat format = ReportFormat.forFile(file);
+        int departments;
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            DepartmentReportWriter reportWriter = new DepartmentReportWriter(format, writer);
+            departments = this.departmentService.allDepartmentsReport(reportWriter);
+            reportWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write report " + file, e);
+        }
+        return new ReportExport(file, format, departments, System.nanoTime() - startNanos);
+    }
+}
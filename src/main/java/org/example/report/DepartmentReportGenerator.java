@@ -0,0 +1,162 @@
+package org.example.report;
+
+import org.example.payroll.PayrollRepository;
+import org.example.payroll.SalaryDistribution;
+import org.example.payroll.SalaryStatistics;
+import org.example.payroll.SalaryTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Produces the report rows of all departments in chunks of {@code report.chunk-size} departments.
+ * <p>
+ * Every chunk costs two set-based queries: a keyset page of departments joined with their heads and
+ * statistics rows, and the salaries of the departments in the id range of the page. The salary aggregates
+ * of the chunk are then computed in parallel on the common {@link ForkJoinPool}, and its rows are handed to
+ * the consumer in department id order before the next chunk is read. At most one chunk is held in memory.
+ * <p>
+ * The generator runs its queries in the caller's transaction.
+ */
+@Component
+public class DepartmentReportGenerator {
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private final DepartmentReportRepository departmentReportRepository;
+    private final PayrollRepository payrollRepository;
+    private final int chunkSize;
+
+    @Autowired
+    public DepartmentReportGenerator(
+            DepartmentReportRepository departmentReportRepository,
+            PayrollRepository payrollRepository,
+            @Value("${report.chunk-size:1000}") int chunkSize
+    ) {
+        this.departmentReportRepository = departmentReportRepository;
+        this.payrollRepository = payrollRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Generates the rows of all departments.
+     *
+     * @param consumer receives the rows in department id order
+     * @return the number of departments reported
+     */
+    public int generate(Consumer<DepartmentReportRow> consumer) {
+        int departments = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<DepartmentCounts> page = this.departmentReportRepository.findPage(afterId, this.chunkSize);
+            if (page.isEmpty()) {
+                return departments;
+            }
+            SalaryTable salaries = this.payrollRepository.loadRange(page.getFirst().id(), page.getLast().id());
+            DepartmentReportRow[] rows = new DepartmentReportRow[page.size()];
+            int[] groups = salaryGroups(page, salaries);
+            ForkJoinPool.commonPool().invoke(new ChunkTask(page, salaries, groups, rows, 0, rows.length));
+            for (DepartmentReportRow row : rows) {
+                consumer.accept(row);
+            }
+            departments += rows.length;
+            if (page.size() < this.chunkSize) {
+                return departments;
+            }
+            afterId = page.getLast().id();
+        }
+    }
+
+    /**
+     * Maps every department of the page to its group in the salary table, both being ordered by id.
+     *
+     * @return the group index per page index, or {@code -1} for departments without salaries
+     */
+    private static int[] salaryGroups(List<DepartmentCounts> page, SalaryTable salaries) {
+        int[] groups = new int[page.size()];
+        int group = 0;
+        for (int i = 0; i < groups.length; i++) {
+            long id = page.get(i).id();
+            while (group < salaries.departments() && salaries.departmentId(group) < id) {
+                group++;
+            }
+            groups[i] = group < salaries.departments() && salaries.departmentId(group) == id ? group : -1;
+        }
+        return groups;
+    }
+
+    /**
+     * Computes the rows of a range of a chunk, splitting ranges larger than {@value #PARALLEL_THRESHOLD}
+     * departments. Every leaf sorts salaries in one scratch array of its own.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private final List<DepartmentCounts> page;
+        private final SalaryTable salaries;
+        private final int[] groups;
+        private final DepartmentReportRow[] rows;
+        private final int from;
+        private final int to;
+
+        ChunkTask(
+                List<DepartmentCounts> page,
+                SalaryTable salaries,
+                int[] groups,
+                DepartmentReportRow[] rows,
+                int from,
+                int to
+        ) {
+            this.page = page;
+            this.salaries = salaries;
+            this.groups = groups;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > PARALLEL_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new ChunkTask(this.page, this.salaries, this.groups, this.rows, this.from, middle),
+                        new ChunkTask(this.page, this.salaries, this.groups, this.rows, middle, this.to)
+                );
+                return;
+            }
+            int largest = 0;
+            for (int i = this.from; i < this.to; i++) {
+                if (this.groups[i] >= 0) {
+                    largest = Math.max(largest, this.salaries.size(this.groups[i]));
+                }
+            }
+            long[] scratch = new long[largest];
+            for (int i = this.from; i < this.to; i++) {
+                DepartmentCounts counts = this.page.get(i);
+                SalaryDistribution distribution = this.groups[i] < 0
+                        ? null
+                        : SalaryStatistics.summarize(this.salaries, this.groups[i], scratch).all();
+                this.rows[i] = row(counts, distribution);
+            }
+        }
+
+        private static DepartmentReportRow row(DepartmentCounts counts, SalaryDistribution distribution) {
+            return new DepartmentReportRow(
+                    counts.id(),
+                    counts.name(),
+                    counts.headOfDepartmentName(),
+                    counts.headcount(),
+                    counts.assistants(),
+                    counts.associateProfessors(),
+                    counts.professors(),
+                    distribution == null ? null : SalaryDistribution.amount(distribution.minCents()),
+                    distribution == null ? null : SalaryDistribution.amount(distribution.averageCents()),
+                    distribution == null ? null : SalaryDistribution.amount(distribution.medianCents()),
+                    distribution == null ? null : SalaryDistribution.amount(distribution.maxCents())
+            );
+        }
+    }
+}
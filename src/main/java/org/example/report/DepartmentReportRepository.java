@@ -0,0 +1,59 @@
+package org.example.report;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Reads departments for the report in keyset pages, each with one query joining the head and the
+ * trigger-maintained {@code department_stats} row.
+ */
+@Repository
+public class DepartmentReportRepository {
+    static final int FETCH_SIZE = 1000;
+
+    private static final String PAGE_QUERY = """
+            SELECT d.id, d.department_name, h.name,
+                   COALESCE(s.headcount, 0), COALESCE(s.assistants, 0),
+                   COALESCE(s.associate_professors, 0), COALESCE(s.professors, 0)
+            FROM departments d
+            LEFT JOIN lectors h ON h.id = d.head_of_department_id
+            LEFT JOIN department_stats s ON s.department_id = d.id
+            WHERE d.id > ?
+            ORDER BY d.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DepartmentReportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Reads the next page of departments in id order.
+     *
+     * @param afterId the id of the last department of the previous page
+     * @param limit the maximum number of departments
+     * @return the departments with ids greater than {@code afterId}
+     */
+    List<DepartmentCounts> findPage(long afterId, int limit) {
+        return this.jdbcTemplate.query(
+                PAGE_QUERY,
+                (resultSet, rowNum) -> new DepartmentCounts(
+                        resultSet.getLong(1),
+                        resultSet.getString(2),
+                        resultSet.getString(3),
+                        resultSet.getLong(4),
+                        resultSet.getLong(5),
+                        resultSet.getLong(6),
+                        resultSet.getLong(7)
+                ),
+                afterId,
+                limit
+        );
+    }
+}
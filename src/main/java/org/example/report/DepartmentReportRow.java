@@ -0,0 +1,33 @@
+package org.example.report;
+
+import java.math.BigDecimal;
+
+/**
+ * One department of the all-departments report.
+ *
+ * @param departmentId the id of the department
+ * @param departmentName the name of the department
+ * @param headOfDepartmentName the name of the head, {@code null} if the department has none
+ * @param headcount the number of lectors
+ * @param assistants the number of assistants
+ * @param associateProfessors the number of associate professors
+ * @param professors the number of professors
+ * @param minSalary the lowest salary, {@code null} if no lector has a salary
+ * @param averageSalary the average salary rounded half up to cents, {@code null} if no lector has a salary
+ * @param medianSalary the median salary, {@code null} if no lector has a salary
+ * @param maxSalary the highest salary, {@code null} if no lector has a salary
+ */
+public record DepartmentReportRow(
+        long departmentId,
+        String departmentName,
+        String headOfDepartmentName,
+        long headcount,
+        long assistants,
+        long associateProfessors,
+        long professors,
+        BigDecimal minSalary,
+        BigDecimal averageSalary,
+        BigDecimal medianSalary,
+        BigDecimal maxSalary
+) {
+}
@@ -0,0 +1,144 @@
+package org.example.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+/**
+ * Writes report rows to a character stream as they arrive, as CSV with a header line or as a JSON array.
+ * Nothing but the current row is buffered beyond the target writer. {@link #finish()} completes the
+ * document and flushes it, the target stays open.
+ */
+public final class DepartmentReportWriter implements Consumer<DepartmentReportRow> {
+    static final String CSV_HEADER = "department_id,department_name,head_of_department,headcount,assistants,"
+            + "associate_professors,professors,min_salary,average_salary,median_salary,max_salary";
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    /**
+     * Starts a report document.
+     *
+     * @param format the output format
+     * @param writer the target
+     */
+    public DepartmentReportWriter(ReportFormat format, Writer writer) {
+        this.writer = writer;
+        try {
+            if (format == ReportFormat.JSON) {
+                this.json = JSON_FACTORY.createGenerator(writer);
+                this.json.writeStartArray();
+            } else {
+                this.json = null;
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write report", e);
+        }
+    }
+
+    /**
+     * Writes one row.
+     *
+     * @param row the row
+     */
+    @Override
+    public void accept(DepartmentReportRow row) {
+        try {
+            if (this.json != null) {
+                writeJson(row);
+            } else {
+                writeCsv(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write report", e);
+        }
+    }
+
+    /**
+     * Completes the document and flushes it to the target.
+     */
+    public void finish() {
+        try {
+            if (this.json != null) {
+                this.json.writeEndArray();
+                this.json.close();
+            }
+            this.writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write report", e);
+        }
+    }
+
+    private void writeJson(DepartmentReportRow row) throws IOException {
+        this.json.writeStartObject();
+        this.json.writeNumberField("departmentId", row.departmentId());
+        this.json.writeStringField("departmentName", row.departmentName());
+        this.json.writeStringField("headOfDepartmentName", row.headOfDepartmentName());
+        this.json.writeNumberField("headcount", row.headcount());
+        this.json.writeNumberField("assistants", row.assistants());
+        this.json.writeNumberField("associateProfessors", row.associateProfessors());
+        this.json.writeNumberField("professors", row.professors());
+        this.json.writeNumberField("minSalary", row.minSalary());
+        this.json.writeNumberField("averageSalary", row.averageSalary());
+        this.json.writeNumberField("medianSalary", row.medianSalary());
+        this.json.writeNumberField("maxSalary", row.maxSalary());
+        this.json.writeEndObject();
+    }
+
+    private void writeCsv(DepartmentReportRow row) throws IOException {
+        this.writer.write(Long.toString(row.departmentId()));
+        this.writer.write(',');
+        writeCsvText(row.departmentName());
+        this.writer.write(',');
+        writeCsvText(row.headOfDepartmentName());
+        this.writer.write(',');
+        this.writer.write(Long.toString(row.headcount()));
+        this.writer.write(',');
+        this.writer.write(Long.toString(row.assistants()));
+        this.writer.write(',');
+        this.writer.write(Long.toString(row.associateProfessors()));
+        this.writer.write(',');
+        this.writer.write(Long.toString(row.professors()));
+        this.writer.write(',');
+        writeCsvAmount(row.minSalary());
+        this.writer.write(',');
+        writeCsvAmount(row.averageSalary());
+        this.writer.write(',');
+        writeCsvAmount(row.medianSalary());
+        this.writer.write(',');
+        writeCsvAmount(row.maxSalary());
+        this.writer.write('\n');
+    }
+
+    private void writeCsvText(String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        boolean quoted = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quoted) {
+            this.writer.write(text);
+            return;
+        }
+        this.writer.write('"');
+        this.writer.write(text.replace("\"", "\"\""));
+        this.writer.write('"');
+    }
+
+    private void writeCsvAmount(BigDecimal amount) throws IOException {
+        if (amount != null) {
+            this.writer.write(amount.toPlainString());
+        }
+    }
+}
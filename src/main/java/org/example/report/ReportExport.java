@@ -0,0 +1,14 @@
+package org.example.report;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of writing the all-departments report to a file.
+ *
+ * @param file the file written
+ * @param format the format of the file
+ * @param departments the number of departments reported
+ * @param elapsedNanos the time taken to query, compute and write the report
+ */
+public record ReportExport(Path file, ReportFormat format, int departments, long elapsedNanos) {
+}
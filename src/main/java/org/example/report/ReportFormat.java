@@ -0,0 +1,32 @@
+package org.example.report;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The output formats of the all-departments report.
+ */
+public enum ReportFormat {
+    CSV("text/csv"),
+    JSON("application/json");
+
+    private final String contentType;
+
+    ReportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return this.contentType;
+    }
+
+    /**
+     * Picks the format from the extension of a file, {@link #JSON} for {@code .json} and {@link #CSV} otherwise.
+     *
+     * @param file the file to write the report to
+     * @return the format
+     */
+    public static ReportFormat forFile(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+    }
+}
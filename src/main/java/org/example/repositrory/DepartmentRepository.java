@@ -1,14 +1,63 @@
 package org.example.repositrory;
 
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.depatrment.DepartmentSummary;
 import org.example.entity.Department;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     @Query("SELECT d FROM Department d WHERE d.departmentName = :departmentName")
     Optional<Department> findByDepartmentName(String departmentName);
+
+    @EntityGraph(Department.WITH_HEAD)
+    Optional<Department> findWithHeadByDepartmentName(String departmentName);
+
+    @EntityGraph(Department.WITH_EMPLOYEES)
+    Optional<Department> findWithEmployeesByDepartmentName(String departmentName);
+
+    @EntityGraph(Department.WITH_HEAD_AND_EMPLOYEES)
+    Optional<Department> findWithHeadAndEmployeesByDepartmentName(String departmentName);
+
+    @Query("""
+            SELECT new org.example.dto.depatrment.DepartmentSummary(
+                d.id, d.departmentName, h.id, h.name, CAST(COALESCE(s.headcount, 0) AS Integer)
+            )
+            FROM Department d LEFT JOIN d.headOfDepartment h
+            LEFT JOIN DepartmentStats s ON s.departmentId = d.id
+            WHERE d.departmentName = :departmentName
+            """)
+    Optional<DepartmentSummary> findSummaryByDepartmentName(@Param("departmentName") String departmentName);
+
+    @Query("""
+            SELECT new org.example.dto.depatrment.DepartmentSummary(
+                d.id, d.departmentName, h.id, h.name, CAST(COALESCE(s.headcount, 0) AS Integer)
+            )
+            FROM Department d LEFT JOIN d.headOfDepartment h
+            LEFT JOIN DepartmentStats s ON s.departmentId = d.id
+            WHERE d.departmentName IN :departmentNames
+            """)
+    List<DepartmentSummary> findSummariesByDepartmentNameIn(
+            @Param("departmentNames") Collection<String> departmentNames
+    );
+
+    @Query("""
+            SELECT new org.example.dto.depatrment.DepartmentDTO(d.id, d.departmentName) FROM Department d
+            WHERE d.id > :afterId
+            ORDER BY d.id
+            """)
+    List<DepartmentDTO> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT e.id FROM Department d JOIN d.employees e WHERE d.id = :departmentId")
+    Set<Long> findEmployeeIdsByDepartmentId(@Param("departmentId") Long departmentId);
 }
@@ -0,0 +1,53 @@
+package org.example.repositrory;
+
+import org.example.entity.DepartmentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DepartmentStatsRepository extends JpaRepository<DepartmentStats, Long> {
+
+    /**
+     * Recomputes the aggregates of every department from its memberships.
+     * The returned rows are detached and not written back.
+     */
+    @Query("""
+            SELECT new org.example.entity.DepartmentStats(
+                d.id,
+                COUNT(l),
+                COALESCE(SUM(l.salary), 0),
+                COUNT(l.salary),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.ASSISTANT THEN 1 ELSE 0 END),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.ASSOCIATE_PROFESSOR THEN 1 ELSE 0 END),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.PROFESSOR THEN 1 ELSE 0 END)
+            )
+            FROM Department d LEFT JOIN d.employees l
+            GROUP BY d.id
+            """)
+    List<DepartmentStats> recomputeAll();
+
+    /**
+     * Recomputes the aggregates of the given departments from their memberships.
+     * The returned rows are detached and not written back.
+     */
+    @Query("""
+            SELECT new org.example.entity.DepartmentStats(
+                d.id,
+                COUNT(l),
+                COALESCE(SUM(l.salary), 0),
+                COUNT(l.salary),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.ASSISTANT THEN 1 ELSE 0 END),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.ASSOCIATE_PROFESSOR THEN 1 ELSE 0 END),
+                SUM(CASE WHEN l.degree = org.example.enums.Degree.PROFESSOR THEN 1 ELSE 0 END)
+            )
+            FROM Department d LEFT JOIN d.employees l
+            WHERE d.id IN :departmentIds
+            GROUP BY d.id
+            """)
+    List<DepartmentStats> recompute(@Param("departmentIds") Collection<Long> departmentIds);
+}
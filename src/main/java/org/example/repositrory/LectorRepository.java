@@ -1,18 +1,105 @@
 package org.example.repositrory;
 
+import jakarta.persistence.QueryHint;
+import org.example.dto.lector.LectorDTO;
+import org.example.dto.lector.LectorName;
 import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface LectorRepository extends JpaRepository<Lector, Long> {
-    List<Lector> findByNameContaining(String name);
+    /**
+     * Streams the lectors whose name contains the string, matched case-sensitively and literally.
+     * Rows are fetched from the cursor {@code 1000} at a time and loaded read-only; the caller detaches
+     * each lector once done with it to keep the persistence context small. The stream must be consumed and
+     * closed in a transaction.
+     *
+     * @param name the string to search for
+     * @return the matching lectors
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Lector> findByNameContaining(String name);
+
+    @Query(value = """
+            SELECT l.name FROM lectors l
+            WHERE l.name_search LIKE '%' || :pattern || '%' ESCAPE '\\'
+            ORDER BY similarity(l.name_search, :term) DESC, l.name, l.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<String> searchNamesRankedBySimilarity(
+            @Param("term") String term,
+            @Param("pattern") String pattern,
+            @Param("limit") int limit,
+            @Param("offset") int offset
+    );
+
+    @Query("""
+            SELECT new org.example.dto.lector.LectorDTO(l.id, l.name, l.degree, l.salary) FROM Lector l
+            WHERE l.id > :afterId
+            ORDER BY l.id
+            """)
+    List<LectorDTO> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("""
+            SELECT new org.example.dto.lector.LectorDTO(l.id, l.name, l.degree, l.salary) FROM Lector l
+            WHERE l.degree = :degree AND l.id > :afterId
+            ORDER BY l.id
+            """)
+    List<LectorDTO> findPageAfterByDegree(@Param("afterId") long afterId, @Param("degree") Degree degree, Limit limit);
+
+    /**
+     * Streams the names of all lectors whose lower-cased name matches the pattern, in name order.
+     * The pattern is matched against the {@code name_search} column, so the trigram index on it can serve
+     * the scan. Only the names are read, so no lector enters the persistence context, and rows are fetched
+     * from the cursor {@code 1000} at a time. The stream must be consumed and closed in a transaction.
+     *
+     * @param pattern the lower-case search term escaped with {@link #escapeLikePattern(String)}
+     * @return the matching names
+     */
+    @Query(value = """
+            SELECT l.name FROM lectors l
+            WHERE l.name_search LIKE '%' || :pattern || '%' ESCAPE '\\'
+            ORDER BY l.name, l.id
+            """, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<String> streamNamesContaining(@Param("pattern") String pattern);
+
+    @Query("SELECT new org.example.dto.lector.LectorName(l.id, l.name) FROM Lector l")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<LectorName> streamAllNames();
 
-    @Query("SELECT AVG(l.salary) FROM Lector l JOIN l.department d WHERE d.departmentName = :departmentName")
-    BigDecimal fetchAverageSalaryByDepartmentName(@Param("departmentName") String departmentName);
+    /**
+     * Escapes the LIKE wildcards of a search string so the native queries on {@code name_search} match it
+     * literally.
+     *
+     * @param term the search string
+     * @return the search string with {@code \}, {@code %} and {@code _} escaped
+     */
+    static String escapeLikePattern(String term) {
+        return term
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
@@ -0,0 +1,37 @@
+package org.example.search;
+
+import lombok.RequiredArgsConstructor;
+import org.example.repositrory.LectorRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search engine backed by the trigram GIN index on the normalized {@code lectors.name_search} column.
+ * Results are ranked by {@code similarity()} in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "db", matchIfMissing = true)
+public class DatabaseLectorSearchEngine implements LectorSearchEngine {
+    private final LectorRepository lectorRepository;
+
+    /**
+     * Searches for lector names containing the normalized search term.
+     *
+     * @param term the lower-case search term
+     * @param limit the maximum number of names to return
+     * @param offset the number of ranked names to skip
+     * @return a page of lector names, best matches first
+     */
+    @Override
+    public List<String> search(String term, int limit, int offset) {
+        return this.lectorRepository.searchNamesRankedBySimilarity(
+                term,
+                LectorRepository.escapeLikePattern(term),
+                limit,
+                offset
+        );
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.bulkimport.LectorsImportedEvent;
+import org.example.dto.lector.LectorName;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.LectorChangedEvent;
+import org.example.repositrory.LectorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Search engine answering from an in-process {@link TrigramIndex}, without a database round trip.
+ * <p>
+ * The index is built from a streamed scan of all lector names once all singletons are created, so it is
+ * complete before the console or the web server take requests. It is then kept current from the
+ * {@link LectorChangedEvent}s of committed transactions, and rebuilt after a {@link LectorsImportedEvent}.
+ * A rebuild fills a fresh index from the scan and swaps it in. Changes committed during the scan are applied
+ * to the current index at once and queued; the scan may still return their rows as they were before, so the
+ * queue is replayed onto the fresh index after the scan, atomically with the swap.
+ * <p>
+ * Publishes the {@code lector.search.index.documents} and {@code lector.search.index.memory} gauges
+ * and the {@code lector.search.index.rebuild} timer.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class InMemoryLectorSearchEngine implements LectorSearchEngine, SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryLectorSearchEngine.class);
+
+    private final LectorRepository lectorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer rebuildTimer;
+    private final Object changeLock = new Object();
+    private volatile TrigramIndex index = new TrigramIndex();
+    private List<LectorChangedEvent> changesDuringRebuild;
+
+    public InMemoryLectorSearchEngine(
+            LectorRepository lectorRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.lectorRepository = lectorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildTimer = Timer.builder("lector.search.index.rebuild")
+                .description("Time to rebuild the in-memory lector name index")
+                .register(meterRegistry);
+        Gauge.builder("lector.search.index.documents", this, engine -> engine.stats().documents())
+                .description("Lectors in the in-memory name index")
+                .register(meterRegistry);
+        Gauge.builder("lector.search.index.memory", this, engine -> engine.stats().estimatedBytes())
+                .description("Estimated heap footprint of the in-memory name index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Searches the in-memory index for lector names containing the search term.
+     *
+     * @param term the lower-case search term
+     * @param limit the maximum number of names to return
+     * @param offset the number of ranked names to skip
+     * @return a page of lector names, best matches first
+     */
+    @Override
+    public List<String> search(String term, int limit, int offset) {
+        return this.index.search(term, limit, offset);
+    }
+
+    /**
+     * Rebuilds the index from a streamed scan of the lectors table and swaps it in.
+     */
+    public synchronized void rebuild() {
+        TrigramIndex rebuilt = new TrigramIndex();
+        synchronized (this.changeLock) {
+            this.changesDuringRebuild = new ArrayList<>();
+        }
+        long startTime = System.nanoTime();
+        try {
+            this.readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<LectorName> names = this.lectorRepository.streamAllNames()) {
+                    names.forEach(name -> rebuilt.put(Math.toIntExact(name.id()), name.name()));
+                }
+            });
+            synchronized (this.changeLock) {
+                for (LectorChangedEvent change : this.changesDuringRebuild) {
+                    apply(rebuilt, change);
+                }
+                this.index = rebuilt;
+            }
+        } finally {
+            synchronized (this.changeLock) {
+                this.changesDuringRebuild = null;
+            }
+        }
+        long timeTaken = System.nanoTime() - startTime;
+        this.rebuildTimer.record(timeTaken, TimeUnit.NANOSECONDS);
+        TrigramIndex.Stats stats = rebuilt.stats();
+        logger.info("Lector name index rebuilt in {} ms: {} lectors, {} trigrams, ~{} KiB",
+                TimeUnit.NANOSECONDS.toMillis(timeTaken),
+                stats.documents(),
+                stats.trigrams(),
+                stats.estimatedBytes() / 1024);
+    }
+
+    /**
+     * Returns the statistics of the index currently answering searches.
+     *
+     * @return the index statistics
+     */
+    public TrigramIndex.Stats stats() {
+        return this.index.stats();
+    }
+
+    /**
+     * Applies a committed lector change to the index, and queues it for the index being rebuilt.
+     *
+     * @param event the lector change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        synchronized (this.changeLock) {
+            apply(this.index, event);
+            if (this.changesDuringRebuild != null) {
+                this.changesDuringRebuild.add(event);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the index after a lector import, which publishes no per-lector changes.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorsImported(LectorsImportedEvent event) {
+        rebuild();
+    }
+
+    private void apply(TrigramIndex target, LectorChangedEvent event) {
+        int id = Math.toIntExact(event.id());
+        if (event.type() == ChangeType.REMOVED) {
+            target.remove(id);
+        } else {
+            target.put(id, event.name());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.search;
+
+import java.util.List;
+
+/**
+ * Ranked, case-insensitive search over lector names.
+ * The implementation is selected with the {@code search.engine} property ({@code db} or {@code memory}).
+ */
+public interface LectorSearchEngine {
+    List<String> search(String term, int limit, int offset);
+}
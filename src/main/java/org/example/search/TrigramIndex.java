@@ -0,0 +1,334 @@
+package org.example.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted trigram index over lector names.
+ * <p>
+ * Every lower-cased name is split into overlapping three-character trigrams. Each trigram keeps a sorted
+ * primitive {@code int} posting list of the lector ids containing it. A search intersects the posting lists
+ * of the search term trigrams, starting with the shortest one, and verifies the remaining candidates with
+ * {@link String#contains(CharSequence)}. Search terms shorter than three characters are answered by scanning
+ * all names.
+ * <p>
+ * Matches are ranked like {@code ORDER BY similarity(name, term) DESC, name, id} of pg_trgm: each word of
+ * a string is padded with two spaces in front and one behind and split into trigrams, and the similarity is
+ * the number of trigrams both strings share divided by the number of distinct trigrams of either string.
+ * These word trigrams are kept per lector, apart from the contiguous trigrams of the posting lists.
+ * <p>
+ * The index is safe for concurrent use; searches share a read lock and updates take the write lock.
+ */
+public final class TrigramIndex {
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final long MAP_ENTRY_BYTES = 64;
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingDouble(Match::similarity).reversed()
+            .thenComparing(match -> match.document().name())
+            .thenComparingInt(match -> match.document().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    /**
+     * Adds a lector name to the index or replaces the indexed name of an existing lector.
+     *
+     * @param id the lector id
+     * @param name the lector name
+     */
+    public void put(int id, String name) {
+        String normalizedName = normalize(name);
+        Document document = new Document(id, name, normalizedName, wordTrigrams(normalizedName));
+        this.lock.writeLock().lock();
+        try {
+            Document previous = this.documents.put(id, document);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (long trigram : trigrams(document.normalizedName())) {
+                this.postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a lector from the index.
+     *
+     * @param id the lector id
+     */
+    public void remove(int id) {
+        this.lock.writeLock().lock();
+        try {
+            Document previous = this.documents.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all lectors from the index.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.postings.clear();
+            this.documents.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for names containing the given term, ignoring case.
+     *
+     * @param term the search term
+     * @param limit the maximum number of names to return
+     * @param offset the number of ranked names to skip
+     * @return a page of matching names, best matches first
+     */
+    public List<String> search(String term, int limit, int offset) {
+        String normalizedTerm = normalize(term);
+        this.lock.readLock().lock();
+        try {
+            Document[] documents = normalizedTerm.length() < TRIGRAM_LENGTH
+                    ? scan(normalizedTerm)
+                    : lookup(normalizedTerm);
+            long[] termTrigrams = wordTrigrams(normalizedTerm);
+            Match[] matches = new Match[documents.length];
+            for (int i = 0; i < documents.length; i++) {
+                matches[i] = new Match(documents[i], similarity(termTrigrams, documents[i].wordTrigrams()));
+            }
+            Arrays.sort(matches, RANKING);
+            return Arrays.stream(matches)
+                    .skip(offset)
+                    .limit(limit)
+                    .map(match -> match.document().name())
+                    .toList();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the size of the index and an estimate of the heap it occupies.
+     *
+     * @return the index statistics
+     */
+    public Stats stats() {
+        this.lock.readLock().lock();
+        try {
+            long postingCount = 0;
+            long postingBytes = 0;
+            for (PostingList postingList : this.postings.values()) {
+                postingCount += postingList.size;
+                postingBytes += PostingList.estimatedBytes(postingList.ids.length);
+            }
+            long documentBytes = 0;
+            for (Document document : this.documents.values()) {
+                documentBytes += Document.estimatedBytes(document);
+            }
+            long mapBytes = (long) (this.postings.size() + this.documents.size()) * MAP_ENTRY_BYTES;
+            return new Stats(
+                    this.documents.size(),
+                    this.postings.size(),
+                    postingCount,
+                    postingBytes + documentBytes + mapBytes
+            );
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the index.
+     *
+     * @param documents the number of indexed lectors
+     * @param trigrams the number of distinct trigrams
+     * @param postings the total number of ids in all posting lists
+     * @param estimatedBytes the estimated heap footprint in bytes
+     */
+    public record Stats(int documents, int trigrams, long postings, long estimatedBytes) {
+    }
+
+    private Document[] scan(String normalizedTerm) {
+        return this.documents.values()
+                .stream()
+                .filter(document -> document.normalizedName().contains(normalizedTerm))
+                .toArray(Document[]::new);
+    }
+
+    private Document[] lookup(String normalizedTerm) {
+        long[] termTrigrams = trigrams(normalizedTerm);
+        PostingList[] lists = new PostingList[termTrigrams.length];
+        for (int i = 0; i < termTrigrams.length; i++) {
+            lists[i] = this.postings.get(termTrigrams[i]);
+            if (lists[i] == null) {
+                return new Document[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            int retained = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                if (lists[i].contains(candidates[c])) {
+                    candidates[retained++] = candidates[c];
+                }
+            }
+            candidateCount = retained;
+        }
+
+        Document[] matches = new Document[candidateCount];
+        int matchCount = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            Document document = this.documents.get(candidates[c]);
+            if (document.normalizedName().contains(normalizedTerm)) {
+                matches[matchCount++] = document;
+            }
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    private void unlink(Document document) {
+        for (long trigram : trigrams(document.normalizedName())) {
+            PostingList postingList = this.postings.get(trigram);
+            if (postingList != null && postingList.remove(document.id()) && postingList.size == 0) {
+                this.postings.remove(trigram);
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the distinct trigrams of a normalized string, each packed into a long.
+     */
+    static long[] trigrams(String normalized) {
+        if (normalized.length() < TRIGRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] trigrams = new long[normalized.length() - TRIGRAM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) normalized.charAt(i) << 32)
+                    | ((long) normalized.charAt(i + 1) << 16)
+                    | normalized.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    /**
+     * Returns the sorted, distinct pg_trgm trigrams of a normalized string: every run of letters and digits
+     * is padded with two spaces in front and one behind before it is split, so word starts and ends count.
+     */
+    static long[] wordTrigrams(String normalized) {
+        long[] trigrams = new long[normalized.length() * 2 + 2];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String padded = "  " + normalized.substring(start, i) + " ";
+                for (int j = 0; j + TRIGRAM_LENGTH <= padded.length(); j++) {
+                    if (count == trigrams.length) {
+                        trigrams = Arrays.copyOf(trigrams, count * 2);
+                    }
+                    trigrams[count++] = ((long) padded.charAt(j) << 32)
+                            | ((long) padded.charAt(j + 1) << 16)
+                            | padded.charAt(j + 2);
+                }
+                start = -1;
+            }
+        }
+        return Arrays.stream(trigrams, 0, count).sorted().distinct().toArray();
+    }
+
+    /**
+     * Returns the pg_trgm similarity of two sorted, distinct trigram sets, {@code 0} when either is empty.
+     */
+    static double similarity(long[] first, long[] second) {
+        if (first.length == 0 || second.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        for (int i = 0, j = 0; i < first.length && j < second.length; ) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return (double) shared / (first.length + second.length - shared);
+    }
+
+    private record Document(int id, String name, String normalizedName, long[] wordTrigrams) {
+        static long estimatedBytes(Document document) {
+            return 24 + 2L * (40 + document.name().length()) + 2L * document.normalizedName().length()
+                    + 16 + 8L * document.wordTrigrams().length;
+        }
+    }
+
+    private record Match(Document document, double similarity) {
+    }
+
+    /**
+     * Sorted, growable list of primitive lector ids.
+     */
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertion = -position - 1;
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size + (this.size >> 1) + 1);
+            }
+            System.arraycopy(this.ids, insertion, this.ids, insertion + 1, this.size - insertion);
+            this.ids[insertion] = id;
+            this.size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(this.ids, position + 1, this.ids, position, this.size - position - 1);
+            this.size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(this.ids, 0, this.size, id) >= 0;
+        }
+
+        static long estimatedBytes(int capacity) {
+            return 32 + 16 + 4L * capacity;
+        }
+    }
+}
@@ -1,20 +1,43 @@
 package org.example.service;
 
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
 import org.example.dto.depatrment.DepartmentRequestDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.dto.lector.LectorDTO;
 import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.payroll.DepartmentSalaries;
+import org.example.report.DepartmentReportRow;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public interface DepartmentService {
     Optional<DepartmentRequestDTO> findByName(String departmentName);
+    Optional<DepartmentResponseDTO> findDetailsByName(String departmentName);
     BigDecimal fetchAverageSalary(String departmentName);
     Integer fetchAssistantsCount(String departmentName);
     Integer fetchAssociateProfessorsCount(String departmentName);
     Integer fetchProfessorsCount(String departmentName);
+    EnumMap<Degree, Long> fetchDegreeHistogram(String departmentName);
     String fetchHeadOfDepartment(String departmentName);
+    LectorDTO fetchHeadOfDepartmentDetails(String departmentName);
+    List<LectorDTO> fetchEmployees(String departmentName);
     Integer fetchEmployeeCount(String departmentName);
-    List<Lector> searchLecturersByNameContaining(String template);
+    int searchLecturersByNameContaining(String template, Consumer<Lector> consumer);
+    Map<String, DepartmentSummary> findSummaries(Collection<String> departmentNames);
+    Map<String, EnumMap<Degree, Long>> fetchDegreeHistograms(Collection<String> departmentNames);
+    Map<String, BigDecimal> fetchAverageSalaries(Collection<String> departmentNames);
+    DepartmentSalaries fetchSalaryDistribution(String departmentName);
+    Map<String, DepartmentSalaries> fetchSalaryDistributions();
+    int allDepartmentsReport(Consumer<DepartmentReportRow> consumer);
+    KeysetPage<DepartmentDTO> listDepartments(Long afterId, int limit);
 }
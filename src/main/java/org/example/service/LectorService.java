@@ -1,8 +1,15 @@
 package org.example.service;
 
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+
 import java.util.List;
+import java.util.function.Consumer;
 
-@FunctionalInterface
 public interface LectorService {
     List<String> searchByNameContaining(String name);
+    List<String> searchByNameContaining(String name, int limit, int offset);
+    int forEachNameContaining(String name, Consumer<String> consumer);
+    KeysetPage<LectorDTO> listLectors(Long afterId, int limit, Degree degree);
 }
@@ -1,35 +1,85 @@
 package org.example.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Loggable;
+import org.example.cache.DepartmentLookupCache;
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
 import org.example.dto.depatrment.DepartmentRequestDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.dto.lector.LectorDTO;
 import org.example.entity.Department;
+import org.example.entity.DepartmentStats;
 import org.example.entity.Lector;
 import org.example.enums.Degree;
 import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.mapper.DepartmentMapper;
+import org.example.mapper.LectorMapper;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.PayrollRepository;
+import org.example.payroll.SalaryStatistics;
+import org.example.payroll.SalaryTable;
+import org.example.report.DepartmentReportGenerator;
+import org.example.report.DepartmentReportRow;
 import org.example.repositrory.DepartmentRepository;
+import org.example.repositrory.DepartmentStatsRepository;
 import org.example.repositrory.LectorRepository;
 import org.example.service.DepartmentService;
-import org.modelmapper.ModelMapper;
+import org.example.snapshot.UniversitySnapshot;
+import org.example.snapshot.UniversitySnapshotHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the DepartmentService interface.
  * Provides methods for interacting with department data, including fetching department details,
  * calculating statistics, and performing searches.
+ * <p>
+ * All associations of the department entities are lazy. Scalar answers are read through projections,
+ * and methods that return entity data pick the named entity graph of {@link Department} they need.
+ * Employee counts, degree counts and average salaries come from the trigger-maintained
+ * {@link DepartmentStats} row of the department, read by primary key.
+ * Salary distributions are computed from salaries loaded in cents by the {@link PayrollRepository}.
+ * <p>
+ * While a {@link UniversitySnapshot} is held, summaries, statistics, employee ids and salary distributions of
+ * the departments it contains are answered from it without a database round trip. Changes committed through
+ * this application bypass the snapshot until it is rebuilt; changes made elsewhere may be missed for up to
+ * one snapshot refresh interval. Departments created after the snapshot was built are looked up in the
+ * database.
  */
 @Service
 @RequiredArgsConstructor
 public class DepartmentServiceImpl implements DepartmentService {
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final DepartmentRepository departmentRepository;
     private final LectorRepository lectorRepository;
-    private final ModelMapper modelMapper;
+    private final DepartmentMapper departmentMapper;
+    private final LectorMapper lectorMapper;
+    private final DepartmentLookupCache departmentLookupCache;
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final PayrollRepository payrollRepository;
+    private final UniversitySnapshotHolder universitySnapshotHolder;
+    private final DepartmentReportGenerator departmentReportGenerator;
+    private final EntityManager entityManager;
 
     /**
      * Finds a department by its name and returns a DepartmentRequestDTO.
@@ -45,17 +95,49 @@ public class DepartmentServiceImpl implements DepartmentService {
             logException = true
     )
     public Optional<DepartmentRequestDTO> findByName(String departmentName) {
-        return this.departmentRepository.findByDepartmentName(departmentName)
-                .map(department ->
-                this.modelMapper.map(department, DepartmentRequestDTO.class)
-        );
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        int department = snapshotDepartment(snapshot, departmentName);
+        if (department >= 0) {
+            DepartmentSummary summary = snapshot.summary(department);
+            return Optional.of(new DepartmentRequestDTO(
+                    summary.departmentName(),
+                    snapshot.employeeIds(department),
+                    summary.headOfDepartmentId()
+            ));
+        }
+        return findSummary(departmentName)
+                .map(summary -> new DepartmentRequestDTO(
+                        summary.departmentName(),
+                        this.departmentRepository.findEmployeeIdsByDepartmentId(summary.id()),
+                        summary.headOfDepartmentId()
+                ));
+    }
+
+    /**
+     * Finds a department by its name together with its head and employees.
+     * Uses the {@value Department#WITH_HEAD_AND_EMPLOYEES} fetch plan.
+     *
+     * @param departmentName the name of the department
+     * @return an Optional containing the DepartmentResponseDTO if found, otherwise empty
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public Optional<DepartmentResponseDTO> findDetailsByName(String departmentName) {
+        return this.departmentRepository.findWithHeadAndEmployeesByDepartmentName(departmentName)
+                .map(this.departmentMapper::toResponseDto);
     }
 
     /**
      * Fetches the average salary for a department.
      *
      * @param departmentName the name of the department
-     * @return the average salary as a BigDecimal
+     * @return the average salary as a BigDecimal, or {@code null} if no lector of the department has a salary
+     * @throws NotFoundException if the department is not found
      */
     @Override
     @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
@@ -65,7 +147,7 @@ public class DepartmentServiceImpl implements DepartmentService {
             logException = true
     )
     public BigDecimal fetchAverageSalary(String departmentName) {
-        return this.lectorRepository.fetchAverageSalaryByDepartmentName(departmentName);
+        return findStats(departmentName).averageSalary();
     }
 
     /**
@@ -125,6 +207,25 @@ public class DepartmentServiceImpl implements DepartmentService {
        );
     }
 
+    /**
+     * Fetches the number of lectors per degree in a department from its statistics row.
+     * Degrees without lectors are present in the result with a count of zero.
+     *
+     * @param departmentName the name of the department
+     * @return the count of lectors for every degree
+     * @throws NotFoundException if the department is not found
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public EnumMap<Degree, Long> fetchDegreeHistogram(String departmentName) {
+        return findStats(departmentName).degreeHistogram();
+    }
+
     /**
      * Fetches the head of a department by its name.
      *
@@ -140,10 +241,36 @@ public class DepartmentServiceImpl implements DepartmentService {
             logException = true
     )
     public String fetchHeadOfDepartment(String departmentName) {
+        return findSummary(departmentName)
+                .map(DepartmentSummary::headOfDepartmentName)
+                .orElseThrow(
+                        () -> new NotFoundException(
+                                "Head of department not found",
+                                departmentName
+                        )
+                );
+    }
+
+    /**
+     * Fetches the head of a department with all of its details.
+     * Uses the {@value Department#WITH_HEAD} fetch plan.
+     *
+     * @param departmentName the name of the department
+     * @return the head of the department
+     * @throws NotFoundException if the department or head of department is not found
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public LectorDTO fetchHeadOfDepartmentDetails(String departmentName) {
         return this.departmentRepository
-                .findByDepartmentName(departmentName)
+                .findWithHeadByDepartmentName(departmentName)
                 .map(Department::getHeadOfDepartment)
-                .map(Lector::getName)
+                .map(this.lectorMapper::toDto)
                 .orElseThrow(
                         () -> new NotFoundException(
                                 "Head of department not found",
@@ -152,6 +279,36 @@ public class DepartmentServiceImpl implements DepartmentService {
                 );
     }
 
+    /**
+     * Fetches the employees of a department.
+     * Uses the {@value Department#WITH_EMPLOYEES} fetch plan.
+     *
+     * @param departmentName the name of the department
+     * @return the employees of the department
+     * @throws NotFoundException if the department is not found
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public List<LectorDTO> fetchEmployees(String departmentName) {
+        Department department = this.departmentRepository.findWithEmployeesByDepartmentName(departmentName)
+                .orElseThrow(
+                        () -> new NotFoundException(
+                                "Department not found",
+                                departmentName
+                        )
+                );
+        return department
+                .getEmployees()
+                .stream()
+                .map(this.lectorMapper::toDto)
+                .toList();
+    }
+
     /**
      * Fetches the count of employees in a department.
      *
@@ -166,23 +323,24 @@ public class DepartmentServiceImpl implements DepartmentService {
             logException = true
     )
     public Integer fetchEmployeeCount(String departmentName) {
-        Department department = this.departmentRepository.findByDepartmentName(departmentName)
+        return findSummary(departmentName)
+                .map(DepartmentSummary::employeeCount)
                 .orElseThrow(
                         () -> new NotFoundException(
                                 "Department not found",
                                 departmentName
                         )
-        );
-        return department
-                .getEmployees()
-                .size();
+                );
     }
 
     /**
-     * Searches for lecturers by name containing the specified string.
+     * Passes the lecturers whose name contains the specified string to a consumer.
+     * Only the lector rows are loaded, their departments stay lazy. The lecturers are streamed from a database
+     * cursor and each is detached once the consumer returns, so memory stays bounded however many match.
      *
      * @param name the string to search for in the lecturer names
-     * @return a list of lecturers whose names contain the specified string
+     * @param consumer receives the lecturers while the cursor is read, before they are detached
+     * @return the number of lecturers passed to the consumer
      */
     @Override
     @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
@@ -191,39 +349,288 @@ public class DepartmentServiceImpl implements DepartmentService {
             logReturnValue = true,
             logException = true
     )
-    public List<Lector> searchLecturersByNameContaining(String name) {
-        return this.lectorRepository.findByNameContaining(name);
+    public int searchLecturersByNameContaining(String name, Consumer<Lector> consumer) {
+        int count = 0;
+        try (Stream<Lector> lectors = this.lectorRepository.findByNameContaining(name)) {
+            Iterator<Lector> iterator = lectors.iterator();
+            while (iterator.hasNext()) {
+                Lector lector = iterator.next();
+                consumer.accept(lector);
+                this.entityManager.detach(lector);
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
-     * Searches for lecturers by name containing the specified string and degree.
+     * Finds the summaries of many departments with one {@code IN} query per
+     * {@value #IN_CLAUSE_CHUNK_SIZE} distinct names.
      *
-     * @param departmentName the string to search for in the lecturer names
-     * @param degree the degree to search for
-     * @return a list of lecturers whose names contain the specified string and have the specified degree
+     * @param departmentNames the names of the departments
+     * @return the summaries by department name, without entries for unknown departments
      */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public Map<String, DepartmentSummary> findSummaries(Collection<String> departmentNames) {
+        Map<String, DepartmentSummary> summaries = new HashMap<>();
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        List<String> remainingNames = new ArrayList<>();
+        for (String departmentName : departmentNames) {
+            int department = snapshotDepartment(snapshot, departmentName);
+            if (department >= 0) {
+                DepartmentSummary summary = snapshot.summary(department);
+                summaries.put(summary.departmentName(), summary);
+            } else {
+                remainingNames.add(departmentName);
+            }
+        }
+        for (DepartmentSummary summary : queryInChunks(
+                remainingNames,
+                this.departmentRepository::findSummariesByDepartmentNameIn
+        )) {
+            summaries.put(summary.departmentName(), summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Fetches the degree histograms of many departments from their statistics rows, resolving the names with
+     * one {@code IN} query and the rows with one primary key {@code IN} query per {@value #IN_CLAUSE_CHUNK_SIZE}
+     * departments. Every degree is present in a histogram.
+     *
+     * @param departmentNames the names of the departments
+     * @return the histograms by department name, without entries for unknown departments
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public Map<String, EnumMap<Degree, Long>> fetchDegreeHistograms(Collection<String> departmentNames) {
+        Map<String, EnumMap<Degree, Long>> histograms = new HashMap<>();
+        findStats(departmentNames).forEach((name, stats) -> histograms.put(name, stats.degreeHistogram()));
+        return histograms;
+    }
+
+    /**
+     * Fetches the average salaries of many departments from their statistics rows, resolving the names with
+     * one {@code IN} query and the rows with one primary key {@code IN} query per {@value #IN_CLAUSE_CHUNK_SIZE}
+     * departments.
+     *
+     * @param departmentNames the names of the departments
+     * @return the average salaries by department name, without entries for unknown departments
+     *         and departments where no lector has a salary
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
     @Loggable(
-            level = "DEBUG",
             logArguments = true,
             logReturnValue = true,
             logException = true
     )
-    private List<Lector> fetchLectorsByDegreeAndDepartment(String departmentName, Degree degree) {
-        Department department = this.departmentRepository.findByDepartmentName(departmentName)
+    public Map<String, BigDecimal> fetchAverageSalaries(Collection<String> departmentNames) {
+        Map<String, BigDecimal> averageSalaries = new HashMap<>();
+        findStats(departmentNames).forEach((name, stats) -> {
+            BigDecimal averageSalary = stats.averageSalary();
+            if (averageSalary != null) {
+                averageSalaries.put(name, averageSalary);
+            }
+        });
+        return averageSalaries;
+    }
+
+    /**
+     * Fetches the salary distribution of a department, over all its salaried lectors and per degree.
+     *
+     * @param departmentName the name of the department
+     * @return the salary distribution of the department
+     * @throws NotFoundException if the department is not found
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public DepartmentSalaries fetchSalaryDistribution(String departmentName) {
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        int department = snapshotDepartment(snapshot, departmentName);
+        if (department >= 0) {
+            return SalaryStatistics.summarize(snapshot.salaries(department), 0);
+        }
+        DepartmentSummary summary = findSummary(departmentName)
                 .orElseThrow(
                         () -> new NotFoundException(
                                 "Department not found",
                                 departmentName
                         )
+                );
+        SalaryTable table = this.payrollRepository.loadDepartment(summary.id(), summary.departmentName());
+        return SalaryStatistics.summarize(table, 0);
+    }
+
+    /**
+     * Fetches the salary distributions of all departments with one query over the salaries of every
+     * department, sharing one scratch array between the departments.
+     *
+     * @return the salary distributions by department name, ordered by department id, without entries for
+     *         departments where no lector has a salary
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public Map<String, DepartmentSalaries> fetchSalaryDistributions() {
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        return SalaryStatistics.summarizeAll(snapshot != null ? snapshot.salaries() : this.payrollRepository.loadAll());
+    }
+
+    /**
+     * Reports the head, headcount, degree counts and salary aggregates of every department, chunk by chunk
+     * with two set-based queries per chunk. The chunks are read in one repeatable read transaction, so the
+     * report reflects a single committed state.
+     *
+     * @param consumer receives the rows in department id order, while the report is generated
+     * @return the number of departments reported
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public int allDepartmentsReport(Consumer<DepartmentReportRow> consumer) {
+        return this.departmentReportGenerator.generate(consumer);
+    }
+
+    /**
+     * Lists departments in id order, one page after another. Each page is read with a single seek on the
+     * primary key and without loading heads or employees, so every page costs the same however deep it is.
+     *
+     * @param afterId the {@link KeysetPage#nextAfterId()} of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of departments, capped at {@value KeysetPage#MAX_LIMIT}
+     * @return the departments with ids greater than {@code afterId}
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public KeysetPage<DepartmentDTO> listDepartments(Long afterId, int limit) {
+        int pageSize = Math.clamp(limit, 1, KeysetPage.MAX_LIMIT);
+        List<DepartmentDTO> departments = this.departmentRepository.findPageAfter(
+                afterId == null ? Long.MIN_VALUE : afterId,
+                Limit.of(pageSize + 1)
         );
-        return department
-                .getEmployees()
-                .stream()
-                .filter(lector -> lector
-                        .getDegree()
-                        .equals(degree)
-                )
-                .toList();
+        return KeysetPage.of(departments, pageSize, DepartmentDTO::getId);
+    }
+
+    /**
+     * Looks up the summary of a department through the department lookup cache.
+     *
+     * @param departmentName the name of the department
+     * @return the summary of the department, or empty if there is no such department
+     */
+    private Optional<DepartmentSummary> findSummary(String departmentName) {
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        int department = snapshotDepartment(snapshot, departmentName);
+        if (department >= 0) {
+            return Optional.of(snapshot.summary(department));
+        }
+        return this.departmentLookupCache.get(
+                departmentName,
+                this.departmentRepository::findSummaryByDepartmentName
+        );
+    }
+
+    /**
+     * Reads the statistics row of a department by the primary key of its cached summary.
+     *
+     * @param departmentName the name of the department
+     * @return the statistics of the department
+     * @throws NotFoundException if the department or its statistics row is not found
+     */
+    private DepartmentStats findStats(String departmentName) {
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        int department = snapshotDepartment(snapshot, departmentName);
+        if (department >= 0) {
+            return snapshot.stats(department);
+        }
+        DepartmentSummary summary = findSummary(departmentName)
+                .orElseThrow(
+                        () -> new NotFoundException(
+                                "Department not found",
+                                departmentName
+                        )
+                );
+        return this.departmentStatsRepository.findById(summary.id())
+                .orElseThrow(
+                        () -> new NotFoundException(
+                                "Department statistics not found",
+                                departmentName
+                        )
+                );
+    }
+
+    /**
+     * Reads the statistics rows of many departments.
+     *
+     * @param departmentNames the names of the departments
+     * @return the statistics by department name, without entries for unknown departments
+     */
+    private Map<String, DepartmentStats> findStats(Collection<String> departmentNames) {
+        Map<String, DepartmentStats> stats = new HashMap<>();
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.current();
+        List<String> remainingNames = new ArrayList<>();
+        for (String departmentName : departmentNames) {
+            int department = snapshotDepartment(snapshot, departmentName);
+            if (department >= 0) {
+                stats.put(snapshot.summary(department).departmentName(), snapshot.stats(department));
+            } else {
+                remainingNames.add(departmentName);
+            }
+        }
+        Map<Long, String> namesById = new HashMap<>();
+        for (DepartmentSummary summary : queryInChunks(
+                remainingNames,
+                this.departmentRepository::findSummariesByDepartmentNameIn
+        )) {
+            namesById.put(summary.id(), summary.departmentName());
+        }
+        for (DepartmentStats row : queryInChunks(
+                namesById.keySet(),
+                this.departmentStatsRepository::findAllById
+        )) {
+            stats.put(namesById.get(row.getDepartmentId()), row);
+        }
+        return stats;
+    }
+
+    /**
+     * Finds a department in the snapshot.
+     *
+     * @param snapshot the current snapshot, or {@code null}
+     * @param departmentName the name of the department
+     * @return the index of the department in the snapshot, or {@code -1} if there is no snapshot or the
+     *         snapshot has no such department
+     */
+    private static int snapshotDepartment(UniversitySnapshot snapshot, String departmentName) {
+        return snapshot == null ? -1 : snapshot.department(DepartmentLookupCache.normalize(departmentName));
     }
 
     /**
@@ -240,9 +647,31 @@ public class DepartmentServiceImpl implements DepartmentService {
             logException = true
     )
     private Integer countLectorsByDegreeAndDepartment(String departmentName, Degree degree) {
-        return fetchLectorsByDegreeAndDepartment(
-                departmentName,
-                degree
-        ).size();
+        return fetchDegreeHistogram(departmentName)
+                .get(degree)
+                .intValue();
+    }
+
+    /**
+     * Runs an {@code IN} query for the distinct keys, at most {@value #IN_CLAUSE_CHUNK_SIZE} keys at a time.
+     *
+     * @param keys the department names or ids
+     * @param query the query taking one chunk of keys
+     * @return the rows of all chunks
+     */
+    private static <K, T> List<T> queryInChunks(
+            Collection<K> keys,
+            Function<Collection<K>, List<T>> query
+    ) {
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        if (distinctKeys.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return distinctKeys.isEmpty() ? List.of() : query.apply(distinctKeys);
+        }
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < distinctKeys.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctKeys.size());
+            rows.addAll(query.apply(distinctKeys.subList(from, to)));
+        }
+        return rows;
     }
 }
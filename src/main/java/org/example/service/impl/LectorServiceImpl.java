@@ -1,15 +1,25 @@
 package org.example.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Loggable;
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
 import org.example.entity.Lector;
+import org.example.enums.Degree;
 import org.example.repositrory.LectorRepository;
+import org.example.search.LectorSearchEngine;
 import org.example.service.LectorService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the LectorService interface.
@@ -18,13 +28,20 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class LectorServiceImpl implements LectorService {
+    public static final int MAX_SEARCH_LIMIT = 500;
+
     private final LectorRepository lectorRepository;
+    private final LectorSearchEngine lectorSearchEngine;
+    private final EntityManager entityManager;
 
     /**
      * Searches for lectors by name containing the specified string.
+     * The lectors are streamed from a database cursor and detached as soon as their name is taken. At most
+     * {@value #MAX_SEARCH_LIMIT} names are returned and the cursor is closed once they are read;
+     * {@link #forEachNameContaining(String, Consumer)} passes on every match.
      *
      * @param name the string to search for in lector names
-     * @return a list of lector names containing the specified string
+     * @return at most {@value #MAX_SEARCH_LIMIT} lector names containing the specified string
      */
     @Override
     @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
@@ -34,10 +51,99 @@ public class LectorServiceImpl implements LectorService {
             logException = true
     )
     public List<String> searchByNameContaining(String name) {
-        List<Lector> lectors = this.lectorRepository.findByNameContaining(name);
-        return lectors
-                .stream()
-                .map(Lector::getName)
-                .toList();
+        try (Stream<Lector> lectors = this.lectorRepository.findByNameContaining(name)) {
+            return lectors
+                    .map(lector -> {
+                        this.entityManager.detach(lector);
+                        return lector.getName();
+                    })
+                    .limit(MAX_SEARCH_LIMIT)
+                    .toList();
+        }
+    }
+
+    /**
+     * Searches for lectors by name containing the specified string, ignoring case.
+     * Results are ranked by trigram similarity to the search string and served by the
+     * configured {@link LectorSearchEngine}.
+     *
+     * @param name the string to search for in lector names
+     * @param limit the maximum number of names to return, capped at {@value #MAX_SEARCH_LIMIT}
+     * @param offset the number of ranked names to skip
+     * @return a page of lector names containing the specified string, best matches first
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public List<String> searchByNameContaining(String name, int limit, int offset) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        return this.lectorSearchEngine.search(
+                name.toLowerCase(Locale.ROOT),
+                Math.clamp(limit, 1, MAX_SEARCH_LIMIT),
+                Math.max(offset, 0)
+        );
+    }
+
+    /**
+     * Passes the names of all lectors containing the specified string, ignoring case, to a consumer in name order.
+     * The names are streamed from a database cursor, so memory stays bounded however many lectors match.
+     *
+     * @param name the string to search for in lector names
+     * @param consumer receives the names while the cursor is read
+     * @return the number of names passed to the consumer
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public int forEachNameContaining(String name, Consumer<String> consumer) {
+        if (name == null || name.isBlank()) {
+            return 0;
+        }
+        int count = 0;
+        String pattern = LectorRepository.escapeLikePattern(name.toLowerCase(Locale.ROOT));
+        try (Stream<String> names = this.lectorRepository.streamNamesContaining(pattern)) {
+            Iterator<String> iterator = names.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lists lectors in id order, one page after another. Each page is read with a single seek on the
+     * primary key, or on the {@code (degree, id)} index when filtered by degree, so every page costs the same
+     * however deep it is.
+     *
+     * @param afterId the {@link KeysetPage#nextAfterId()} of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of lectors, capped at {@value KeysetPage#MAX_LIMIT}
+     * @param degree the degree of the lectors to list, or {@code null} for all lectors
+     * @return the lectors with ids greater than {@code afterId}
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public KeysetPage<LectorDTO> listLectors(Long afterId, int limit, Degree degree) {
+        int pageSize = Math.clamp(limit, 1, KeysetPage.MAX_LIMIT);
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        List<LectorDTO> lectors = degree == null
+                ? this.lectorRepository.findPageAfter(after, Limit.of(pageSize + 1))
+                : this.lectorRepository.findPageAfterByDegree(after, degree, Limit.of(pageSize + 1));
+        return KeysetPage.of(lectors, pageSize, LectorDTO::getId);
     }
 }
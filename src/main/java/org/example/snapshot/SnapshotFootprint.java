@@ -0,0 +1,34 @@
+package org.example.snapshot;
+
+/**
+ * Estimated heap footprint of a {@link UniversitySnapshot}.
+ *
+ * @param lectors the number of lectors
+ * @param distinctNames the number of entries in the lector name dictionary
+ * @param departments the number of departments
+ * @param memberships the number of department memberships
+ * @param lectorColumnBytes the bytes of the lector id, name code, degree and salary columns
+ * @param membershipBytes the bytes of the membership offsets and lector indexes
+ * @param departmentBytes the bytes of the department columns, names and name index
+ * @param dictionaryBytes the bytes of the distinct lector names
+ */
+public record SnapshotFootprint(
+        int lectors,
+        int distinctNames,
+        int departments,
+        int memberships,
+        long lectorColumnBytes,
+        long membershipBytes,
+        long departmentBytes,
+        long dictionaryBytes
+) {
+
+    /**
+     * Returns the estimated total heap footprint.
+     *
+     * @return the total in bytes
+     */
+    public long totalBytes() {
+        return this.lectorColumnBytes + this.membershipBytes + this.departmentBytes + this.dictionaryBytes;
+    }
+}
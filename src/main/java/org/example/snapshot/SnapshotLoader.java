@@ -0,0 +1,189 @@
+package org.example.snapshot;
+
+import org.example.cache.DepartmentLookupCache;
+import org.example.enums.Degree;
+import org.example.replica.PrimaryReads;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds a {@link UniversitySnapshot} from three ordered scans of the lectors, departments and memberships.
+ * <p>
+ * The scans run in one read-only repeatable read transaction, so they see the same committed state. They read
+ * the primary, as a snapshot built from a lagging replica would serve that lag until the next refresh.
+ * Rows are appended to growing primitive arrays and never materialized as entities.
+ */
+final class SnapshotLoader {
+    static final int FETCH_SIZE = 1000;
+
+    private static final String LECTORS_QUERY = """
+            SELECT id, name, degree, CAST(salary * 100 AS BIGINT) AS salary_cents
+            FROM lectors
+            ORDER BY id
+            """;
+    private static final String DEPARTMENTS_QUERY = """
+            SELECT id, department_name, head_of_department_id
+            FROM departments
+            ORDER BY id
+            """;
+    private static final String MEMBERSHIPS_QUERY = """
+            SELECT department_id, lector_id
+            FROM department_lector
+            ORDER BY department_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    SnapshotLoader(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Reads the current data into a new snapshot.
+     *
+     * @return the snapshot
+     */
+    UniversitySnapshot load() {
+        return PrimaryReads.call(() -> this.readOnlyTransaction.execute(status -> build()));
+    }
+
+    private UniversitySnapshot build() {
+        Instant builtAt = Instant.now();
+        Lectors lectors = new Lectors();
+        this.jdbcTemplate.query(LECTORS_QUERY, resultSet -> {
+            long id = resultSet.getLong(1);
+            String name = resultSet.getString(2);
+            String degree = resultSet.getString(3);
+            long salaryCents = resultSet.getLong(4);
+            lectors.add(id, name, degree, resultSet.wasNull() ? UniversitySnapshot.NO_SALARY : salaryCents);
+        });
+        long[] lectorIds = Arrays.copyOf(lectors.ids, lectors.size);
+
+        Departments departments = new Departments();
+        this.jdbcTemplate.query(DEPARTMENTS_QUERY, resultSet -> {
+            long id = resultSet.getLong(1);
+            String name = resultSet.getString(2);
+            long headId = resultSet.getLong(3);
+            departments.add(id, name, resultSet.wasNull() ? UniversitySnapshot.NO_LECTOR : lectorIndex(lectorIds, headId));
+        });
+        long[] departmentIds = Arrays.copyOf(departments.ids, departments.size);
+
+        int[] memberOffsets = new int[departmentIds.length + 1];
+        IntList memberLectors = new IntList();
+        this.jdbcTemplate.query(MEMBERSHIPS_QUERY, resultSet -> {
+            int department = Arrays.binarySearch(departmentIds, resultSet.getLong(1));
+            int lector = lectorIndex(lectorIds, resultSet.getLong(2));
+            if (department >= 0 && lector != UniversitySnapshot.NO_LECTOR) {
+                memberLectors.add(lector);
+                memberOffsets[department + 1]++;
+            }
+        });
+        for (int department = 0; department < departmentIds.length; department++) {
+            memberOffsets[department + 1] += memberOffsets[department];
+        }
+
+        Map<String, Integer> departmentsByName = HashMap.newHashMap(departments.size);
+        for (int department = 0; department < departments.size; department++) {
+            departmentsByName.put(DepartmentLookupCache.normalize(departments.names[department]), department);
+        }
+        return new UniversitySnapshot(
+                builtAt,
+                lectorIds,
+                Arrays.copyOf(lectors.nameCodes, lectors.size),
+                lectors.dictionary.keySet().toArray(String[]::new),
+                Arrays.copyOf(lectors.degrees, lectors.size),
+                Arrays.copyOf(lectors.salaryCents, lectors.size),
+                departmentIds,
+                Arrays.copyOf(departments.names, departments.size),
+                Arrays.copyOf(departments.heads, departments.size),
+                memberOffsets,
+                memberLectors.toArray(),
+                departmentsByName
+        );
+    }
+
+    /**
+     * Returns the index of a lector in the id column, or {@link UniversitySnapshot#NO_LECTOR} for a lector
+     * the lectors scan did not see.
+     */
+    private static int lectorIndex(long[] lectorIds, long lectorId) {
+        int index = Arrays.binarySearch(lectorIds, lectorId);
+        return index < 0 ? UniversitySnapshot.NO_LECTOR : index;
+    }
+
+    private static final class Lectors {
+        private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+        private long[] ids = new long[1024];
+        private int[] nameCodes = new int[1024];
+        private byte[] degrees = new byte[1024];
+        private long[] salaryCents = new long[1024];
+        private int size;
+
+        void add(long id, String name, String degree, long salaryCents) {
+            if (this.size == this.ids.length) {
+                int capacity = this.size * 2;
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.nameCodes = Arrays.copyOf(this.nameCodes, capacity);
+                this.degrees = Arrays.copyOf(this.degrees, capacity);
+                this.salaryCents = Arrays.copyOf(this.salaryCents, capacity);
+            }
+            this.ids[this.size] = id;
+            this.nameCodes[this.size] = this.dictionary.computeIfAbsent(name, key -> this.dictionary.size());
+            this.degrees[this.size] = degree == null
+                    ? UniversitySnapshot.NO_DEGREE
+                    : (byte) Degree.valueOf(degree).ordinal();
+            this.salaryCents[this.size] = salaryCents;
+            this.size++;
+        }
+    }
+
+    private static final class Departments {
+        private long[] ids = new long[64];
+        private String[] names = new String[64];
+        private int[] heads = new int[64];
+        private int size;
+
+        void add(long id, String name, int head) {
+            if (this.size == this.ids.length) {
+                int capacity = this.size * 2;
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.heads = Arrays.copyOf(this.heads, capacity);
+            }
+            this.ids[this.size] = id;
+            this.names[this.size] = name;
+            this.heads[this.size] = head;
+            this.size++;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.example.snapshot;
+
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.DepartmentStats;
+import org.example.enums.Degree;
+import org.example.payroll.SalaryTable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only columnar copy of the lectors, departments and memberships.
+ * <p>
+ * Lectors are stored sorted by id in parallel arrays: the id, the code of the name in a dictionary of
+ * distinct names, the degree ordinal and the salary in cents. The members of department {@code d} are the
+ * lector indexes {@code memberLectors[memberOffsets[d]]} to {@code memberLectors[memberOffsets[d + 1] - 1]},
+ * an adjacency list in compressed sparse row layout. Departments are found by their normalized name.
+ * <p>
+ * A snapshot is never modified after it is built; newer data arrives as a new snapshot.
+ */
+public final class UniversitySnapshot {
+    static final byte NO_DEGREE = -1;
+    static final long NO_SALARY = Long.MIN_VALUE;
+    static final int NO_LECTOR = -1;
+
+    private static final Degree[] DEGREES = Degree.values();
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long STRING_BYTES = 40;
+    private static final long MAP_ENTRY_BYTES = 64;
+
+    private final Instant builtAt;
+    private final long[] lectorIds;
+    private final int[] lectorNameCodes;
+    private final String[] nameDictionary;
+    private final byte[] lectorDegrees;
+    private final long[] lectorSalaryCents;
+    private final long[] departmentIds;
+    private final String[] departmentNames;
+    private final int[] departmentHeads;
+    private final int[] memberOffsets;
+    private final int[] memberLectors;
+    private final Map<String, Integer> departmentsByName;
+
+    UniversitySnapshot(
+            Instant builtAt,
+            long[] lectorIds,
+            int[] lectorNameCodes,
+            String[] nameDictionary,
+            byte[] lectorDegrees,
+            long[] lectorSalaryCents,
+            long[] departmentIds,
+            String[] departmentNames,
+            int[] departmentHeads,
+            int[] memberOffsets,
+            int[] memberLectors,
+            Map<String, Integer> departmentsByName
+    ) {
+        this.builtAt = builtAt;
+        this.lectorIds = lectorIds;
+        this.lectorNameCodes = lectorNameCodes;
+        this.nameDictionary = nameDictionary;
+        this.lectorDegrees = lectorDegrees;
+        this.lectorSalaryCents = lectorSalaryCents;
+        this.departmentIds = departmentIds;
+        this.departmentNames = departmentNames;
+        this.departmentHeads = departmentHeads;
+        this.memberOffsets = memberOffsets;
+        this.memberLectors = memberLectors;
+        this.departmentsByName = departmentsByName;
+    }
+
+    public Instant builtAt() {
+        return this.builtAt;
+    }
+
+    /**
+     * Finds a department by its normalized name.
+     *
+     * @param normalizedName the department name with collapsed whitespace
+     * @return the index of the department, or {@code -1} if the snapshot has no such department
+     */
+    public int department(String normalizedName) {
+        Integer department = this.departmentsByName.get(normalizedName);
+        return department == null ? -1 : department;
+    }
+
+    /**
+     * Returns the summary of a department.
+     *
+     * @param department the index of the department
+     * @return the summary, with the number of members as employee count
+     */
+    public DepartmentSummary summary(int department) {
+        int head = this.departmentHeads[department];
+        return new DepartmentSummary(
+                this.departmentIds[department],
+                this.departmentNames[department],
+                head == NO_LECTOR ? null : this.lectorIds[head],
+                head == NO_LECTOR ? null : lectorName(head),
+                this.memberOffsets[department + 1] - this.memberOffsets[department]
+        );
+    }
+
+    /**
+     * Aggregates the members of a department into a detached statistics row.
+     *
+     * @param department the index of the department
+     * @return the statistics of the department
+     */
+    public DepartmentStats stats(int department) {
+        long salaryCents = 0;
+        long salaryCount = 0;
+        long[] degreeCounts = new long[DEGREES.length];
+        for (int i = this.memberOffsets[department]; i < this.memberOffsets[department + 1]; i++) {
+            int lector = this.memberLectors[i];
+            long cents = this.lectorSalaryCents[lector];
+            if (cents != NO_SALARY) {
+                salaryCents += cents;
+                salaryCount++;
+            }
+            byte degree = this.lectorDegrees[lector];
+            if (degree != NO_DEGREE) {
+                degreeCounts[degree]++;
+            }
+        }
+        return new DepartmentStats(
+                this.departmentIds[department],
+                (long) (this.memberOffsets[department + 1] - this.memberOffsets[department]),
+                BigDecimal.valueOf(salaryCents, 2),
+                salaryCount,
+                degreeCounts[Degree.ASSISTANT.ordinal()],
+                degreeCounts[Degree.ASSOCIATE_PROFESSOR.ordinal()],
+                degreeCounts[Degree.PROFESSOR.ordinal()]
+        );
+    }
+
+    /**
+     * Returns the ids of the members of a department.
+     *
+     * @param department the index of the department
+     * @return the lector ids
+     */
+    public Set<Long> employeeIds(int department) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = this.memberOffsets[department]; i < this.memberOffsets[department + 1]; i++) {
+            ids.add(this.lectorIds[this.memberLectors[i]]);
+        }
+        return ids;
+    }
+
+    /**
+     * Copies the salaries of one department into a salary table.
+     *
+     * @param department the index of the department
+     * @return a table with the department as its only group
+     */
+    public SalaryTable salaries(int department) {
+        SalaryTable.Builder builder = new SalaryTable.Builder();
+        addSalaries(builder, department);
+        return builder.build();
+    }
+
+    /**
+     * Copies the salaries of every department with at least one salaried member into a salary table,
+     * in department id order.
+     *
+     * @return the salaries of all departments
+     */
+    public SalaryTable salaries() {
+        SalaryTable.Builder builder = new SalaryTable.Builder();
+        for (int department = 0; department < this.departmentIds.length; department++) {
+            if (hasSalaries(department)) {
+                addSalaries(builder, department);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Estimates the heap footprint of the snapshot.
+     *
+     * @return the footprint
+     */
+    public SnapshotFootprint footprint() {
+        int lectors = this.lectorIds.length;
+        int departments = this.departmentIds.length;
+        long dictionaryBytes = ARRAY_HEADER_BYTES + 4L * this.nameDictionary.length;
+        for (String name : this.nameDictionary) {
+            dictionaryBytes += stringBytes(name);
+        }
+        long departmentBytes = 3 * ARRAY_HEADER_BYTES + (8L + 4 + 4) * departments
+                + MAP_ENTRY_BYTES * this.departmentsByName.size();
+        for (String name : this.departmentNames) {
+            departmentBytes += stringBytes(name);
+        }
+        return new SnapshotFootprint(
+                lectors,
+                this.nameDictionary.length,
+                departments,
+                this.memberLectors.length,
+                4 * ARRAY_HEADER_BYTES + (8L + 4 + 1 + 8) * lectors,
+                2 * ARRAY_HEADER_BYTES + 4L * this.memberOffsets.length + 4L * this.memberLectors.length,
+                departmentBytes,
+                dictionaryBytes
+        );
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    private String lectorName(int lector) {
+        return this.nameDictionary[this.lectorNameCodes[lector]];
+    }
+
+    private boolean hasSalaries(int department) {
+        for (int i = this.memberOffsets[department]; i < this.memberOffsets[department + 1]; i++) {
+            if (this.lectorSalaryCents[this.memberLectors[i]] != NO_SALARY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addSalaries(SalaryTable.Builder builder, int department) {
+        builder.department(this.departmentIds[department], this.departmentNames[department]);
+        for (int i = this.memberOffsets[department]; i < this.memberOffsets[department + 1]; i++) {
+            int lector = this.memberLectors[i];
+            long cents = this.lectorSalaryCents[lector];
+            if (cents != NO_SALARY) {
+                builder.salary(cents, this.lectorDegrees[lector]);
+            }
+        }
+    }
+}
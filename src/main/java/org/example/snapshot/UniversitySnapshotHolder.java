@@ -0,0 +1,242 @@
+package org.example.snapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.bulkimport.LectorsImportedEvent;
+import org.example.entity.listener.DepartmentChangedEvent;
+import org.example.entity.listener.LectorChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link UniversitySnapshot} and replaces it on a fixed schedule.
+ * <p>
+ * With {@code snapshot.enabled=true}, the first snapshot is built once all singletons are created, so it is
+ * available before the console or the web server take requests. A new snapshot is then built every
+ * {@code snapshot.refresh-interval} and after every {@link LectorsImportedEvent}, and published with a
+ * single volatile write: readers see either the old or the new snapshot, never a mix. A failed refresh
+ * keeps the previous snapshot.
+ * <p>
+ * A committed {@link DepartmentChangedEvent} or {@link LectorChangedEvent} makes the snapshot stale:
+ * {@link #current()} returns {@code null}, so reads go to the database, and a rebuild is queued on the
+ * refresh thread. Changes arriving while it runs are coalesced into one more rebuild. A snapshot built while
+ * a change was committed stays bypassed, as its scans may have missed the change. Changes made outside this
+ * application, by another instance or by SQL, are only seen by the next scheduled refresh.
+ * <p>
+ * Publishes the {@code university.snapshot.lectors} and {@code university.snapshot.memory} gauges and the
+ * {@code university.snapshot.refresh} timer, and logs the footprint of every new snapshot.
+ */
+@Component
+public class UniversitySnapshotHolder implements SmartInitializingSingleton, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(UniversitySnapshotHolder.class);
+
+    private final SnapshotLoader loader;
+    private final Duration refreshInterval;
+    private final Timer refreshTimer;
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile Published published;
+    private volatile SnapshotFootprint footprint = new SnapshotFootprint(0, 0, 0, 0, 0, 0, 0, 0);
+    private volatile ScheduledExecutorService refresher;
+
+    @Autowired
+    public UniversitySnapshotHolder(
+            @Value("${snapshot.enabled:false}") boolean enabled,
+            @Value("${snapshot.refresh-interval:PT5M}") Duration refreshInterval,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.loader = enabled ? new SnapshotLoader(dataSource, transactionManager) : null;
+        this.refreshInterval = refreshInterval;
+        MeterRegistry registry = enabled ? meterRegistry.getIfAvailable() : null;
+        this.refreshTimer = registry == null ? null : Timer.builder("university.snapshot.refresh")
+                .description("Time to build the columnar university snapshot")
+                .register(registry);
+        if (registry != null) {
+            Gauge.builder("university.snapshot.lectors", this, holder -> holder.footprint().lectors())
+                    .description("Lectors in the columnar university snapshot")
+                    .register(registry);
+            Gauge.builder("university.snapshot.memory", this, holder -> holder.footprint().totalBytes())
+                    .description("Estimated heap footprint of the columnar university snapshot")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    private UniversitySnapshotHolder() {
+        this.loader = null;
+        this.refreshInterval = null;
+        this.refreshTimer = null;
+    }
+
+    /**
+     * Creates a holder that never has a snapshot.
+     *
+     * @return a disabled holder
+     */
+    public static UniversitySnapshotHolder disabled() {
+        return new UniversitySnapshotHolder();
+    }
+
+    /**
+     * Builds the first snapshot and schedules the refreshes.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (this.loader == null) {
+            return;
+        }
+        refresh();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("snapshot-refresh").daemon().factory()
+        );
+        long intervalMillis = this.refreshInterval.toMillis();
+        this.refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.refresher != null) {
+            this.refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the snapshot to answer from.
+     *
+     * @return the current snapshot, or {@code null} if snapshots are disabled or none was built yet
+     */
+    public UniversitySnapshot current() {
+        Published current = this.published;
+        return current == null || current.changes() != this.changes.get() ? null : current.snapshot();
+    }
+
+    /**
+     * Returns the estimated heap footprint of the current snapshot.
+     *
+     * @return the footprint, all zero while there is no snapshot
+     */
+    public SnapshotFootprint footprint() {
+        return this.footprint;
+    }
+
+    /**
+     * Builds a new snapshot and swaps it in.
+     *
+     * @return the new snapshot
+     * @throws IllegalStateException if snapshots are disabled
+     */
+    public synchronized UniversitySnapshot refresh() {
+        if (this.loader == null) {
+            throw new IllegalStateException("University snapshots are disabled");
+        }
+        long startTime = System.nanoTime();
+        long changesBefore = this.changes.get();
+        UniversitySnapshot rebuilt = this.loader.load();
+        this.published = new Published(rebuilt, changesBefore);
+        long timeTaken = System.nanoTime() - startTime;
+        if (this.refreshTimer != null) {
+            this.refreshTimer.record(timeTaken, TimeUnit.NANOSECONDS);
+        }
+        SnapshotFootprint footprint = rebuilt.footprint();
+        this.footprint = footprint;
+        logger.info("University snapshot built in {} ms: {} lectors ({} distinct names), {} departments, "
+                        + "{} memberships, ~{} KiB (lectors {} KiB, memberships {} KiB, departments {} KiB, names {} KiB)",
+                TimeUnit.NANOSECONDS.toMillis(timeTaken),
+                footprint.lectors(),
+                footprint.distinctNames(),
+                footprint.departments(),
+                footprint.memberships(),
+                footprint.totalBytes() / 1024,
+                footprint.lectorColumnBytes() / 1024,
+                footprint.membershipBytes() / 1024,
+                footprint.departmentBytes() / 1024,
+                footprint.dictionaryBytes() / 1024);
+        return rebuilt;
+    }
+
+    /**
+     * Refreshes the snapshot after a lector import, which publishes no per-lector changes.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorsImported(LectorsImportedEvent event) {
+        if (this.loader != null) {
+            this.changes.incrementAndGet();
+            refreshQuietly();
+        }
+    }
+
+    /**
+     * Bypasses the snapshot until it is rebuilt after a department change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Bypasses the snapshot until it is rebuilt after a lector change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectorChanged(LectorChangedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (this.loader == null) {
+            return;
+        }
+        this.changes.incrementAndGet();
+        ScheduledExecutorService refresher = this.refresher;
+        if (refresher != null && this.rebuildQueued.compareAndSet(false, true)) {
+            try {
+                refresher.execute(() -> {
+                    this.rebuildQueued.set(false);
+                    refreshQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                this.rebuildQueued.set(false);
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("University snapshot refresh failed, keeping the previous snapshot", e);
+        }
+    }
+
+    /**
+     * A snapshot with the number of changes committed before its scans started.
+     */
+    private record Published(UniversitySnapshot snapshot, long changes) {
+    }
+}
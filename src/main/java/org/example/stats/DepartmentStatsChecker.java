@@ -0,0 +1,117 @@
+package org.example.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.example.annotations.Loggable;
+import org.example.entity.DepartmentStats;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.DepartmentChangedEvent;
+import org.example.repositrory.DepartmentStatsRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies the trigger-maintained {@code department_stats} table.
+ * <p>
+ * The aggregates of every department are recomputed from {@code department_lector} and {@code lectors}
+ * and compared with the stored rows. Both reads run in one repeatable read transaction, so they see the same
+ * snapshot while writers keep going. Databases without the V5 triggers, such as the in-memory H2 of tests
+ * and benchmarks, fill the table with {@link #repair()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentStatsChecker {
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Recomputes the statistics of all departments and reports the rows that differ.
+     *
+     * @return the mismatching rows, empty if the table is consistent
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public List<DepartmentStatsMismatch> check() {
+        return findMismatches(this.departmentStatsRepository.findAll(), this.departmentStatsRepository.recomputeAll());
+    }
+
+    /**
+     * Recomputes the statistics of all departments and overwrites the rows that differ.
+     * A {@link DepartmentChangedEvent} is published for every repaired department, as cached
+     * department summaries hold employee counts read from the table.
+     *
+     * @return the number of repaired rows
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public int repair() {
+        return overwrite(findMismatches(this.departmentStatsRepository.findAll(),
+                this.departmentStatsRepository.recomputeAll()));
+    }
+
+    /**
+     * Recomputes the statistics of the given departments and overwrites the rows that differ, publishing a
+     * {@link DepartmentChangedEvent} for each, like {@link #repair()}.
+     *
+     * @param departmentIds the ids of the departments
+     * @return the number of repaired rows
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Loggable(
+            logArguments = true,
+            logReturnValue = true,
+            logException = true
+    )
+    public int repair(Collection<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return 0;
+        }
+        return overwrite(findMismatches(this.departmentStatsRepository.findAllById(departmentIds),
+                this.departmentStatsRepository.recompute(departmentIds)));
+    }
+
+    private int overwrite(List<DepartmentStatsMismatch> mismatches) {
+        for (DepartmentStatsMismatch mismatch : mismatches) {
+            if (mismatch.actual() == null) {
+                this.departmentStatsRepository.save(mismatch.expected());
+            } else {
+                mismatch.actual().copyAggregates(mismatch.expected());
+            }
+            this.eventPublisher.publishEvent(new DepartmentChangedEvent(mismatch.departmentId(), ChangeType.UPDATED));
+        }
+        return mismatches.size();
+    }
+
+    private static List<DepartmentStatsMismatch> findMismatches(
+            List<DepartmentStats> storedRows,
+            List<DepartmentStats> recomputedRows
+    ) {
+        Map<Long, DepartmentStats> stored = new HashMap<>();
+        for (DepartmentStats row : storedRows) {
+            stored.put(row.getDepartmentId(), row);
+        }
+        List<DepartmentStatsMismatch> mismatches = new ArrayList<>();
+        for (DepartmentStats expected : recomputedRows) {
+            DepartmentStats actual = stored.get(expected.getDepartmentId());
+            if (actual == null || !expected.hasSameAggregates(actual)) {
+                mismatches.add(new DepartmentStatsMismatch(expected.getDepartmentId(), expected, actual));
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.stats;
+
+import org.example.entity.DepartmentStats;
+
+/**
+ * A {@code department_stats} row that differs from the aggregates recomputed from the memberships.
+ *
+ * @param departmentId the department id
+ * @param expected the recomputed aggregates
+ * @param actual the stored aggregates, or {@code null} if the row is missing
+ */
+public record DepartmentStatsMismatch(Long departmentId, DepartmentStats expected, DepartmentStats actual) {
+}
@@ -0,0 +1,179 @@
+package org.example.warmup;
+
+import org.example.config.HikariPoolSizing;
+import org.example.entity.Department;
+import org.example.repositrory.DepartmentRepository;
+import org.example.service.DepartmentService;
+import org.example.service.LectorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the service hot paths before the application takes work, so the first requests do not pay for
+ * connection setup, statement preparation, Hibernate query plans and interpreted code.
+ * <p>
+ * The warmup starts in a lifecycle phase before the web server, and the console runner only starts once the
+ * context is refreshed. It picks a department from the database and calls every read method of the services
+ * {@code warmup.iterations} times, spread over {@code warmup.concurrency} virtual threads so that every pooled
+ * connection prepares the statements. The concurrency defaults to the maximum size of the Hikari pool, read
+ * from the pool itself as it may have been sized at startup. A failing call is logged and does not stop the startup.
+ * Enabled with {@code warmup.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class StartupWarmup implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+    /** Just before the web server starts. */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    private static final String SEARCH_TERM = "an";
+    private static final int DEFAULT_CONCURRENCY = 10;
+
+    private final DepartmentService departmentService;
+    private final LectorService lectorService;
+    private final DepartmentRepository departmentRepository;
+    private final int iterations;
+    private final int concurrency;
+    private volatile boolean running;
+
+    @Autowired
+    public StartupWarmup(
+            DepartmentService departmentService,
+            LectorService lectorService,
+            DepartmentRepository departmentRepository,
+            @Value("${warmup.iterations:200}") int iterations,
+            @Value("${warmup.concurrency:0}") int concurrency,
+            ObjectProvider<DataSource> dataSource
+    ) {
+        this(
+                departmentService,
+                lectorService,
+                departmentRepository,
+                iterations,
+                concurrency > 0
+                        ? concurrency
+                        : HikariPoolSizing.maximumPoolSize(dataSource.getIfAvailable(), DEFAULT_CONCURRENCY)
+        );
+    }
+
+    StartupWarmup(
+            DepartmentService departmentService,
+            LectorService lectorService,
+            DepartmentRepository departmentRepository,
+            int iterations,
+            int concurrency
+    ) {
+        this.departmentService = departmentService;
+        this.lectorService = lectorService;
+        this.departmentRepository = departmentRepository;
+        this.iterations = iterations;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    @Override
+    public void start() {
+        long startTime = System.nanoTime();
+        String departmentName = this.departmentRepository.findAll(PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(Department::getDepartmentName)
+                .orElse(null);
+        int calls = warmUp(departmentName);
+        logger.info("Warmed up {} service calls in {} ms",
+                calls, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        this.running = true;
+    }
+
+    /**
+     * Runs the warmup rounds concurrently and waits for them.
+     *
+     * @param departmentName a department to read, or {@code null} to warm up the search only
+     * @return the number of service calls made
+     */
+    int warmUp(String departmentName) {
+        int rounds = Math.max(1, this.iterations / this.concurrency);
+        List<Future<Integer>> workers = new ArrayList<>(this.concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < this.concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    int calls = 0;
+                    for (int round = 0; round < rounds; round++) {
+                        calls += round(departmentName);
+                    }
+                    return calls;
+                }));
+            }
+        }
+        int calls = 0;
+        for (Future<Integer> worker : workers) {
+            try {
+                calls += worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.warn("Warmup worker failed", e.getCause());
+            }
+        }
+        return calls;
+    }
+
+    private int round(String departmentName) {
+        int calls = call(() -> this.lectorService.searchByNameContaining(SEARCH_TERM, 50, 0));
+        if (departmentName == null) {
+            return calls;
+        }
+        List<String> departmentNames = List.of(departmentName);
+        calls += call(() -> this.departmentService.findByName(departmentName));
+        calls += call(() -> this.departmentService.findDetailsByName(departmentName));
+        calls += call(() -> this.departmentService.fetchHeadOfDepartment(departmentName));
+        calls += call(() -> this.departmentService.fetchHeadOfDepartmentDetails(departmentName));
+        calls += call(() -> this.departmentService.fetchDegreeHistogram(departmentName));
+        calls += call(() -> this.departmentService.fetchAverageSalary(departmentName));
+        calls += call(() -> this.departmentService.fetchSalaryDistribution(departmentName));
+        calls += call(() -> this.departmentService.fetchEmployeeCount(departmentName));
+        calls += call(() -> this.departmentService.fetchEmployees(departmentName));
+        calls += call(() -> this.departmentService.findSummaries(departmentNames));
+        calls += call(() -> this.departmentService.fetchDegreeHistograms(departmentNames));
+        calls += call(() -> this.departmentService.fetchAverageSalaries(departmentNames));
+        return calls;
+    }
+
+    private int call(Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            logger.debug("Warmup call failed: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
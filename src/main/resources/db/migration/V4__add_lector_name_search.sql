@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE lectors
+    ADD COLUMN IF NOT EXISTS name_search TEXT GENERATED ALWAYS AS (lower(name)) STORED;
+
+-- ranked, case-insensitive search over the normalized column
+CREATE INDEX IF NOT EXISTS lectors_name_search_trgm_idx ON lectors USING gin (name_search gin_trgm_ops);
+
+-- keeps the case-sensitive LIKE '%...%' of findByNameContaining off a sequential scan
+CREATE INDEX IF NOT EXISTS lectors_name_trgm_idx ON lectors USING gin (name gin_trgm_ops);
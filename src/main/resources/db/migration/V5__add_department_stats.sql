@@ -0,0 +1,118 @@
+-- per-department aggregates read by primary key instead of joining department_lector on every request
+CREATE TABLE IF NOT EXISTS department_stats (
+    department_id BIGINT PRIMARY KEY,
+    headcount BIGINT NOT NULL DEFAULT 0,
+    salary_sum NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    salary_count BIGINT NOT NULL DEFAULT 0,
+    assistants BIGINT NOT NULL DEFAULT 0,
+    associate_professors BIGINT NOT NULL DEFAULT 0,
+    professors BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (department_id) REFERENCES departments(id) ON DELETE CASCADE
+);
+
+-- adds (p_sign = 1) or removes (p_sign = -1) one lector from the aggregates of a department
+CREATE OR REPLACE FUNCTION department_stats_apply(
+    p_department_id BIGINT,
+    p_degree VARCHAR,
+    p_salary NUMERIC,
+    p_sign INTEGER
+) RETURNS VOID AS
+$$
+BEGIN
+    UPDATE department_stats
+    SET headcount = headcount + p_sign,
+        salary_sum = salary_sum + p_sign * COALESCE(p_salary, 0),
+        salary_count = salary_count + CASE WHEN p_salary IS NULL THEN 0 ELSE p_sign END,
+        assistants = assistants + CASE WHEN p_degree = 'ASSISTANT' THEN p_sign ELSE 0 END,
+        associate_professors = associate_professors + CASE WHEN p_degree = 'ASSOCIATE_PROFESSOR' THEN p_sign ELSE 0 END,
+        professors = professors + CASE WHEN p_degree = 'PROFESSOR' THEN p_sign ELSE 0 END
+    WHERE department_id = p_department_id;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION department_stats_on_department() RETURNS TRIGGER AS
+$$
+BEGIN
+    INSERT INTO department_stats (department_id) VALUES (NEW.id) ON CONFLICT DO NOTHING;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION department_stats_on_membership() RETURNS TRIGGER AS
+$$
+DECLARE
+    member RECORD;
+BEGIN
+    -- FOR SHARE waits for a concurrent update of the lector's degree or salary and reads the committed values;
+    -- that update's own trigger cannot see this uncommitted membership and would not count it
+    IF TG_OP = 'INSERT' THEN
+        SELECT degree, salary INTO member FROM lectors WHERE id = NEW.lector_id FOR SHARE;
+        PERFORM department_stats_apply(NEW.department_id, member.degree, member.salary, 1);
+        RETURN NEW;
+    END IF;
+    -- a membership removed by deleting its lector was already subtracted by department_stats_on_lector
+    SELECT degree, salary INTO member FROM lectors WHERE id = OLD.lector_id FOR SHARE;
+    IF FOUND THEN
+        PERFORM department_stats_apply(OLD.department_id, member.degree, member.salary, -1);
+    END IF;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION department_stats_on_lector() RETURNS TRIGGER AS
+$$
+DECLARE
+    membership RECORD;
+BEGIN
+    FOR membership IN SELECT department_id FROM department_lector WHERE lector_id = OLD.id LOOP
+        PERFORM department_stats_apply(membership.department_id, OLD.degree, OLD.salary, -1);
+        IF TG_OP = 'UPDATE' THEN
+            PERFORM department_stats_apply(membership.department_id, NEW.degree, NEW.salary, 1);
+        END IF;
+    END LOOP;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS department_stats_department_insert ON departments;
+CREATE TRIGGER department_stats_department_insert
+    AFTER INSERT ON departments
+    FOR EACH ROW EXECUTE FUNCTION department_stats_on_department();
+
+DROP TRIGGER IF EXISTS department_stats_membership_change ON department_lector;
+CREATE TRIGGER department_stats_membership_change
+    AFTER INSERT OR DELETE ON department_lector
+    FOR EACH ROW EXECUTE FUNCTION department_stats_on_membership();
+
+DROP TRIGGER IF EXISTS department_stats_lector_update ON lectors;
+CREATE TRIGGER department_stats_lector_update
+    AFTER UPDATE OF degree, salary ON lectors
+    FOR EACH ROW
+    WHEN (OLD.degree IS DISTINCT FROM NEW.degree OR OLD.salary IS DISTINCT FROM NEW.salary)
+    EXECUTE FUNCTION department_stats_on_lector();
+
+-- runs before the cascade removes the memberships, while they can still be found
+DROP TRIGGER IF EXISTS department_stats_lector_delete ON lectors;
+CREATE TRIGGER department_stats_lector_delete
+    BEFORE DELETE ON lectors
+    FOR EACH ROW EXECUTE FUNCTION department_stats_on_lector();
+
+-- backfills the departments created by earlier migrations
+INSERT INTO department_stats (
+    department_id, headcount, salary_sum, salary_count, assistants, associate_professors, professors
+)
+SELECT d.id,
+       COUNT(l.id),
+       COALESCE(SUM(l.salary), 0),
+       COUNT(l.salary),
+       COUNT(*) FILTER (WHERE l.degree = 'ASSISTANT'),
+       COUNT(*) FILTER (WHERE l.degree = 'ASSOCIATE_PROFESSOR'),
+       COUNT(*) FILTER (WHERE l.degree = 'PROFESSOR')
+FROM departments d
+         LEFT JOIN department_lector dl ON dl.department_id = d.id
+         LEFT JOIN lectors l ON l.id = dl.lector_id
+GROUP BY d.id
+ON CONFLICT (department_id) DO NOTHING;
@@ -0,0 +1,9 @@
+-- Hibernate draws ids in blocks of 50 (pooled-lo): a sequence value v reserves the ids v .. v + 49
+ALTER SEQUENCE lectors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE departments_id_seq INCREMENT BY 50;
+
+-- V3 inserted explicit ids without advancing the sequences; restart them after the highest id in use
+SELECT setval('lectors_id_seq', COALESCE((SELECT MAX(id) FROM lectors), 0) + 1, false);
+SELECT setval('departments_id_seq', COALESCE((SELECT MAX(id) FROM departments), 0) + 1, false);
+
+-- the column defaults keep drawing from the sequences, every plain INSERT takes the first id of a block
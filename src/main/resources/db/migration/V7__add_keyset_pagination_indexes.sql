@@ -0,0 +1,3 @@
+-- keyset pages of lectors of one degree: WHERE degree = ? AND id > ? ORDER BY id LIMIT ?
+-- pages over all lectors and all departments seek on the primary keys
+CREATE INDEX IF NOT EXISTS lectors_degree_id_idx ON lectors (degree, id);
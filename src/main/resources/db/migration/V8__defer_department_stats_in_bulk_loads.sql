@@ -0,0 +1,8 @@
+-- a bulk load sets department_stats.deferred to 'on' for its transaction, skips the per-row maintenance of the
+-- statistics while it inserts memberships and recomputes the departments it touched once afterwards
+DROP TRIGGER IF EXISTS department_stats_membership_change ON department_lector;
+CREATE TRIGGER department_stats_membership_change
+    AFTER INSERT OR DELETE ON department_lector
+    FOR EACH ROW
+    WHEN (current_setting('department_stats.deferred', true) IS DISTINCT FROM 'on')
+    EXECUTE FUNCTION department_stats_on_membership();
@@ -0,0 +1,92 @@
+package org.example.aspect;
+
+import org.example.dto.KeysetPage;
+import org.example.entity.Lector;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CappedRenderingTest {
+
+    @Test
+    void result_shortValues_renderedLikeToString() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        assertEquals("[1, 2, 3]", CappedRendering.result(List.of(1, 2, 3), 200).toString());
+        assertEquals("{a=1, b=2}", CappedRendering.result(map, 200).toString());
+        assertEquals("Optional[x]", CappedRendering.result(Optional.of("x"), 200).toString());
+        assertEquals("No result", CappedRendering.result(null, 200).toString());
+    }
+
+    @Test
+    void result_largeCollection_stopsRenderingAtCap() {
+        AtomicInteger rendered = new AtomicInteger();
+        List<Object> elements = IntStream.range(0, 1000)
+                .mapToObj(i -> new Object() {
+                    @Override
+                    public String toString() {
+                        rendered.incrementAndGet();
+                        return "element-" + i;
+                    }
+                })
+                .map(Object.class::cast)
+                .toList();
+
+        String result = CappedRendering.result(elements, 50).toString();
+
+        assertEquals(53, result.length());
+        assertTrue(result.endsWith(CappedRendering.TRUNCATED));
+        assertTrue(rendered.get() < 10);
+    }
+
+    @Test
+    void result_entity_typeAndIdWithoutToString() {
+        Lector lector = new Lector();
+        lector.setId(42L);
+        lector.setName("x".repeat(100_000));
+
+        assertEquals("Lector[id=42]", CappedRendering.result(lector, 200).toString());
+        assertEquals("[Lector[id=42]]", CappedRendering.result(List.of(lector), 200).toString());
+    }
+
+    @Test
+    void result_record_componentsRenderedUpToCap() {
+        AtomicInteger rendered = new AtomicInteger();
+        List<Object> items = IntStream.range(0, 1000)
+                .mapToObj(i -> new Object() {
+                    @Override
+                    public String toString() {
+                        rendered.incrementAndGet();
+                        return "item-" + i;
+                    }
+                })
+                .map(Object.class::cast)
+                .toList();
+
+        assertEquals(new KeysetPage<>(List.of("a"), 7L).toString(),
+                CappedRendering.result(new KeysetPage<>(List.of("a"), 7L), 200).toString());
+        String result = CappedRendering.result(new KeysetPage<>(items, 7L), 50).toString();
+
+        assertEquals(53, result.length());
+        assertTrue(result.startsWith("KeysetPage[items=[item-0, "));
+        assertTrue(rendered.get() < 10);
+    }
+
+    @Test
+    void arguments_moreThanMax_firstArgumentsRendered() {
+        Object[] args = {"a", 1, null, "b", 2, "c"};
+
+        assertEquals("a, 1, null, b, 2", CappedRendering.arguments(args, 5, 200).toString());
+        assertEquals("No arguments", CappedRendering.arguments(null, 5, 200).toString());
+    }
+}
@@ -1,140 +1,135 @@
 package org.example.aspect;
 
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.example.annotations.Loggable;
+import org.example.context.RequestContext;
+import org.example.context.RequestIdGenerator;
+import org.example.metrics.MethodMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.*;
-
-import static org.mockito.Mockito.*;
-
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.slf4j.MDC.get;
-import static org.slf4j.MDC.put;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LoggingAspectTest {
 
-    @InjectMocks
-    private LoggingAspect loggingAspect;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @Mock
-    private ProceedingJoinPoint proceedingJoinPoint;
+    private final LoggingAspect loggingAspect = new LoggingAspect(
+            new RequestIdGenerator("test"),
+            new MethodMetrics(this.meterRegistry)
+    );
 
     @Mock
-    private JoinPoint joinPoint;
+    private ProceedingJoinPoint proceedingJoinPoint;
 
     @Mock
     private Loggable loggable;
 
     @Mock
-    private Signature signature;
+    private MethodSignature signature;
 
     @BeforeEach
-    void setup() {
-        MockitoAnnotations.openMocks(this);
+    void setUp() throws NoSuchMethodException {
+        lenient().when(this.proceedingJoinPoint.getSignature()).thenReturn(this.signature);
+        lenient().when(this.signature.getMethod()).thenReturn(String.class.getMethod("length"));
     }
 
-    @Test
-    void logBefore_withArguments_loggingSuccess() {
-        when(this.joinPoint.getArgs()).thenReturn(new Object[]{"arg1", "arg2"});
-        when(this.loggable.logArguments()).thenReturn(true);
-        when(this.joinPoint.getSignature()).thenReturn(this.signature);
-        when(this.signature.getName()).thenReturn("testMethod");
-
-        this.loggingAspect.logBefore(this.joinPoint, this.loggable);
-
-        assertNotNull(get("requestId"));
-        verify(this.joinPoint, times(1)).getSignature();
-        verify(this.joinPoint, times(1)).getArgs();
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
     }
 
     @Test
-    void logBefore_withoutArguments_loggingSuccess() {
-        when(this.loggable.logArguments()).thenReturn(false);
-        when(this.joinPoint.getSignature()).thenReturn(this.signature);
+    void logAround_methodExecution_loggingSuccess() throws Throwable {
+        when(this.loggable.level()).thenReturn("INFO");
+        when(this.loggable.logArguments()).thenReturn(true);
+        when(this.loggable.logReturnValue()).thenReturn(true);
+        when(this.proceedingJoinPoint.proceed()).thenAnswer(invocation -> {
+            assertEquals("test-1", RequestContext.current().requestId());
+            assertEquals("test-1", MDC.get(RequestContext.MDC_KEY));
+            return "Success";
+        });
+        when(this.proceedingJoinPoint.getArgs()).thenReturn(new Object[]{"arg1", "arg2"});
+        when(this.signature.getName()).thenReturn("testMethod");
 
-        this.loggingAspect.logBefore(this.joinPoint, this.loggable);
+        Object result = this.loggingAspect.logAround(this.proceedingJoinPoint, this.loggable);
 
-        assertNotNull(get("requestId"));
-        verify(this.joinPoint, times(1)).getSignature();
+        verify(this.proceedingJoinPoint, times(1)).proceed();
+        assertEquals("Success", result);
+        assertNull(MDC.get(RequestContext.MDC_KEY));
+        assertEquals(1, this.meterRegistry.get(MethodMetrics.CALLS).tag("method", "length").timer().count());
+        assertEquals(0, this.meterRegistry.get(MethodMetrics.IN_FLIGHT).gauge().value());
     }
 
     @Test
-    void logAfter_methodExit_loggingSuccess() {
-        when(this.joinPoint.getSignature()).thenReturn(this.signature);
+    void logAround_methodExecutionWithException_loggingFailure() throws Throwable {
+        when(this.loggable.logException()).thenReturn(true);
         when(this.signature.getName()).thenReturn("testMethod");
+        when(this.proceedingJoinPoint.proceed()).thenThrow(new RuntimeException("Test Exception"));
 
-        put("requestId", "REQ-12345");
-
-        this.loggingAspect.logAfter(this.joinPoint);
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> this.loggingAspect.logAround(this.proceedingJoinPoint, this.loggable));
 
-        verify(this.joinPoint, times(1)).getSignature();
-        assertNull(get("requestId"));
+        assertEquals("Test Exception", thrown.getMessage());
+        verify(this.proceedingJoinPoint, times(1)).proceed();
+        assertNull(MDC.get(RequestContext.MDC_KEY));
+        assertEquals(1, this.meterRegistry.get(MethodMetrics.ERRORS).counter().count());
     }
 
     @Test
-    void logAfterThrowing_withException_loggingSuccess() {
-        when(this.joinPoint.getSignature()).thenReturn(this.signature);
+    void logAround_nestedCall_outerRequestContextKept() throws Throwable {
+        when(this.loggable.level()).thenReturn("INFO");
+        when(this.proceedingJoinPoint.proceed()).thenAnswer(invocation -> {
+            assertEquals("REQ-12345", MDC.get(RequestContext.MDC_KEY));
+            return "Success";
+        });
         when(this.signature.getName()).thenReturn("testMethod");
-        when(this.loggable.logException()).thenReturn(true);
-        Throwable exception = new RuntimeException("Test Exception");
-
-        put("requestId", "REQ-12345");
+        MDC.put("user", "admin");
 
-        loggingAspect.logAfterThrowing(this.joinPoint, exception, this.loggable);
+        try (RequestContext.Scope ignored = RequestContext.open("REQ-12345")) {
+            this.loggingAspect.logAround(this.proceedingJoinPoint, this.loggable);
 
-        verify(this.joinPoint, times(1)).getSignature();
+            assertEquals("REQ-12345", MDC.get(RequestContext.MDC_KEY));
+            assertEquals("admin", MDC.get("user"));
+        }
     }
 
     @Test
-    void logAround_methodExecution_loggingSuccess() throws Throwable {
-        when(this.loggable.logReturnValue()).thenReturn(true);
+    void logAround_levelDisabled_nothingRendered() throws Throwable {
+        when(this.loggable.level()).thenReturn("TRACE");
         when(this.proceedingJoinPoint.proceed()).thenReturn("Success");
-        when(this.proceedingJoinPoint.getSignature()).thenReturn(this.signature);
-        when(this.signature.getName()).thenReturn("testMethod");
-
-        put("requestId", "REQ-12345");
 
         Object result = this.loggingAspect.logAround(this.proceedingJoinPoint, this.loggable);
 
-        verify(this.proceedingJoinPoint, times(1)).proceed();
         assertEquals("Success", result);
-        assertNull(get("requestId"));
-    }
-
-    @Test
-    void logAround_methodExecutionWithException_loggingFailure() throws Throwable {
-        when(this.proceedingJoinPoint.getSignature()).thenReturn(this.signature);
-        when(this.signature.getName()).thenReturn("testMethod");
-        when(this.proceedingJoinPoint.proceed()).thenThrow(new RuntimeException("Test Exception"));
-
-        put("requestId", "REQ-12345");
-
-        RuntimeException thrown = assertThrows(RuntimeException.class, () -> loggingAspect.logAround(this.proceedingJoinPoint, this.loggable));
-
-        assertEquals("Test Exception", thrown.getMessage());
-        verify(this.proceedingJoinPoint, times(1)).proceed();
-        assertNull(get("requestId"));
+        verify(this.proceedingJoinPoint, never()).getArgs();
+        verify(this.signature, never()).getName();
+        verify(this.loggable, never()).logReturnValue();
+        assertEquals(1, this.meterRegistry.get(MethodMetrics.CALLS).timer().count());
     }
 
     @Test
-    void logResult_withLongResult_truncated() {
+    void renderResult_withLongResult_truncated() {
         String longResult = "A".repeat(250);
-        String result = this.loggingAspect.logResult(longResult);
+        String result = this.loggingAspect.renderResult(longResult).toString();
         assertTrue(result.length() <= 203);
         assertTrue(result.endsWith("..."));
     }
 
     @Test
-    void generateRequestId_validInvocation_returnsRequestId() {
-        String requestId = this.loggingAspect.generateRequestId();
-        assertTrue(requestId.startsWith("REQ-"));
+    void resolveLevel_levelName_caseIgnoredAndInfoByDefault() {
+        assertEquals(Level.DEBUG, LoggingAspect.resolveLevel("debug"));
+        assertEquals(Level.WARN, LoggingAspect.resolveLevel("WARN"));
+        assertEquals(Level.INFO, LoggingAspect.resolveLevel("verbose"));
     }
 }
-
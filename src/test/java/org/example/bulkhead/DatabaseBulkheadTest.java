@@ -0,0 +1,40 @@
+package org.example.bulkhead;
+
+import org.example.exceptionHandling.customExceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatabaseBulkheadTest {
+
+    private final DatabaseBulkhead databaseBulkhead = new DatabaseBulkhead(2, Duration.ofMillis(10));
+
+    @Test
+    void call_permitAvailable_resultReturnedAndPermitReleased() {
+        assertEquals("result", this.databaseBulkhead.call("Medicine", () -> "result"));
+        assertEquals(2, this.databaseBulkhead.availablePermits());
+    }
+
+    @Test
+    void call_callThrows_permitReleased() {
+        assertThrows(IllegalStateException.class, () -> this.databaseBulkhead.call("Medicine", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(2, this.databaseBulkhead.availablePermits());
+    }
+
+    @Test
+    void acquire_allPermitsTaken_serviceUnavailableAfterTimeout() {
+        this.databaseBulkhead.acquire("first");
+        this.databaseBulkhead.acquire("second");
+
+        ServiceUnavailableException thrown = assertThrows(ServiceUnavailableException.class,
+                () -> this.databaseBulkhead.acquire("third"));
+
+        assertEquals(503, thrown.getErrorCode());
+        assertEquals("third", thrown.getResourceId());
+    }
+}
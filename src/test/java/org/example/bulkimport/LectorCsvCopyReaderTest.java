@@ -0,0 +1,45 @@
+package org.example.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorCsvCopyReaderTest {
+
+    @Test
+    void read_blankLines_droppedAndRowsMappedToFileLines() throws IOException {
+        LectorCsvCopyReader reader = open("""
+                name,degree,salary,is_head_of_department,departments
+
+                Smith,PROFESSOR,1500,false,Mathematics
+                \s\s
+                Lee,,,false,
+
+                """);
+        StringWriter copied = new StringWriter();
+
+        reader.transferTo(copied);
+
+        assertEquals("""
+                name,degree,salary,is_head_of_department,departments
+                Smith,PROFESSOR,1500,false,Mathematics
+                Lee,,,false,
+                """, copied.toString());
+        assertEquals(3, reader.fileLine(1));
+        assertEquals(5, reader.fileLine(2));
+    }
+
+    @Test
+    void new_missingHeader_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> open("Smith,PROFESSOR,1500,false,Mathematics\n"));
+    }
+
+    private static LectorCsvCopyReader open(String content) throws IOException {
+        return new LectorCsvCopyReader(new BufferedReader(new StringReader(content)));
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.bulkimport;
+
+import org.example.enums.Degree;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorCsvReaderTest {
+
+    @Test
+    void next_quotedAndEmptyFields_parsed() throws IOException {
+        LectorCsvReader reader = open("""
+                name,degree,salary,is_head_of_department,departments
+                "Smith, John",PROFESSOR,1500.50,true,Mathematics | Physics|
+                
+                "Anna ""Ann"" Lee",,,false,
+                """);
+
+        LectorImportRow smith = reader.next();
+        LectorImportRow lee = reader.next();
+
+        assertEquals(new LectorImportRow(2, "Smith, John", Degree.PROFESSOR, new BigDecimal("1500.50"), true,
+                List.of("Mathematics", "Physics")), smith);
+        assertEquals(new LectorImportRow(4, "Anna \"Ann\" Lee", null, null, false, List.of()), lee);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_unknownDegree_lineReported() throws IOException {
+        LectorCsvReader reader = open("""
+                name,degree,salary,is_head_of_department,departments
+                Smith,DEAN,1500,false,Mathematics
+                """);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, reader::next);
+
+        assertEquals("Line 2: unknown degree DEAN", thrown.getMessage());
+    }
+
+    @Test
+    void next_headOfDepartmentFlag_onlyTrueOrFalseAccepted() throws IOException {
+        LectorCsvReader reader = open("""
+                name,degree,salary,is_head_of_department,departments
+                Smith,PROFESSOR,1500,TRUE,Mathematics
+                Lee,ASSISTANT,900,yes,Mathematics
+                """);
+
+        assertTrue(reader.next().headOfDepartment());
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, reader::next);
+
+        assertEquals("Line 3: invalid head of department flag yes, expected true or false", thrown.getMessage());
+    }
+
+    @Test
+    void new_missingHeader_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> open("Smith,PROFESSOR,1500,false,Mathematics\n"));
+    }
+
+    private static LectorCsvReader open(String content) throws IOException {
+        return new LectorCsvReader(new BufferedReader(new StringReader(content)));
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.bulkimport;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.stats.DepartmentStatsChecker;
+import org.example.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@EnabledIf("org.example.support.PostgresTestDatabase#available")
+class LectorImporterPostgresTest {
+
+    private final DepartmentStatsChecker departmentStatsChecker = mock(DepartmentStatsChecker.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private LectorImporter lectorImporter;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestDatabase.dataSource();
+        PostgresTestDatabase.truncate();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.lectorImporter = new LectorImporter(
+                dataSource,
+                new DataSourceTransactionManager(dataSource),
+                mock(EntityManagerFactory.class),
+                this.departmentStatsChecker,
+                mock(ApplicationEventPublisher.class),
+                1000
+        );
+    }
+
+    @Test
+    void importCsv_blankLines_skippedAndStatisticsRecomputedOncePerDepartment() throws IOException {
+        Path file = Files.writeString(this.directory.resolve("lectors.csv"), """
+                name,degree,salary,is_head_of_department,departments
+
+                Alice Johnson,PROFESSOR,70000,TRUE,Mathematics|Physics
+                Bob Smith,ASSISTANT,50000,false,Physics
+
+                """);
+
+        ImportReport report = this.lectorImporter.importCsv(file);
+
+        assertEquals("copy", report.method());
+        assertEquals(2, report.lectors());
+        assertEquals(3, report.memberships());
+        assertEquals(2, report.departmentsCreated());
+        assertEquals(List.of(true, false), this.jdbcTemplate.queryForList(
+                "SELECT is_head_of_department FROM lectors ORDER BY name", Boolean.class));
+        assertEquals(0, headcount("Physics"));
+        ArgumentCaptor<Collection<Long>> departmentIds = ArgumentCaptor.captor();
+        verify(this.departmentStatsChecker, times(1)).repair(departmentIds.capture());
+        assertEquals(Set.of(departmentId("Mathematics"), departmentId("Physics")),
+                Set.copyOf(departmentIds.getValue()));
+    }
+
+    @Test
+    void importCsv_headOfDepartmentFlagNotTrueOrFalse_rejectedLikeJdbcImport() throws IOException {
+        Path file = Files.writeString(this.directory.resolve("lectors.csv"), """
+                name,degree,salary,is_head_of_department,departments
+                Alice Johnson,PROFESSOR,70000,TRUE,Mathematics
+                Bob Smith,ASSISTANT,50000,1,Physics
+                """);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> this.lectorImporter.importCsv(file));
+
+        assertEquals("Line 3: invalid head of department flag 1, expected true or false", thrown.getMessage());
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lectors", Long.class));
+    }
+
+    @Test
+    void importCsv_invalidRowAfterBlankLine_fileLineReported() throws IOException {
+        Path file = Files.writeString(this.directory.resolve("lectors.csv"), """
+                name,degree,salary,is_head_of_department,departments
+                Alice Johnson,PROFESSOR,70000,false,Mathematics
+
+                Bob Smith,DEAN,50000,false,Physics
+                """);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> this.lectorImporter.importCsv(file));
+
+        assertEquals("Line 4: invalid lector Bob Smith with degree DEAN", thrown.getMessage());
+        assertEquals(0, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lectors", Long.class));
+    }
+
+    private long headcount(String departmentName) {
+        return this.jdbcTemplate.queryForObject("""
+                SELECT s.headcount FROM department_stats s JOIN departments d ON d.id = s.department_id
+                WHERE d.department_name = ?
+                """, Long.class, departmentName);
+    }
+
+    private long departmentId(String departmentName) {
+        return this.jdbcTemplate.queryForObject(
+                "SELECT id FROM departments WHERE department_name = ?", Long.class, departmentName);
+    }
+}
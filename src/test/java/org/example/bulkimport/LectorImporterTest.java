@@ -0,0 +1,93 @@
+package org.example.bulkimport;
+
+import org.example.console.ConsoleInterface;
+import org.example.entity.Department;
+import org.example.entity.DepartmentStats;
+import org.example.repositrory.DepartmentStatsRepository;
+import org.example.stats.DepartmentStatsChecker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "lector-import.batch-size=2"
+})
+@Import({LectorImporter.class, DepartmentStatsChecker.class})
+class LectorImporterTest {
+
+    @Autowired
+    private LectorImporter lectorImporter;
+
+    @Autowired
+    private DepartmentStatsRepository departmentStatsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void importCsv_withoutCopy_lectorsAndMembershipsInsertedInBatches() throws IOException {
+        Department mathematics = new Department();
+        mathematics.setDepartmentName("Mathematics");
+        Long mathematicsId = this.entityManager.persistAndFlush(mathematics).getId();
+        Path file = Files.writeString(this.directory.resolve("lectors.csv"), """
+                name,degree,salary,is_head_of_department,departments
+                Alice Johnson,PROFESSOR,70000,false,Mathematics|Physics
+                Bob Smith,ASSISTANT,50000,false,Physics
+                Charlie Brown,,,false,Mathematics|Mathematics
+                """);
+
+        ImportReport report = this.lectorImporter.importCsv(file);
+
+        assertEquals("jdbc", report.method());
+        assertEquals(3, report.lectors());
+        assertEquals(4, report.memberships());
+        assertEquals(1, report.departmentsCreated());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lectors", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM department_lector WHERE department_id = ?", Integer.class, mathematicsId));
+        Long physicsId = jdbcTemplate.queryForObject(
+                "SELECT id FROM departments WHERE department_name = 'Physics'", Long.class);
+        DepartmentStats physics = this.departmentStatsRepository.findById(physicsId).orElseThrow();
+        assertEquals(2L, physics.getHeadcount());
+        assertEquals(1L, physics.getProfessors());
+        assertEquals(1L, physics.getAssistants());
+    }
+
+    @Test
+    void importCsv_malformedRow_lineReported() throws IOException {
+        Path file = Files.writeString(this.directory.resolve("lectors.csv"), """
+                name,degree,salary,is_head_of_department,departments
+                Alice Johnson,PROFESSOR,70000,false,Mathematics
+                Bob Smith,ASSISTANT,a lot,false,Physics
+                """);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> this.lectorImporter.importCsv(file));
+
+        assertEquals("Line 3: invalid salary a lot", thrown.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.bulkimport;
+
+import org.example.entity.abstracts.UniversityMember;
+import org.example.support.PostgresTestDatabase;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIf("org.example.support.PostgresTestDatabase#available")
+class PooledIdsPostgresTest {
+
+    @Test
+    void next_pooledBlocksFromSequence_noCollisionWithColumnDefault() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(PostgresTestDatabase.dataSource());
+        PostgresTestDatabase.truncate();
+        PooledIds ids = new PooledIds(
+                jdbcTemplate,
+                new PostgreSQLDialect(),
+                "lectors_id_seq",
+                UniversityMember.ID_ALLOCATION_SIZE
+        );
+
+        Set<Long> drawn = new HashSet<>();
+        long first = ids.next();
+        drawn.add(first);
+        for (int i = 1; i < UniversityMember.ID_ALLOCATION_SIZE; i++) {
+            long id = ids.next();
+            assertEquals(first + i, id);
+            drawn.add(id);
+        }
+        long defaultId = jdbcTemplate.queryForObject("""
+                INSERT INTO lectors (name, is_head_of_department) VALUES ('Alice Johnson', false) RETURNING id
+                """, Long.class);
+        drawn.add(ids.next());
+
+        assertEquals(UniversityMember.ID_ALLOCATION_SIZE + 1, drawn.size());
+        assertFalse(drawn.contains(defaultId));
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.DepartmentChangedEvent;
+import org.example.entity.listener.LectorChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentLookupCacheTest {
+
+    @Mock
+    private Function<String, Optional<DepartmentSummary>> loader;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private DepartmentLookupCache cache;
+
+    private DepartmentSummary mathematics;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new DepartmentLookupCache(
+                true,
+                100,
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(30),
+                this.meterRegistry
+        );
+        this.mathematics = new DepartmentSummary(1L, "Mathematics Department", 7L, "Alice Johnson", 4);
+    }
+
+    @Test
+    void get_repeatedLookup_loadsOnce() {
+        when(this.loader.apply("Mathematics Department"))
+                .thenReturn(Optional.of(this.mathematics));
+
+        this.cache.get("Mathematics Department", this.loader);
+        Optional<DepartmentSummary> result = this.cache.get("  Mathematics   Department ", this.loader);
+
+        assertEquals(Optional.of(this.mathematics), result);
+        verify(this.loader, times(1)).apply("Mathematics Department");
+        assertEquals(1, this.cache.stats().hitCount());
+        assertEquals(1, this.cache.stats().missCount());
+    }
+
+    @Test
+    void get_unknownName_negativeResultCached() {
+        when(this.loader.apply("Mathematiks"))
+                .thenReturn(Optional.empty());
+
+        this.cache.get("Mathematiks", this.loader);
+        Optional<DepartmentSummary> result = this.cache.get("Mathematiks", this.loader);
+
+        assertTrue(result.isEmpty());
+        verify(this.loader, times(1)).apply("Mathematiks");
+    }
+
+    @Test
+    void get_changeCommittedDuringLoad_loadedValueNotKept() {
+        DepartmentSummary renamedHead = new DepartmentSummary(1L, "Mathematics Department", 8L, "Bob Smith", 4);
+        when(this.loader.apply("Mathematics Department"))
+                .thenAnswer(invocation -> {
+                    // the change commits while the lookup still holds the row it read before
+                    this.cache.onDepartmentChanged(new DepartmentChangedEvent(1L, ChangeType.UPDATED));
+                    return Optional.of(this.mathematics);
+                })
+                .thenReturn(Optional.of(renamedHead));
+
+        Optional<DepartmentSummary> first = this.cache.get("Mathematics Department", this.loader);
+        Optional<DepartmentSummary> second = this.cache.get("Mathematics Department", this.loader);
+
+        assertEquals(Optional.of(this.mathematics), first);
+        assertEquals(Optional.of(renamedHead), second);
+        verify(this.loader, times(2)).apply("Mathematics Department");
+    }
+
+    @Test
+    void onDepartmentChanged_sameDepartment_entryAndNegativeResultsInvalidated() {
+        when(this.loader.apply(anyString()))
+                .thenReturn(Optional.of(this.mathematics), Optional.empty(), Optional.of(this.mathematics), Optional.empty());
+        this.cache.get("Mathematics Department", this.loader);
+        this.cache.get("Mathematiks", this.loader);
+
+        this.cache.onDepartmentChanged(new DepartmentChangedEvent(1L, ChangeType.UPDATED));
+        this.cache.get("Mathematics Department", this.loader);
+        this.cache.get("Mathematiks", this.loader);
+
+        verify(this.loader, times(2)).apply("Mathematics Department");
+        verify(this.loader, times(2)).apply("Mathematiks");
+    }
+
+    @Test
+    void onDepartmentChanged_otherDepartment_entryKept() {
+        when(this.loader.apply("Mathematics Department"))
+                .thenReturn(Optional.of(this.mathematics));
+        this.cache.get("Mathematics Department", this.loader);
+
+        this.cache.onDepartmentChanged(new DepartmentChangedEvent(2L, ChangeType.UPDATED));
+        this.cache.get("Mathematics Department", this.loader);
+
+        verify(this.loader, times(1)).apply("Mathematics Department");
+    }
+
+    @Test
+    void onLectorChanged_headUpdated_entryInvalidated() {
+        when(this.loader.apply("Mathematics Department"))
+                .thenReturn(Optional.of(this.mathematics));
+        this.cache.get("Mathematics Department", this.loader);
+
+        this.cache.onLectorChanged(new LectorChangedEvent(8L, "Bob Smith", ChangeType.UPDATED));
+        this.cache.get("Mathematics Department", this.loader);
+        this.cache.onLectorChanged(new LectorChangedEvent(7L, "Alice Smith", ChangeType.UPDATED));
+        this.cache.get("Mathematics Department", this.loader);
+
+        verify(this.loader, times(2)).apply("Mathematics Department");
+    }
+
+    @Test
+    void onLectorChanged_lectorRemoved_allFoundEntriesInvalidated() {
+        when(this.loader.apply("Mathematics Department"))
+                .thenReturn(Optional.of(this.mathematics));
+        this.cache.get("Mathematics Department", this.loader);
+
+        this.cache.onLectorChanged(new LectorChangedEvent(9L, "Ian Scott", ChangeType.REMOVED));
+        this.cache.get("Mathematics Department", this.loader);
+
+        verify(this.loader, times(2)).apply("Mathematics Department");
+    }
+
+    @Test
+    void get_disabledCache_alwaysLoads() {
+        DepartmentLookupCache disabled = DepartmentLookupCache.disabled();
+        when(this.loader.apply("Mathematics Department"))
+                .thenReturn(Optional.of(this.mathematics));
+
+        disabled.get("Mathematics Department", this.loader);
+        disabled.get("Mathematics Department", this.loader);
+
+        verify(this.loader, times(2)).apply("Mathematics Department");
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HikariPoolSizingTest {
+
+    @Test
+    void poolSize_coresAndConcurrency_smallerOfBoth() {
+        assertEquals(17, HikariPoolSizing.poolSize(8, 50, 1));
+        assertEquals(12, HikariPoolSizing.poolSize(8, 12, 1));
+        assertEquals(2, HikariPoolSizing.poolSize(1, 1, 0));
+    }
+
+    @Test
+    void postProcessBeforeInitialization_hikariPool_fixedSize() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            new HikariPoolSizing(4, 50, 1, 0).postProcessBeforeInitialization(pool, "dataSource");
+
+            assertEquals(9, pool.getMaximumPoolSize());
+            assertEquals(9, pool.getMinimumIdle());
+        }
+    }
+
+    @Test
+    void postProcessBeforeInitialization_explicitPoolSize_poolUnchanged() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(30);
+
+            new HikariPoolSizing(4, 50, 1, 30).postProcessBeforeInitialization(pool, "dataSource");
+
+            assertEquals(30, pool.getMaximumPoolSize());
+        }
+    }
+
+    @Test
+    void maximumPoolSize_proxiedHikariPool_sizeOfPool() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(7);
+
+            assertEquals(7, HikariPoolSizing.maximumPoolSize(new LazyConnectionDataSourceProxy(pool), 10));
+            assertEquals(10, HikariPoolSizing.maximumPoolSize(new DriverManagerDataSource(), 10));
+            assertEquals(10, HikariPoolSizing.maximumPoolSize(null, 10));
+        }
+    }
+}
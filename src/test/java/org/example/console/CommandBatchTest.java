@@ -0,0 +1,184 @@
+package org.example.console;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.bulkhead.DatabaseBulkhead;
+import org.example.bulkimport.LectorImporter;
+import org.example.context.RequestIdGenerator;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.enums.Degree;
+import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.metrics.MethodMetrics;
+import org.example.report.DepartmentReportExporter;
+import org.example.service.DepartmentService;
+import org.example.service.LectorService;
+import org.example.stats.DepartmentStatsChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommandBatchTest {
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private LectorService lectorService;
+
+    @Mock
+    private DepartmentStatsChecker departmentStatsChecker;
+
+    @Mock
+    private LectorImporter lectorImporter;
+
+    @Mock
+    private DepartmentReportExporter departmentReportExporter;
+
+    private CommandBatch commandBatch;
+
+    @BeforeEach
+    void setUp() {
+        RequestIdGenerator requestIdGenerator = new RequestIdGenerator("test");
+        ConsoleInterface consoleInterface = new ConsoleInterface(
+                this.departmentService,
+                this.lectorService,
+                this.departmentStatsChecker,
+                requestIdGenerator,
+                new MethodMetrics(new SimpleMeterRegistry()),
+                new CommandExecutor(
+                        new DatabaseBulkhead(4, Duration.ofSeconds(1)),
+                        Duration.ofSeconds(5),
+                        100
+                ),
+                this.lectorImporter,
+                this.departmentReportExporter
+        );
+        this.commandBatch = new CommandBatch(
+                consoleInterface,
+                this.departmentService,
+                this.lectorService,
+                requestIdGenerator
+        );
+    }
+
+    @Test
+    void run_repeatedDepartments_eachDepartmentResolvedOnce() throws Exception {
+        when(this.departmentService.findSummaries(Set.of("Medicine", "Mathematics")))
+                .thenReturn(Map.of(
+                        "Medicine", new DepartmentSummary(1L, "Medicine", 7L, "Dr. Smith", 12),
+                        "Mathematics", new DepartmentSummary(2L, "Mathematics", 8L, "Dr. Jones", 30)
+                ));
+        String script = """
+                Show count of employee for Medicine
+                Who is head of department Mathematics
+                Show count of employee for Mathematics
+
+                Who is head of department Medicine
+                Show count of employee for Medicine
+                """;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CommandBatch.BatchReport report = run(script, out);
+
+        assertEquals(String.format(
+                "12%n"
+                        + "Extracted department name: Mathematics%nHead of Mathematics department is Dr. Jones%n"
+                        + "30%n"
+                        + "Extracted department name: Medicine%nHead of Medicine department is Dr. Smith%n"
+                        + "12%n"
+        ), out.toString(StandardCharsets.UTF_8));
+        assertEquals(5, report.commands());
+        assertEquals(2, report.departments());
+        verify(this.departmentService, times(1)).findSummaries(anyCollection());
+        verifyNoMoreInteractions(this.departmentService);
+    }
+
+    @Test
+    void run_allCommandTypes_outputsInInputOrder() throws Exception {
+        EnumMap<Degree, Long> histogram = new EnumMap<>(Degree.class);
+        histogram.put(Degree.ASSISTANT, 10L);
+        histogram.put(Degree.ASSOCIATE_PROFESSOR, 5L);
+        histogram.put(Degree.PROFESSOR, 3L);
+        when(this.departmentService.findSummaries(Set.of("Medicine", "Unknown")))
+                .thenReturn(Map.of("Medicine", new DepartmentSummary(1L, "Medicine", 7L, "Dr. Smith", 18)));
+        when(this.departmentService.fetchDegreeHistograms(Set.of("Medicine")))
+                .thenReturn(Map.of("Medicine", histogram));
+        when(this.departmentService.fetchAverageSalaries(Set.of("Medicine")))
+                .thenReturn(Map.of("Medicine", BigDecimal.valueOf(5000)));
+        when(this.lectorService.searchByNameContaining("John", ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0))
+                .thenReturn(List.of("John Doe", "Johnny Bravo"));
+        String script = """
+                Global search by John
+                Show Medicine statistics.
+                Show count of employee for Unknown
+                Show the average salary for the department Medicine
+                Invalid command
+                Global search by John
+                exit
+                Show count of employee for Medicine
+                """;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CommandBatch.BatchReport report = run(script, out);
+
+        assertEquals(String.join(System.lineSeparator(),
+                "John Doe, Johnny Bravo",
+                "assistants - 10",
+                "associate professors - 5",
+                "professors - 3",
+                "Command failed: Show count of employee for Unknown: Department not found",
+                String.format("The average salary of Medicine is %.2f", 5000.0),
+                "Unknown command. Please try again.",
+                "John Doe, Johnny Bravo",
+                ""
+        ), out.toString(StandardCharsets.UTF_8));
+        assertEquals(6, report.commands());
+        verify(this.lectorService, times(1))
+                .searchByNameContaining("John", ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0);
+    }
+
+    @Test
+    void run_salaryDistributionOfUnknownDepartment_failurePrintedAndBatchContinues() throws Exception {
+        when(this.departmentService.fetchSalaryDistribution("Unknown"))
+                .thenThrow(new NotFoundException("Department not found", "Unknown"));
+        when(this.departmentService.findSummaries(Set.of("Medicine")))
+                .thenReturn(Map.of("Medicine", new DepartmentSummary(1L, "Medicine", 7L, "Dr. Smith", 18)));
+        String script = """
+                Show salary distribution for Unknown.
+                Show count of employee for Medicine
+                """;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CommandBatch.BatchReport report = run(script, out);
+
+        assertEquals(String.join(System.lineSeparator(),
+                "Command failed: Show salary distribution for Unknown.: Department not found",
+                "18",
+                ""
+        ), out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, report.commands());
+    }
+
+    private CommandBatch.BatchReport run(String script, ByteArrayOutputStream out) throws Exception {
+        try (PrintStream printStream = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+            return this.commandBatch.run(new BufferedReader(new StringReader(script)), printStream);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.console;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CommandParserTest {
+
+    private final CommandParser commandParser = new CommandParser();
+
+    @Test
+    void parse_departmentCommands_departmentNameExtracted() {
+        assertEquals(new Command(CommandType.STATISTICS, "Computer Science", "Show Computer Science statistics."),
+                this.commandParser.parse("Show Computer Science statistics."));
+        assertEquals("Criminal Law Department",
+                this.commandParser.parse("Show the average salary for the department Criminal Law Department").argument());
+        assertEquals("Medicine",
+                this.commandParser.parse("Show count of employee for   Medicine").argument());
+        assertEquals("Statistics Department",
+                this.commandParser.parse("Who is head of department Statistics Department").argument());
+    }
+
+    @Test
+    void parse_salaryDistribution_periodMayFollowDepartmentName() {
+        assertEquals(new Command(CommandType.SALARY_DISTRIBUTION, "Medicine", "Show salary distribution for Medicine."),
+                this.commandParser.parse("Show salary distribution for Medicine."));
+        assertEquals("Medicine",
+                this.commandParser.parse("Show salary distribution for Medicine .").argument());
+        assertEquals(CommandType.UNKNOWN,
+                this.commandParser.parse("Show salary distribution forMedicine.").type());
+    }
+
+    @Test
+    void parse_globalSearch_templateExtracted() {
+        Command command = this.commandParser.parse("Global search by van");
+
+        assertEquals(CommandType.GLOBAL_SEARCH, command.type());
+        assertEquals("van", command.argument());
+    }
+
+    @Test
+    void parse_listLectors_templateExtracted() {
+        assertEquals(new Command(CommandType.LIST_LECTORS, "an", "List lectors by an"),
+                this.commandParser.parse("List lectors by an"));
+    }
+
+    @Test
+    void parse_commandWithoutArgument_exactInputOnly() {
+        assertNull(this.commandParser.parse("Show metrics.").argument());
+        assertEquals(CommandType.METRICS, this.commandParser.parse("Show metrics.").type());
+        assertEquals(CommandType.UNKNOWN, this.commandParser.parse("Show metrics. now").type());
+    }
+
+    @Test
+    void parse_prefixWithoutWordBoundary_unknown() {
+        assertEquals(CommandType.UNKNOWN, this.commandParser.parse("Showcase statistics.").type());
+        assertEquals(CommandType.UNKNOWN, this.commandParser.parse("Show Medicinestatistics.").type());
+        assertEquals(CommandType.UNKNOWN, this.commandParser.parse("Global search byJohn").type());
+        assertEquals(CommandType.UNKNOWN, this.commandParser.parse("").type());
+    }
+}
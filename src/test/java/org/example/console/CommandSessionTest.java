@@ -0,0 +1,192 @@
+package org.example.console;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandSessionTest {
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @AfterEach
+    void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    @Test
+    void submit_slowCommandFirst_outputsInSubmissionOrder() {
+        try (CommandSession session = session(Duration.ofSeconds(5), (input, out) -> {
+            if (input.equals("slow")) {
+                sleep(200);
+            }
+            out.println(input);
+        })) {
+            session.submit("slow");
+            session.submit("fast");
+            session.println("done");
+        }
+
+        assertEquals(lines("slow", "fast", "done"), this.output.toString());
+    }
+
+    @Test
+    void submit_manyCommands_runConcurrently() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try (CommandSession session = session(Duration.ofSeconds(5), (input, out) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+        })) {
+            for (int i = 0; i < 20; i++) {
+                session.submit("command " + i);
+            }
+        }
+
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    void submit_commandPastTimeout_cancelledAndInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (CommandSession session = session(Duration.ofMillis(100), (input, out) -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        })) {
+            session.submit("Show Medicine statistics.");
+        }
+
+        assertEquals(lines("Command timed out: Show Medicine statistics."), this.output.toString());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_commandThrows_failureReportedAndNextCommandsPrinted() {
+        try (CommandSession session = session(Duration.ofSeconds(5), (input, out) -> {
+            if (input.equals("bad")) {
+                throw new IllegalStateException("Department not found");
+            }
+            out.println(input);
+        })) {
+            session.submit("bad");
+            session.submit("good");
+        }
+
+        assertEquals(lines("Command failed: bad: Department not found", "good"), this.output.toString());
+    }
+
+    @Test
+    void submit_maxPendingReached_waitsForOldestOutput() {
+        AtomicBoolean firstDone = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CommandSession session = new CommandSession(
+                this.executorService,
+                (input, out) -> {
+                    if (input.equals("first")) {
+                        sleep(100);
+                        firstDone.set(true);
+                    } else if (!firstDone.get()) {
+                        overlapped.set(true);
+                    }
+                },
+                new PrintStream(this.output),
+                Duration.ofSeconds(5),
+                1
+        );
+        try (session) {
+            session.submit("first");
+            session.submit("second");
+        }
+
+        assertTrue(firstDone.get());
+        assertFalse(overlapped.get());
+    }
+
+    @Test
+    void submitStreaming_betweenBufferedCommands_startsAfterEarlierOutputsAndWritesInOrder() {
+        AtomicBoolean slowDone = new AtomicBoolean();
+        AtomicBoolean startedEarly = new AtomicBoolean();
+        try (CommandSession session = session(Duration.ofSeconds(5), (input, out) -> {
+            if (input.equals("slow")) {
+                sleep(200);
+                slowDone.set(true);
+            } else if (input.equals("stream")) {
+                startedEarly.set(!slowDone.get());
+                out.println("first name");
+                out.println("second name");
+                return;
+            }
+            out.println(input);
+        })) {
+            session.submit("slow");
+            session.submitStreaming("stream");
+            session.submit("fast");
+        }
+
+        assertEquals(lines("slow", "first name", "second name", "fast"), this.output.toString());
+        assertFalse(startedEarly.get());
+    }
+
+    @Test
+    void submitStreaming_pastTimeout_laterWritesDropped() throws InterruptedException {
+        CountDownLatch lateWritten = new CountDownLatch(1);
+        try (CommandSession session = session(Duration.ofMillis(100), (input, out) -> {
+            if (input.equals("stream")) {
+                out.println("first name");
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    out.println("late name");
+                    lateWritten.countDown();
+                }
+                return;
+            }
+            out.println(input);
+        })) {
+            session.submitStreaming("stream");
+            session.submit("next");
+        }
+
+        assertTrue(lateWritten.await(1, TimeUnit.SECONDS));
+        assertEquals(lines("first name", "Command timed out: stream", "next"), this.output.toString());
+    }
+
+    private CommandSession session(Duration timeout, BiConsumer<String, PrintStream> handler) {
+        return new CommandSession(this.executorService, handler, new PrintStream(this.output), timeout, 100);
+    }
+
+    private static String lines(String... lines) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append(line).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,22 @@
 package org.example.console;
 
+import org.example.bulkhead.DatabaseBulkhead;
+import org.example.bulkimport.ImportReport;
+import org.example.bulkimport.LectorImporter;
+import org.example.context.RequestIdGenerator;
+import org.example.entity.DepartmentStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.enums.Degree;
+import org.example.metrics.MethodMetrics;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.SalaryDistribution;
+import org.example.report.DepartmentReportExporter;
+import org.example.report.ReportExport;
+import org.example.report.ReportFormat;
 import org.example.service.DepartmentService;
 import org.example.service.LectorService;
+import org.example.stats.DepartmentStatsChecker;
+import org.example.stats.DepartmentStatsMismatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +28,15 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.PrintStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 class ConsoleInterfaceTest {
@@ -26,12 +47,36 @@ class ConsoleInterfaceTest {
     @Mock
     private LectorService lectorService;
 
+    @Mock
+    private DepartmentStatsChecker departmentStatsChecker;
+
+    @Mock
+    private LectorImporter lectorImporter;
+
+    @Mock
+    private DepartmentReportExporter departmentReportExporter;
+
+    private final MethodMetrics methodMetrics = new MethodMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private ConsoleInterface consoleInterface;
 
     @BeforeEach
     void setupDependencies_initialization_success() {
-        this.consoleInterface = new ConsoleInterface(this.departmentService, this.lectorService);
+        this.consoleInterface = new ConsoleInterface(
+                this.departmentService,
+                this.lectorService,
+                this.departmentStatsChecker,
+                new RequestIdGenerator("test"),
+                this.methodMetrics,
+                new CommandExecutor(
+                        new DatabaseBulkhead(4, Duration.ofSeconds(1)),
+                        Duration.ofSeconds(5),
+                        100
+                ),
+                this.lectorImporter,
+                this.departmentReportExporter
+        );
     }
 
     @Test
@@ -40,7 +85,7 @@ class ConsoleInterfaceTest {
         when(this.departmentService.fetchHeadOfDepartment("Medicine"))
                 .thenReturn("Dr. Smith");
 
-        this.consoleInterface.handleHeadOfDepartment(input);
+        this.consoleInterface.handleHeadOfDepartment(this.consoleInterface.parseCommand(input), System.out);
 
         verify(this.departmentService, times(1))
                 .fetchHeadOfDepartment("Medicine");
@@ -49,21 +94,18 @@ class ConsoleInterfaceTest {
     @Test
     void handleStatistics_validDepartmentName_correctCounts() {
         String input = "Show Medicine statistics.";
-        when(this.departmentService.fetchAssistantsCount("Medicine"))
-                .thenReturn(10);
-        when(this.departmentService.fetchAssociateProfessorsCount("Medicine"))
-                .thenReturn(5);
-        when(this.departmentService.fetchProfessorsCount("Medicine"))
-                .thenReturn(3);
+        EnumMap<Degree, Long> histogram = new EnumMap<>(Degree.class);
+        histogram.put(Degree.ASSISTANT, 10L);
+        histogram.put(Degree.ASSOCIATE_PROFESSOR, 5L);
+        histogram.put(Degree.PROFESSOR, 3L);
+        when(this.departmentService.fetchDegreeHistogram("Medicine"))
+                .thenReturn(histogram);
 
-        this.consoleInterface.handleStatistics(input);
+        this.consoleInterface.handleStatistics(this.consoleInterface.parseCommand(input), System.out);
 
         verify(this.departmentService, times(1))
-                .fetchAssistantsCount("Medicine");
-        verify(this.departmentService, times(1))
-                .fetchAssociateProfessorsCount("Medicine");
-        verify(this.departmentService, times(1))
-                .fetchProfessorsCount("Medicine");
+                .fetchDegreeHistogram("Medicine");
+        verifyNoMoreInteractions(this.departmentService);
     }
 
     @Test
@@ -72,7 +114,7 @@ class ConsoleInterfaceTest {
         when(this.departmentService.fetchAverageSalary("Medicine"))
                 .thenReturn(BigDecimal.valueOf(5000.00));
 
-        this.consoleInterface.handleAverageSalary(input);
+        this.consoleInterface.handleAverageSalary(this.consoleInterface.parseCommand(input), System.out);
 
         verify(this.departmentService, times(1))
                 .fetchAverageSalary("Medicine");
@@ -84,7 +126,7 @@ class ConsoleInterfaceTest {
         when(this.departmentService.fetchEmployeeCount("Medicine"))
                 .thenReturn(50);
 
-        this.consoleInterface.handleEmployeeCount(input);
+        this.consoleInterface.handleEmployeeCount(this.consoleInterface.parseCommand(input), System.out);
 
         verify(this.departmentService, times(1))
                 .fetchEmployeeCount("Medicine");
@@ -93,13 +135,13 @@ class ConsoleInterfaceTest {
     @Test
     void handleGlobalSearch_validSearchQuery_correctResults() {
         String input = "Global search by John";
-        when(this.lectorService.searchByNameContaining("John"))
+        when(this.lectorService.searchByNameContaining("John", ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0))
                 .thenReturn(List.of("John Doe", "Johnny Bravo"));
 
-        this.consoleInterface.handleGlobalSearch(input);
+        this.consoleInterface.handleGlobalSearch(this.consoleInterface.parseCommand(input), System.out);
 
         verify(this.lectorService, times(1))
-                .searchByNameContaining("John");
+                .searchByNameContaining("John", ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0);
     }
 
     @Test
@@ -109,26 +151,149 @@ class ConsoleInterfaceTest {
     }
 
     @Test
-    void extractDepartmentName_validInput_correctDepartmentName() {
+    void handleMetrics_recordedCall_printsMethodStats() throws Exception {
+        MethodMetrics.MethodMeters meters = this.methodMetrics.forMethod(String.class.getMethod("length"));
+        meters.stop(meters.start(), false);
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            this.consoleInterface.processCommand("Show metrics.");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertTrue(out.toString().contains("String.length"));
+    }
+
+    @Test
+    void handleSalaryDistribution_validDepartmentName_printsDegreeRows() {
+        EnumMap<Degree, SalaryDistribution> byDegree = new EnumMap<>(Degree.class);
+        SalaryDistribution professors = new SalaryDistribution(1, 7000000, 7000000, 7000000, 7000000,
+                7000000, 7000000, 7000000, 7000000);
+        byDegree.put(Degree.PROFESSOR, professors);
+        SalaryDistribution all = new SalaryDistribution(2, 5000050, 5000050, 6000025, 7000000,
+                7000000, 7000000, 7000000, 6000025);
+        when(this.departmentService.fetchSalaryDistribution("Medicine"))
+                .thenReturn(new DepartmentSalaries("Medicine", all, byDegree));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.consoleInterface.processCommand("Show salary distribution for Medicine.", new PrintStream(out));
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals("Salary distribution of Medicine (2 salaries):", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[2].startsWith("all"));
+        assertTrue(lines[2].contains("50000.50"));
+        assertTrue(lines[2].endsWith("60000.25"));
+        assertTrue(lines[3].startsWith("professors"));
+    }
+
+    @Test
+    void handleStatisticsCheck_mismatch_printsDepartment() {
+        DepartmentStats expected = new DepartmentStats(1L, 2L, BigDecimal.valueOf(100), 2L, 1L, 1L, 0L);
+        DepartmentStats actual = new DepartmentStats(1L, 1L, BigDecimal.valueOf(50), 1L, 1L, 0L, 0L);
+        when(this.departmentStatsChecker.check())
+                .thenReturn(List.of(new DepartmentStatsMismatch(1L, expected, actual)));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            this.consoleInterface.processCommand("Check department statistics.");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertTrue(out.toString().startsWith("Department 1: expected DepartmentStats(departmentId=1, headcount=2"));
+    }
+
+    @Test
+    void handleListLectors_matchingNames_namePerLineAndCount() {
+        when(this.lectorService.forEachNameContaining(eq("an"), any())).thenAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("Ivan Petrenko");
+            consumer.accept("Anna Smith");
+            return 2;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.consoleInterface.handleListLectors(
+                this.consoleInterface.parseCommand("List lectors by an"),
+                new PrintStream(out, true)
+        );
+
+        assertEquals(String.join(System.lineSeparator(), "Ivan Petrenko", "Anna Smith", "2 lectors found", ""),
+                out.toString());
+    }
+
+    @Test
+    void streamsOutput_listLectors_onlyListStreamed() {
+        assertTrue(this.consoleInterface.streamsOutput("List lectors by an"));
+        assertFalse(this.consoleInterface.streamsOutput("Global search by an"));
+        assertFalse(this.consoleInterface.streamsOutput("Show metrics."));
+    }
+
+    @Test
+    void handleExportReport_exported_printsFileAndCount() {
+        Path file = Path.of("departments-report.csv");
+        when(this.departmentReportExporter.export())
+                .thenReturn(new ReportExport(file, ReportFormat.CSV, 12, 34_000_000L));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            this.consoleInterface.processCommand("Export report.");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(
+                "Exported 12 departments as CSV to " + file.toAbsolutePath() + " in 34 ms" + System.lineSeparator(),
+                out.toString()
+        );
+    }
+
+    @Test
+    void run_importOption_printsReport() {
+        when(this.lectorImporter.importCsv(Path.of("lectors.csv")))
+                .thenReturn(new ImportReport("jdbc", 2000, 3000, 2, 500_000_000L));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            this.consoleInterface.run("--import=lectors.csv");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        assertEquals(String.format(
+                "Imported 2000 lectors, 3000 memberships and 2 new departments with jdbc in 500 ms (4000 rows/s)%n"
+        ), out.toString());
+    }
+
+    @Test
+    void parseCommand_validInput_correctDepartmentName() {
         String input = "Who is head of department Biology";
-        String departmentName = this.consoleInterface.extractDepartmentName(input);
+        String departmentName = this.consoleInterface.parseCommand(input).argument();
         assertEquals("Biology", departmentName);
     }
 
     @Test
-    void getCommandType_validCommand_correctCommandType() {
-        assertEquals("head",
-                this.consoleInterface.getCommandType("Who is head of department Medicine"));
-        assertEquals("statistics",
-                this.consoleInterface.getCommandType("Show Medicine statistics."));
-        assertEquals("averageSalary",
-                this.consoleInterface.getCommandType("Show the average salary for the department Medicine"));
-        assertEquals("employeeCount",
-                this.consoleInterface.getCommandType("Show count of employee for Medicine"));
-        assertEquals("globalSearch",
-                this.consoleInterface.getCommandType("Global search by John"));
-        assertEquals("unknown",
-                this.consoleInterface.getCommandType("Invalid command"));
+    void parseCommand_validCommand_correctCommandType() {
+        assertEquals(CommandType.HEAD,
+                this.consoleInterface.parseCommand("Who is head of department Medicine").type());
+        assertEquals(CommandType.STATISTICS,
+                this.consoleInterface.parseCommand("Show Medicine statistics.").type());
+        assertEquals(CommandType.AVERAGE_SALARY,
+                this.consoleInterface.parseCommand("Show the average salary for the department Medicine").type());
+        assertEquals(CommandType.EMPLOYEE_COUNT,
+                this.consoleInterface.parseCommand("Show count of employee for Medicine").type());
+        assertEquals(CommandType.GLOBAL_SEARCH,
+                this.consoleInterface.parseCommand("Global search by John").type());
+        assertEquals(CommandType.METRICS,
+                this.consoleInterface.parseCommand("Show metrics.").type());
+        assertEquals(CommandType.UNKNOWN,
+                this.consoleInterface.parseCommand("Invalid command").type());
     }
 
     @Test
@@ -138,4 +303,29 @@ class ConsoleInterfaceTest {
         System.setIn(in);
         this.consoleInterface.run();
     }
+
+    @Test
+    void run_pipedCommands_outputsInInputOrder() {
+        when(this.departmentService.fetchHeadOfDepartment("Medicine")).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return "Dr. Smith";
+        });
+        when(this.lectorService.searchByNameContaining("John", ConsoleInterface.GLOBAL_SEARCH_LIMIT, 0))
+                .thenReturn(List.of("John Doe"));
+        System.setIn(new ByteArrayInputStream(
+                "Who is head of department Medicine\nGlobal search by John\n".getBytes()
+        ));
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            this.consoleInterface.run();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String output = out.toString();
+        assertTrue(output.indexOf("Head of Medicine department is Dr. Smith") < output.indexOf("John Doe"));
+        assertTrue(output.endsWith("Goodbye!" + System.lineSeparator()));
+    }
 }
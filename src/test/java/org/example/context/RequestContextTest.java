@@ -0,0 +1,87 @@
+package org.example.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestContextTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void open_nestedScopes_previousContextRestored() {
+        try (RequestContext.Scope ignored = RequestContext.open("outer")) {
+            try (RequestContext.Scope nested = RequestContext.open("inner")) {
+                assertEquals("inner", RequestContext.current().requestId());
+                assertEquals("inner", MDC.get(RequestContext.MDC_KEY));
+            }
+            assertEquals("outer", RequestContext.current().requestId());
+            assertEquals("outer", MDC.get(RequestContext.MDC_KEY));
+        }
+        assertNull(RequestContext.current());
+        assertNull(MDC.get(RequestContext.MDC_KEY));
+    }
+
+    @Test
+    void wrap_virtualThread_contextPropagated() throws Exception {
+        Callable<String> task;
+        try (RequestContext.Scope ignored = RequestContext.open("REQ-1")) {
+            task = RequestContext.wrap(() -> RequestContext.current().requestId() + "/" + MDC.get(RequestContext.MDC_KEY));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals("REQ-1/REQ-1", executor.submit(task).get());
+            assertNull(executor.submit(() -> RequestContext.current()).get());
+        }
+    }
+
+    @Test
+    void wrap_noContext_taskUnchanged() {
+        Runnable task = () -> {
+        };
+
+        assertEquals(task, RequestContext.wrap(task));
+    }
+
+    @Test
+    void next_concurrentCalls_uniqueMonotonicIds() throws Exception {
+        RequestIdGenerator generator = new RequestIdGenerator("node");
+        List<Future<String>> ids;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ids = IntStream.range(0, 10_000)
+                    .mapToObj(i -> executor.submit(generator::next))
+                    .toList();
+        }
+
+        Set<String> unique = new HashSet<>();
+        for (Future<String> id : ids) {
+            assertTrue(id.get().startsWith("node-"));
+            unique.add(id.get());
+        }
+        assertEquals(10_000, unique.size());
+        assertEquals("node-10001", generator.next());
+    }
+
+    @Test
+    void next_blankNode_processNodeUsed() {
+        String requestId = new RequestIdGenerator(" ").next();
+
+        assertTrue(requestId.matches("[0-9a-z]+-1"));
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.controller;
+
+import org.example.bulkhead.DatabaseBulkhead;
+import org.example.console.ConsoleInterface;
+import org.example.context.RequestIdFilter;
+import org.example.context.RequestIdGenerator;
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.SalaryDistribution;
+import org.example.service.DepartmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = DepartmentController.class, properties = "bulkhead.database.max-concurrent-calls=1")
+@Import({RequestIdGenerator.class, DatabaseBulkhead.class})
+class DepartmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @MockitoBean
+    private DepartmentService departmentService;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @Test
+    void list_defaultLimit_firstPage() throws Exception {
+        when(this.departmentService.listDepartments(null, 50)).thenReturn(new KeysetPage<>(
+                List.of(new DepartmentDTO(1L, "Mathematics Department")),
+                null
+        ));
+
+        this.mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].departmentName").value("Mathematics Department"))
+                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+    }
+
+    @Test
+    void fetchHeadOfDepartment_validDepartmentName_lectorDTO() throws Exception {
+        when(this.departmentService.fetchHeadOfDepartmentDetails("Computer Science"))
+                .thenReturn(new LectorDTO(7L, "Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000)));
+
+        this.mockMvc.perform(get("/departments/{name}/head", "Computer Science"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(RequestIdFilter.REQUEST_ID_HEADER))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.name").value("Alice Johnson"));
+    }
+
+    @Test
+    void fetchStatistics_validDepartmentName_degreeCounts() throws Exception {
+        EnumMap<Degree, Long> histogram = new EnumMap<>(Degree.class);
+        histogram.put(Degree.ASSISTANT, 10L);
+        histogram.put(Degree.ASSOCIATE_PROFESSOR, 5L);
+        histogram.put(Degree.PROFESSOR, 3L);
+        when(this.departmentService.fetchDegreeHistogram("Medicine")).thenReturn(histogram);
+
+        this.mockMvc.perform(get("/departments/Medicine/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ASSISTANT").value(10))
+                .andExpect(jsonPath("$.PROFESSOR").value(3));
+    }
+
+    @Test
+    void fetchAverageSalaryAndEmployeeCount_validDepartmentName_values() throws Exception {
+        when(this.departmentService.fetchAverageSalary("Medicine")).thenReturn(BigDecimal.valueOf(55000.5));
+        when(this.departmentService.fetchEmployeeCount("Medicine")).thenReturn(18);
+
+        this.mockMvc.perform(get("/departments/Medicine/average-salary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("55000.5"));
+        this.mockMvc.perform(get("/departments/Medicine/employee-count"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("18"));
+    }
+
+    @Test
+    void fetchSalaryDistribution_validDepartmentName_distributionInCents() throws Exception {
+        SalaryDistribution all = new SalaryDistribution(2, 5000000, 5000000, 6000000, 7000000,
+                7000000, 7000000, 7000000, 6000000);
+        EnumMap<Degree, SalaryDistribution> byDegree = new EnumMap<>(Degree.class);
+        byDegree.put(Degree.PROFESSOR, new SalaryDistribution(1, 7000000, 7000000, 7000000, 7000000,
+                7000000, 7000000, 7000000, 7000000));
+        when(this.departmentService.fetchSalaryDistribution("Medicine"))
+                .thenReturn(new DepartmentSalaries("Medicine", all, byDegree));
+
+        this.mockMvc.perform(get("/departments/Medicine/salary-distribution"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all.count").value(2))
+                .andExpect(jsonPath("$.all.medianCents").value(6000000))
+                .andExpect(jsonPath("$.byDegree.PROFESSOR.maxCents").value(7000000));
+    }
+
+    @Test
+    void findDetails_unknownDepartment_notFound() throws Exception {
+        when(this.departmentService.findDetailsByName("Unknown")).thenReturn(Optional.empty());
+
+        this.mockMvc.perform(get("/departments/Unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value(404))
+                .andExpect(jsonPath("$.resourceId").value("Unknown"));
+    }
+
+    @Test
+    void fetchEmployees_serviceThrowsNotFound_notFoundAndPermitReleased() throws Exception {
+        when(this.departmentService.fetchEmployees("Unknown"))
+                .thenThrow(new NotFoundException("Department not found", "Unknown"));
+
+        this.mockMvc.perform(get("/departments/Unknown/employees"))
+                .andExpect(status().isNotFound());
+        when(this.departmentService.fetchEmployees("Medicine")).thenReturn(List.of());
+        this.mockMvc.perform(get("/departments/Medicine/employees"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void fetchStatistics_bulkheadExhausted_serviceUnavailable() throws Exception {
+        this.databaseBulkhead.acquire("test");
+        try {
+            this.mockMvc.perform(get("/departments/Medicine/statistics"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.errorCode").value(503));
+        } finally {
+            this.databaseBulkhead.release();
+        }
+    }
+}
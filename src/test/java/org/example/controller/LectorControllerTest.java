@@ -0,0 +1,89 @@
+package org.example.controller;
+
+import org.example.bulkhead.DatabaseBulkhead;
+import org.example.console.ConsoleInterface;
+import org.example.context.RequestIdGenerator;
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.service.LectorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = LectorController.class)
+@Import({RequestIdGenerator.class, DatabaseBulkhead.class})
+class LectorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LectorService lectorService;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @Test
+    void search_templateWithPaging_matchingNames() throws Exception {
+        when(this.lectorService.searchByNameContaining("john", 10, 20))
+                .thenReturn(List.of("Alice Johnson", "Johnny Bravo"));
+
+        this.mockMvc.perform(get("/lectors/search").param("q", "john").param("limit", "10").param("offset", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Alice Johnson\",\"Johnny Bravo\"]"));
+    }
+
+    @Test
+    void search_defaultPaging_firstFiftyMatches() throws Exception {
+        when(this.lectorService.searchByNameContaining("van", 50, 0)).thenReturn(List.of("Ivan Petrenko"));
+
+        this.mockMvc.perform(get("/lectors/search").param("q", "van"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Ivan Petrenko\"]"));
+    }
+
+    @Test
+    void list_afterIdAndDegree_pageWithNextAfterId() throws Exception {
+        when(this.lectorService.listLectors(7L, 1, Degree.PROFESSOR)).thenReturn(new KeysetPage<>(
+                List.of(new LectorDTO(9L, "Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000))),
+                9L
+        ));
+
+        this.mockMvc.perform(get("/lectors").param("afterId", "7").param("limit", "1").param("degree", "PROFESSOR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Alice Johnson"))
+                .andExpect(jsonPath("$.nextAfterId").value(9));
+    }
+
+    @Test
+    void listNames_template_oneNamePerLine() throws Exception {
+        when(this.lectorService.forEachNameContaining(eq("an"), any())).thenAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("Ivan Petrenko");
+            consumer.accept("Anna Smith");
+            return 2;
+        });
+
+        this.mockMvc.perform(get("/lectors/names").param("q", "an"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string("Ivan Petrenko" + System.lineSeparator()
+                        + "Anna Smith" + System.lineSeparator()));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.controller;
+
+import org.example.bulkhead.DatabaseBulkhead;
+import org.example.console.ConsoleInterface;
+import org.example.context.RequestIdGenerator;
+import org.example.report.DepartmentReportRow;
+import org.example.service.DepartmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReportController.class, properties = "bulkhead.database.max-concurrent-calls=1")
+@Import({RequestIdGenerator.class, DatabaseBulkhead.class})
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseBulkhead databaseBulkhead;
+
+    @MockitoBean
+    private DepartmentService departmentService;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @BeforeEach
+    void setUp() {
+        when(this.departmentService.allDepartmentsReport(any())).thenAnswer(invocation -> {
+            Consumer<DepartmentReportRow> consumer = invocation.getArgument(0);
+            consumer.accept(new DepartmentReportRow(
+                    1L, "Mathematics", "Alice Johnson", 2, 1, 0, 1,
+                    new BigDecimal("30000.00"), new BigDecimal("50000.25"), new BigDecimal("50000.25"),
+                    new BigDecimal("70000.50")
+            ));
+            return 1;
+        });
+    }
+
+    @Test
+    void exportDepartments_defaultFormat_csv() throws Exception {
+        this.mockMvc.perform(get("/reports/departments"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(endsWith(
+                        "\n1,Mathematics,Alice Johnson,2,1,0,1,30000.00,50000.25,50000.25,70000.50\n")));
+    }
+
+    @Test
+    void exportDepartments_jsonFormat_arrayOfRows() throws Exception {
+        this.mockMvc.perform(get("/reports/departments").param("format", "JSON"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$[0].departmentName").value("Mathematics"))
+                .andExpect(jsonPath("$[0].maxSalary").value(70000.50));
+    }
+
+    @Test
+    void exportDepartments_bulkheadExhausted_serviceUnavailable() throws Exception {
+        this.databaseBulkhead.acquire("test");
+        try {
+            this.mockMvc.perform(get("/reports/departments"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            this.databaseBulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.entity;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.console.ConsoleInterface;
+import org.example.entity.abstracts.UniversityMember;
+import org.example.enums.Degree;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that entity ids come from the sequences in pooled-lo blocks and inserts are sent as JDBC batches.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class IdGenerationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @Test
+    void persist_manyLectors_idsPooledAndInsertsBatched() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int count = 2 * UniversityMember.ID_ALLOCATION_SIZE + 1;
+        List<Lector> lectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Lector lector = new Lector();
+            lector.setName("Lector " + i);
+            lector.setDegree(Degree.ASSISTANT);
+            lector.setSalary(BigDecimal.valueOf(50000));
+            lector.setIsHeadOfDepartment(false);
+            lectors.add(this.entityManager.persist(lector));
+        }
+        this.entityManager.flush();
+
+        long firstId = lectors.getFirst().getId();
+        for (int i = 0; i < count; i++) {
+            assertEquals(firstId + i, lectors.get(i).getId());
+        }
+        // three sequence calls and one insert statement, executed as batches of 50
+        assertEquals(count, statistics.getEntityInsertCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.entity.listener;
+
+import org.example.console.ConsoleInterface;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(DepartmentMembershipListener.class)
+@RecordApplicationEvents
+class EntityChangeEventsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private Lector lector;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        this.lector = new Lector();
+        this.lector.setName("Alice Johnson");
+        this.lector.setDegree(Degree.PROFESSOR);
+        this.lector.setSalary(BigDecimal.valueOf(70000));
+        this.lector.setIsHeadOfDepartment(false);
+        this.entityManager.persist(this.lector);
+
+        this.department = new Department();
+        this.department.setDepartmentName("Mathematics Department");
+        this.department.setEmployees(new HashSet<>());
+        this.entityManager.persist(this.department);
+        this.entityManager.flush();
+        this.applicationEvents.clear();
+    }
+
+    @Test
+    void lectorUpdated_lectorChangedEventPublished() {
+        this.lector.setName("Alice Smith");
+        this.entityManager.flush();
+
+        List<LectorChangedEvent> events = this.applicationEvents.stream(LectorChangedEvent.class).toList();
+        assertEquals(List.of(new LectorChangedEvent(this.lector.getId(), "Alice Smith", ChangeType.UPDATED)), events);
+    }
+
+    @Test
+    void employeeAdded_departmentChangedEventPublished() {
+        this.department.getEmployees().add(this.lector);
+        this.entityManager.flush();
+
+        List<DepartmentChangedEvent> events = this.applicationEvents.stream(DepartmentChangedEvent.class).toList();
+        assertEquals(List.of(new DepartmentChangedEvent(this.department.getId(), ChangeType.UPDATED)), events);
+    }
+
+    @Test
+    void departmentRemoved_departmentChangedEventPublished() {
+        this.entityManager.remove(this.department);
+        this.entityManager.flush();
+
+        assertEquals(
+                new DepartmentChangedEvent(this.department.getId(), ChangeType.REMOVED),
+                this.applicationEvents.stream(DepartmentChangedEvent.class).toList().getLast()
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.mapper;
+
+import org.example.dto.depatrment.DepartmentRequestDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.dto.lector.LectorResponseDTO;
+import org.example.entity.Department;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DepartmentMapperTest {
+
+    private final LectorMapper lectorMapper = new LectorMapperImpl();
+
+    private final DepartmentMapper departmentMapper = new DepartmentMapperImpl(this.lectorMapper);
+
+    private Department department;
+
+    private Lector head;
+
+    private Lector assistant;
+
+    @BeforeEach
+    void setUp() {
+        this.head = lector(1L, "Alice Johnson", Degree.PROFESSOR, 70000);
+        this.assistant = lector(2L, "Bob Smith", Degree.ASSISTANT, 30000);
+
+        this.department = new Department();
+        this.department.setId(10L);
+        this.department.setDepartmentName("Computer Science");
+        this.department.setHeadOfDepartment(this.head);
+        this.department.setEmployees(Set.of(this.head, this.assistant));
+        this.head.setDepartment(Set.of(this.department));
+    }
+
+    @Test
+    void toResponseDto_department_headAndEmployeesMapped() {
+        DepartmentResponseDTO result = this.departmentMapper.toResponseDto(this.department);
+
+        assertEquals(10L, result.getId());
+        assertEquals("Computer Science", result.getDepartmentName());
+        assertEquals(new LectorDTO(1L, "Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000)),
+                result.getHeadOfDepartment());
+        assertEquals(Set.of(
+                new LectorDTO(1L, "Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000)),
+                new LectorDTO(2L, "Bob Smith", Degree.ASSISTANT, BigDecimal.valueOf(30000))
+        ), result.getEmployees());
+    }
+
+    @Test
+    void toRequestDto_department_idsMapped() {
+        DepartmentRequestDTO result = this.departmentMapper.toRequestDto(this.department);
+
+        assertEquals("Computer Science", result.getDepartmentName());
+        assertEquals(1L, result.getHeadOfDepartmentId());
+        assertEquals(Set.of(1L, 2L), result.getEmployeesIds());
+    }
+
+    @Test
+    void toRequestDto_noHeadOfDepartment_nullHeadId() {
+        this.department.setHeadOfDepartment(null);
+
+        assertNull(this.departmentMapper.toRequestDto(this.department).getHeadOfDepartmentId());
+    }
+
+    @Test
+    void toResponseDto_lector_departmentsMapped() {
+        LectorResponseDTO result = this.lectorMapper.toResponseDto(this.head);
+
+        assertEquals("Alice Johnson", result.getName());
+        assertEquals(1, result.getDepartments().size());
+        assertEquals("Computer Science", result.getDepartments().iterator().next().getDepartmentName());
+    }
+
+    private static Lector lector(Long id, String name, Degree degree, long salary) {
+        Lector lector = new Lector();
+        lector.setId(id);
+        lector.setName(name);
+        lector.setDegree(degree);
+        lector.setSalary(BigDecimal.valueOf(salary));
+        return lector;
+    }
+}
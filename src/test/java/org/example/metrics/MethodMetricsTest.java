@@ -0,0 +1,47 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MethodMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MethodMetrics methodMetrics = new MethodMetrics(this.meterRegistry);
+
+    @Test
+    void forMethod_sameMethod_metersRegisteredOnce() throws NoSuchMethodException {
+        Method method = String.class.getMethod("length");
+
+        assertSame(this.methodMetrics.forMethod(method), this.methodMetrics.forMethod(method));
+        assertEquals(1, this.meterRegistry.find(MethodMetrics.CALLS).timers().size());
+    }
+
+    @Test
+    void snapshot_recordedCalls_countsAndPercentiles() throws NoSuchMethodException {
+        MethodMetrics.MethodMeters meters = this.methodMetrics.forMethod(String.class.getMethod("isEmpty"));
+        for (int i = 0; i < 100; i++) {
+            meters.stop(meters.start(), i % 10 == 0);
+        }
+        long running = meters.start();
+
+        List<MethodStats> stats = this.methodMetrics.snapshot();
+
+        assertEquals(1, stats.size());
+        MethodStats method = stats.get(0);
+        assertEquals("String.isEmpty", method.method());
+        assertEquals(100, method.calls());
+        assertEquals(10, method.errors());
+        assertEquals(1, method.inFlight());
+        assertTrue(method.p50Millis() <= method.p99Millis());
+        assertTrue(method.p99Millis() <= method.p999Millis());
+        meters.stop(running, false);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.payroll;
+
+import org.example.enums.Degree;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalaryStatisticsTest {
+
+    @Test
+    void summarize_oddCount_percentilesByNearestRank() {
+        SalaryTable.Builder builder = new SalaryTable.Builder().department(1L, "Mathematics");
+        for (long cents = 1000; cents >= 100; cents -= 100) {
+            builder.salary(cents, Degree.ASSISTANT.ordinal());
+        }
+        builder.salary(5000, SalaryTable.NO_DEGREE);
+
+        SalaryDistribution all = SalaryStatistics.summarize(builder.build(), 0).all();
+
+        assertEquals(new SalaryDistribution(11, 100, 300, 600, 900, 1000, 5000, 5000, 955), all);
+    }
+
+    @Test
+    void summarize_evenCount_medianRoundedHalfUp() {
+        SalaryTable table = new SalaryTable.Builder()
+                .department(1L, "Physics")
+                .salary(101, Degree.PROFESSOR.ordinal())
+                .salary(100, Degree.PROFESSOR.ordinal())
+                .build();
+
+        SalaryDistribution all = SalaryStatistics.summarize(table, 0).all();
+
+        assertEquals(101, all.medianCents());
+        assertEquals(101, all.averageCents());
+        assertEquals(new BigDecimal("1.01"), SalaryDistribution.amount(all.medianCents()));
+    }
+
+    @Test
+    void summarize_mixedDegrees_breakdownPerDegreeWithoutLectorsWithoutDegree() {
+        SalaryTable table = new SalaryTable.Builder()
+                .department(1L, "Medicine")
+                .salary(7000000, Degree.PROFESSOR.ordinal())
+                .salary(5000000, Degree.ASSISTANT.ordinal())
+                .salary(9000000, Degree.PROFESSOR.ordinal())
+                .salary(1, SalaryTable.NO_DEGREE)
+                .build();
+
+        DepartmentSalaries salaries = SalaryStatistics.summarize(table, 0);
+
+        assertEquals(4, salaries.all().count());
+        assertEquals(1, salaries.all().minCents());
+        assertEquals(List.of(Degree.ASSISTANT, Degree.PROFESSOR), List.copyOf(salaries.byDegree().keySet()));
+        SalaryDistribution professors = salaries.byDegree().get(Degree.PROFESSOR);
+        assertEquals(2, professors.count());
+        assertEquals(7000000, professors.minCents());
+        assertEquals(9000000, professors.maxCents());
+        assertEquals(8000000, professors.averageCents());
+        assertEquals(5000000, salaries.byDegree().get(Degree.ASSISTANT).medianCents());
+    }
+
+    @Test
+    void summarizeAll_manyDepartments_orderKeptAndEmptyDepartmentWithoutDistribution() {
+        SalaryTable table = new SalaryTable.Builder()
+                .department(1L, "Mathematics")
+                .salary(100, Degree.ASSISTANT.ordinal())
+                .department(2L, "History")
+                .department(3L, "Law")
+                .salary(300, Degree.PROFESSOR.ordinal())
+                .salary(SalaryStatistics.MAX_CENTS, Degree.PROFESSOR.ordinal())
+                .build();
+
+        Map<String, DepartmentSalaries> result = SalaryStatistics.summarizeAll(table);
+
+        assertEquals(List.of("Mathematics", "History", "Law"), List.copyOf(result.keySet()));
+        assertNull(result.get("History").all());
+        assertTrue(result.get("History").byDegree().isEmpty());
+        assertEquals(SalaryStatistics.MAX_CENTS, result.get("Law").byDegree().get(Degree.PROFESSOR).maxCents());
+        assertEquals(100, result.get("Mathematics").all().maxCents());
+        assertEquals(3L, table.departmentId(2));
+    }
+
+    @Test
+    void salary_outOfRange_rejected() {
+        SalaryTable.Builder builder = new SalaryTable.Builder().department(1L, "Mathematics");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.salary(-1, Degree.ASSISTANT.ordinal()));
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.salary(SalaryStatistics.MAX_CENTS + 1, Degree.ASSISTANT.ordinal()));
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes transactions over three H2 databases standing in for a primary and two replicas.
+ * Every database knows its own name, and the replicas report the lag stored in their {@code replica_lag} table.
+ */
+class ReplicaDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private HikariDataSource primary;
+    private HikariDataSource first;
+    private HikariDataSource second;
+
+    @BeforeEach
+    void setUp() {
+        this.primary = database("primary");
+        this.first = database("replica-0");
+        this.second = database("replica-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.primary.close();
+        this.first.close();
+        this.second.close();
+    }
+
+    @Test
+    void readOnlyTransaction_healthyReplica_readsReplica() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first);
+        replicas.checkHealth();
+
+        assertEquals("replica-0", origin(replicas, true));
+        assertEquals("primary", origin(replicas, false));
+    }
+
+    @Test
+    void readOnlyTransaction_beforeFirstHealthCheck_readsPrimary() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first);
+
+        assertEquals("primary", origin(replicas, true));
+    }
+
+    @Test
+    void checkHealth_lagAboveMaximum_replicaSkippedAndLagPublished() {
+        new JdbcTemplate(this.first).update("UPDATE replica_lag SET seconds = 30");
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first, this.second);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replicas.bindTo(registry);
+        replicas.checkHealth();
+
+        assertEquals("replica-1", origin(replicas, true));
+        assertEquals("replica-1", origin(replicas, true));
+        assertEquals(30, registry.get("datasource.replica.lag").tag("replica", "replica-0").gauge().value());
+        assertEquals(0, registry.get("datasource.replica.healthy").tag("replica", "replica-0").gauge().value());
+    }
+
+    @Test
+    void select_roundRobin_replicasInTurn() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first, this.second);
+        replicas.checkHealth();
+
+        assertEquals(List.of("replica-0", "replica-1", "replica-0"), List.of(
+                origin(replicas, true),
+                origin(replicas, true),
+                origin(replicas, true)
+        ));
+    }
+
+    @Test
+    void select_leastConnections_idleReplicaPicked() throws Exception {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.LEAST_CONNECTIONS, this.first, this.second);
+        replicas.checkHealth();
+
+        try (Connection ignored = this.first.getConnection()) {
+            assertEquals("replica-1", replicas.select().name());
+        }
+        try (Connection ignored = this.second.getConnection()) {
+            assertEquals("replica-0", replicas.select().name());
+        }
+    }
+
+    @Test
+    void getConnection_replicaDown_fallsBackToPrimary() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first);
+        replicas.checkHealth();
+        this.first.close();
+
+        assertEquals("primary", origin(replicas, true));
+        assertFalse(replicas.replicas().getFirst().healthy());
+        assertTrue(Double.isNaN(replicas.replicas().getFirst().lagSeconds()));
+    }
+
+    @Test
+    void readOnlyTransaction_afterWriteCommitted_readsPrimary() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, Duration.ofHours(1), this.first);
+        replicas.checkHealth();
+        assertEquals("replica-0", origin(replicas, true));
+
+        assertEquals("primary", origin(replicas, false));
+
+        assertEquals("primary", origin(replicas, true));
+    }
+
+    @Test
+    void readOnlyTransaction_insidePrimaryReads_readsPrimary() {
+        ReplicaDataSource replicas = replicas(ReplicaSelection.ROUND_ROBIN, this.first);
+        replicas.checkHealth();
+
+        assertEquals("primary", PrimaryReads.call(() -> origin(replicas, true)));
+        assertEquals("replica-0", origin(replicas, true));
+    }
+
+    private ReplicaDataSource replicas(ReplicaSelection selection, HikariDataSource... pools) {
+        return replicas(selection, Duration.ZERO, pools);
+    }
+
+    private ReplicaDataSource replicas(ReplicaSelection selection, Duration readAfterWrite, HikariDataSource... pools) {
+        List<Replica> replicas = Arrays.stream(pools)
+                .map(pool -> new Replica(pool.getPoolName(), pool))
+                .toList();
+        return new ReplicaDataSource(
+                this.primary,
+                replicas,
+                selection,
+                LAG_QUERY,
+                Duration.ofSeconds(10),
+                readAfterWrite
+        );
+    }
+
+    /**
+     * Reads the name of the database a transaction runs on.
+     */
+    private String origin(ReplicaDataSource replicas, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(this.primary);
+        dataSource.setReadOnlyDataSource(replicas);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(replicas);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setConnectionTimeout(1000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
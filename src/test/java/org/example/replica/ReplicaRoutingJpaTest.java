@@ -0,0 +1,116 @@
+package org.example.replica;
+
+import org.example.config.ReplicaRoutingConfig;
+import org.example.console.ConsoleInterface;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.repositrory.LectorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs JPA transactions over an H2 primary and an H2 replica wired by {@link ReplicaRoutingConfig}.
+ * The primary schema is generated by Hibernate, the replica holds a copy of the lectors table with one lector.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "replica.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "replica.selection=least-connections",
+        "replica.lag-query=SELECT 0",
+        "replica.health-check-interval=PT1H",
+        "replica.read-after-write=PT0S"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Import(ReplicaRoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingJpaTest {
+
+    @Autowired
+    private LectorRepository lectorRepository;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replica = new JdbcTemplate(this.replicaDataSource.replicas().getFirst().dataSource());
+        replica.execute("DROP TABLE IF EXISTS lectors");
+        replica.execute("""
+                CREATE TABLE lectors (id BIGINT PRIMARY KEY, name VARCHAR(255), degree VARCHAR(255),
+                salary NUMERIC(15, 2), is_head_of_department BOOLEAN)
+                """);
+        replica.update("INSERT INTO lectors VALUES (1, 'Replica Lector', 'ASSISTANT', 50000, FALSE)");
+        this.lectorRepository.deleteAll();
+        this.lectorRepository.save(lector("Alice Johnson"));
+        this.lectorRepository.save(lector("Bob Smith"));
+        this.replicaDataSource.checkHealth();
+    }
+
+    @Test
+    void readOnlyTransaction_routedToReplica() {
+        assertEquals(1, count(true));
+        assertEquals(2, count(false));
+    }
+
+    @Test
+    void readOnlyTransaction_unhealthyReplica_routedToPrimary() {
+        this.replicaDataSource.replicas().getFirst().update(false, Double.NaN);
+
+        assertEquals(2, count(true));
+    }
+
+    @Test
+    void readOnlyTransaction_insidePrimaryReads_routedToPrimary() {
+        assertEquals(2, PrimaryReads.call(() -> count(true)));
+    }
+
+    @Test
+    void transactionManager_replicaDataSourceSeesCommits() {
+        JpaTransactionManager jpaTransactionManager = (JpaTransactionManager) this.transactionManager;
+
+        assertTrue(jpaTransactionManager.getTransactionExecutionListeners().contains(this.replicaDataSource));
+    }
+
+    private long count(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> this.lectorRepository.count());
+    }
+
+    private static Lector lector(String name) {
+        Lector lector = new Lector();
+        lector.setName(name);
+        lector.setDegree(Degree.PROFESSOR);
+        lector.setSalary(BigDecimal.valueOf(70000));
+        lector.setIsHeadOfDepartment(false);
+        return lector;
+    }
+}
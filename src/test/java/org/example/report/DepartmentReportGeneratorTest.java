@@ -0,0 +1,116 @@
+package org.example.report;
+
+import org.example.console.ConsoleInterface;
+import org.example.entity.DepartmentStats;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.payroll.PayrollRepository;
+import org.example.support.UniversityFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "report.chunk-size=2"
+})
+@Import({
+        DepartmentReportGenerator.class,
+        DepartmentReportRepository.class,
+        PayrollRepository.class,
+        UniversityFixtures.class
+})
+class DepartmentReportGeneratorTest {
+
+    @Autowired
+    private DepartmentReportGenerator departmentReportGenerator;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private Lector alice;
+
+    @BeforeEach
+    void setUp() {
+        this.alice = this.fixtures.persistLector("Alice Johnson", Degree.PROFESSOR, new BigDecimal("70000.50"));
+        Lector bob = this.fixtures.persistLector("Bob Smith", Degree.ASSISTANT, new BigDecimal("30000.00"));
+        Lector carol = this.fixtures.persistLector("Carol White", Degree.ASSISTANT, null);
+        this.fixtures.persistDepartment("Mathematics", this.alice, Set.of(this.alice, bob, carol),
+                new DepartmentStats(null, 3L, new BigDecimal("100000.50"), 2L, 2L, 0L, 1L));
+        this.fixtures.persistDepartment("Medicine", null, Set.of(carol));
+        this.fixtures.persistDepartment("History", bob, Set.of(bob),
+                new DepartmentStats(null, 1L, new BigDecimal("30000.00"), 1L, 1L, 0L, 0L));
+        this.fixtures.persistDepartment("Physics", null, Set.of());
+        this.fixtures.persistDepartment("Biology", this.alice, Set.of(this.alice));
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    void generate_severalChunks_allDepartmentsInIdOrder() {
+        List<DepartmentReportRow> rows = new ArrayList<>();
+
+        int departments = this.departmentReportGenerator.generate(rows::add);
+
+        assertEquals(5, departments);
+        assertEquals(List.of("Mathematics", "Medicine", "History", "Physics", "Biology"),
+                rows.stream().map(DepartmentReportRow::departmentName).toList());
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).departmentId() < rows.get(i).departmentId());
+        }
+    }
+
+    @Test
+    void generate_departmentWithSalaries_countsAndSalaryAggregates() {
+        List<DepartmentReportRow> rows = new ArrayList<>();
+
+        this.departmentReportGenerator.generate(rows::add);
+
+        DepartmentReportRow mathematics = rows.getFirst();
+        assertEquals("Alice Johnson", mathematics.headOfDepartmentName());
+        assertEquals(3, mathematics.headcount());
+        assertEquals(2, mathematics.assistants());
+        assertEquals(1, mathematics.professors());
+        assertEquals(new BigDecimal("30000.00"), mathematics.minSalary());
+        assertEquals(new BigDecimal("50000.25"), mathematics.averageSalary());
+        assertEquals(new BigDecimal("50000.25"), mathematics.medianSalary());
+        assertEquals(new BigDecimal("70000.50"), mathematics.maxSalary());
+        DepartmentReportRow biology = rows.getLast();
+        assertEquals(new BigDecimal("70000.50"), biology.averageSalary());
+    }
+
+    @Test
+    void generate_departmentWithoutSalariesOrStats_emptyAggregates() {
+        List<DepartmentReportRow> rows = new ArrayList<>();
+
+        this.departmentReportGenerator.generate(rows::add);
+
+        DepartmentReportRow medicine = rows.get(1);
+        assertNull(medicine.headOfDepartmentName());
+        assertEquals(0, medicine.headcount());
+        assertNull(medicine.minSalary());
+        assertNull(medicine.averageSalary());
+        assertNull(medicine.medianSalary());
+        assertNull(medicine.maxSalary());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepartmentReportWriterTest {
+
+    private static final DepartmentReportRow MATHEMATICS = new DepartmentReportRow(
+            1L, "Mathematics, Applied", "Alice \"Al\" Johnson", 3, 2, 0, 1,
+            new BigDecimal("30000.00"), new BigDecimal("50000.25"), new BigDecimal("50000.25"),
+            new BigDecimal("70000.50")
+    );
+
+    private static final DepartmentReportRow MEDICINE = new DepartmentReportRow(
+            2L, "Medicine", null, 0, 0, 0, 0, null, null, null, null
+    );
+
+    @Test
+    void accept_csv_quotedTextAndEmptyAggregates() {
+        StringWriter target = new StringWriter();
+        DepartmentReportWriter writer = new DepartmentReportWriter(ReportFormat.CSV, target);
+
+        writer.accept(MATHEMATICS);
+        writer.accept(MEDICINE);
+        writer.finish();
+
+        assertEquals(DepartmentReportWriter.CSV_HEADER + "\n"
+                + "1,\"Mathematics, Applied\",\"Alice \"\"Al\"\" Johnson\",3,2,0,1,30000.00,50000.25,50000.25,70000.50\n"
+                + "2,Medicine,,0,0,0,0,,,,\n", target.toString());
+    }
+
+    @Test
+    void accept_json_arrayOfRows() throws Exception {
+        StringWriter target = new StringWriter();
+        DepartmentReportWriter writer = new DepartmentReportWriter(ReportFormat.JSON, target);
+
+        writer.accept(MATHEMATICS);
+        writer.accept(MEDICINE);
+        writer.finish();
+
+        JsonNode rows = new ObjectMapper().readTree(target.toString());
+        assertEquals(2, rows.size());
+        assertEquals("Alice \"Al\" Johnson", rows.get(0).get("headOfDepartmentName").asText());
+        assertEquals(new BigDecimal("50000.25"), rows.get(0).get("averageSalary").decimalValue());
+        assertTrue(rows.get(1).get("headOfDepartmentName").isNull());
+        assertTrue(rows.get(1).get("maxSalary").isNull());
+    }
+
+    @Test
+    void finish_noRows_emptyDocument() {
+        StringWriter target = new StringWriter();
+        DepartmentReportWriter writer = new DepartmentReportWriter(ReportFormat.JSON, target);
+
+        writer.finish();
+
+        assertEquals("[]", target.toString());
+    }
+
+    @Test
+    void forFile_extension_format() {
+        assertEquals(ReportFormat.JSON, ReportFormat.forFile(Path.of("reports/departments.JSON")));
+        assertEquals(ReportFormat.CSV, ReportFormat.forFile(Path.of("departments.csv")));
+        assertEquals(ReportFormat.CSV, ReportFormat.forFile(Path.of("departments")));
+    }
+}
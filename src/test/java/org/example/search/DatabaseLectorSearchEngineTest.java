@@ -0,0 +1,59 @@
+package org.example.search;
+
+import org.example.repositrory.LectorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseLectorSearchEngineTest {
+
+    @Mock
+    private LectorRepository lectorRepository;
+
+    @InjectMocks
+    private DatabaseLectorSearchEngine searchEngine;
+
+    @Test
+    void search_validTerm_rankedNames() {
+        when(this.lectorRepository.searchNamesRankedBySimilarity("alice", "alice", 10, 20))
+                .thenReturn(List.of("Alice Johnson", "Alice Smith"));
+
+        List<String> result = this.searchEngine.search("alice", 10, 20);
+
+        assertEquals(List.of("Alice Johnson", "Alice Smith"), result);
+        verify(this.lectorRepository, times(1))
+                .searchNamesRankedBySimilarity("alice", "alice", 10, 20);
+    }
+
+    @Test
+    void search_wildcards_escapedPattern() {
+        when(this.lectorRepository.searchNamesRankedBySimilarity("100%_a", "100\\%\\_a", 10, 0))
+                .thenReturn(List.of());
+
+        List<String> result = this.searchEngine.search("100%_a", 10, 0);
+
+        assertEquals(0, result.size());
+        verify(this.lectorRepository, times(1))
+                .searchNamesRankedBySimilarity("100%_a", "100\\%\\_a", 10, 0);
+    }
+
+    @Test
+    void search_backslash_escapedPattern() {
+        when(this.lectorRepository.searchNamesRankedBySimilarity("a\\b", "a\\\\b", 10, 0))
+                .thenReturn(List.of());
+
+        List<String> result = this.searchEngine.search("a\\b", 10, 0);
+
+        assertEquals(0, result.size());
+        verify(this.lectorRepository, times(1))
+                .searchNamesRankedBySimilarity("a\\b", "a\\\\b", 10, 0);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dto.lector.LectorName;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.LectorChangedEvent;
+import org.example.repositrory.LectorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryLectorSearchEngineTest {
+
+    @Mock
+    private LectorRepository lectorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryLectorSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        this.engine = new InMemoryLectorSearchEngine(
+                this.lectorRepository,
+                this.transactionManager,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void rebuild_changesCommittedDuringScan_notOverwrittenByOlderRows() {
+        when(this.lectorRepository.streamAllNames()).thenReturn(Stream.of(
+                new LectorName(1L, "Alice Johnson"),
+                new LectorName(2L, "Bob Smith"),
+                new LectorName(3L, "Carol White")
+        ).peek(name -> {
+            if (name.id() == 1L) {
+                // committed after the scan snapshot was taken, before the scan reaches the rows
+                this.engine.onLectorChanged(new LectorChangedEvent(2L, "Bob Smith", ChangeType.REMOVED));
+                this.engine.onLectorChanged(new LectorChangedEvent(3L, "Carol Black", ChangeType.UPDATED));
+            }
+        }));
+
+        this.engine.rebuild();
+
+        assertTrue(this.engine.search("bob", 10, 0).isEmpty());
+        assertTrue(this.engine.search("white", 10, 0).isEmpty());
+        assertEquals(List.of("Carol Black"), this.engine.search("carol", 10, 0));
+        assertEquals(2, this.engine.stats().documents());
+    }
+
+    @Test
+    void onLectorChanged_afterRebuild_appliedToIndex() {
+        when(this.lectorRepository.streamAllNames()).thenReturn(Stream.of(new LectorName(1L, "Alice Johnson")));
+        this.engine.rebuild();
+
+        this.engine.onLectorChanged(new LectorChangedEvent(1L, "Alice Smith", ChangeType.UPDATED));
+
+        assertEquals(List.of("Alice Smith"), this.engine.search("alice", 10, 0));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new TrigramIndex();
+        this.index.put(1, "Alice Johnson");
+        this.index.put(2, "Bob Smith");
+        this.index.put(3, "Johnny Bravo");
+        this.index.put(4, "Alice Smith-Johnson");
+    }
+
+    @Test
+    void search_substring_matchesRankedBySimilarity() {
+        List<String> result = this.index.search("john", 10, 0);
+
+        assertEquals(List.of("Johnny Bravo", "Alice Johnson", "Alice Smith-Johnson"), result);
+    }
+
+    @Test
+    void search_wholeWordInLongerName_rankedAboveShorterPartialWord() {
+        this.index.put(5, "Alexander John");
+        this.index.put(6, "Al Johnsonx");
+
+        assertEquals(List.of("Alexander John", "Al Johnsonx"), this.index.search("john", 2, 0));
+    }
+
+    @Test
+    void similarity_pgTrgmWordTrigrams_sharedOverDistinct() {
+        long[] term = TrigramIndex.wordTrigrams("john");
+        long[] name = TrigramIndex.wordTrigrams("alice johnson");
+
+        assertEquals(5, term.length);
+        assertEquals(14, name.length);
+        assertEquals(4.0 / 15, TrigramIndex.similarity(term, name), 1e-9);
+        assertEquals(0, TrigramIndex.similarity(term, TrigramIndex.wordTrigrams("--")));
+    }
+
+    @Test
+    void search_differentCase_caseInsensitiveMatch() {
+        assertEquals(List.of("Bob Smith", "Alice Smith-Johnson"), this.index.search("SMITH", 10, 0));
+    }
+
+    @Test
+    void search_shortTerm_scansAllNames() {
+        assertEquals(List.of("Bob Smith"), this.index.search("bo", 10, 0));
+    }
+
+    @Test
+    void search_trigramsPresentButNotContiguous_noMatch() {
+        assertTrue(this.index.search("johnice", 10, 0).isEmpty());
+    }
+
+    @Test
+    void search_limitAndOffset_pageOfMatches() {
+        assertEquals(List.of("Alice Johnson"), this.index.search("john", 1, 1));
+    }
+
+    @Test
+    void put_existingId_replacesIndexedName() {
+        this.index.put(2, "Robert Smith");
+
+        assertTrue(this.index.search("bob", 10, 0).isEmpty());
+        assertEquals(List.of("Robert Smith"), this.index.search("robert", 10, 0));
+    }
+
+    @Test
+    void remove_existingId_noLongerFound() {
+        this.index.remove(1);
+
+        assertEquals(List.of("Johnny Bravo", "Alice Smith-Johnson"), this.index.search("john", 10, 0));
+        assertEquals(3, this.index.stats().documents());
+    }
+
+    @Test
+    void stats_indexedNames_countsAndFootprint() {
+        TrigramIndex.Stats stats = this.index.stats();
+
+        assertEquals(4, stats.documents());
+        assertTrue(stats.trigrams() > 0);
+        assertTrue(stats.postings() >= stats.trigrams());
+        assertTrue(stats.estimatedBytes() > 0);
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.cache.DepartmentLookupCache;
+import org.example.console.ConsoleInterface;
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.dto.lector.LectorDTO;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.mapper.DepartmentMapperImpl;
+import org.example.mapper.LectorMapperImpl;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.PayrollRepository;
+import org.example.report.DepartmentReportGenerator;
+import org.example.report.DepartmentReportRepository;
+import org.example.repositrory.DepartmentRepository;
+import org.example.service.impl.DepartmentServiceImpl;
+import org.example.snapshot.UniversitySnapshotHolder;
+import org.example.stats.DepartmentStatsChecker;
+import org.example.support.UniversityFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies the fetch plan of every DepartmentService read method by counting
+ * the SQL statements and loaded entities reported by Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "department.cache.enabled=false"
+})
+@Import({
+        DepartmentServiceImpl.class,
+        DepartmentMapperImpl.class,
+        LectorMapperImpl.class,
+        DepartmentLookupCache.class,
+        DepartmentStatsChecker.class,
+        PayrollRepository.class,
+        DepartmentReportGenerator.class,
+        DepartmentReportRepository.class,
+        UniversitySnapshotHolder.class,
+        UniversityFixtures.class
+})
+class DepartmentServiceFetchPlanTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @Autowired
+    private DepartmentStatsChecker departmentStatsChecker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Lector alice = this.fixtures.persistLector("Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000));
+        Lector bob = this.fixtures.persistLector("Bob Smith", Degree.ASSOCIATE_PROFESSOR, BigDecimal.valueOf(60000));
+        Lector charlie = this.fixtures.persistLector("Charlie Brown", Degree.ASSISTANT, BigDecimal.valueOf(50000));
+        this.fixtures.persistDepartment("Mathematics Department", alice, Set.of(alice, bob, charlie));
+        this.fixtures.persistDepartment("Medicine Department", bob, Set.of(alice, bob));
+        this.entityManager.flush();
+        // H2 has no statistics triggers, the rows are filled by the checker
+        this.departmentStatsChecker.repair();
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        this.statistics = this.entityManagerFactory
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void listDepartments_pagesWalked_singleStatementPerPageWithoutEntities() {
+        KeysetPage<DepartmentDTO> first = this.departmentService.listDepartments(null, 1);
+        KeysetPage<DepartmentDTO> second = this.departmentService.listDepartments(first.nextAfterId(), 1);
+
+        assertEquals("Mathematics Department", first.items().getFirst().getDepartmentName());
+        assertEquals(first.items().getFirst().getId(), first.nextAfterId());
+        assertEquals("Medicine Department", second.items().getFirst().getDepartmentName());
+        assertNull(second.nextAfterId());
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchEmployeeCount_singleStatementWithoutEntities() {
+        Integer result = this.departmentService.fetchEmployeeCount("Mathematics Department");
+
+        assertEquals(3, result);
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchHeadOfDepartment_singleStatementWithoutEntities() {
+        String result = this.departmentService.fetchHeadOfDepartment("Mathematics Department");
+
+        assertEquals("Alice Johnson", result);
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchDegreeHistogram_summaryAndStatisticsRowOnly() {
+        EnumMap<Degree, Long> result = this.departmentService.fetchDegreeHistogram("Mathematics Department");
+
+        assertEquals(1L, result.get(Degree.PROFESSOR));
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(1, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchAverageSalary_summaryAndStatisticsRowOnly() {
+        BigDecimal result = this.departmentService.fetchAverageSalary("Medicine Department");
+
+        assertEquals(new BigDecimal("65000.00"), result);
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(1, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByName_twoStatementsWithoutEntities() {
+        this.departmentService.findByName("Mathematics Department");
+
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchHeadOfDepartmentDetails_loadsDepartmentAndHeadOnly() {
+        LectorDTO result = this.departmentService.fetchHeadOfDepartmentDetails("Mathematics Department");
+
+        assertEquals("Alice Johnson", result.getName());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(2, this.statistics.getEntityLoadCount());
+        assertEquals(0, this.statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void fetchEmployees_loadsDepartmentAndEmployeesOnly() {
+        List<LectorDTO> result = this.departmentService.fetchEmployees("Mathematics Department");
+
+        assertEquals(3, result.size());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(4, this.statistics.getEntityLoadCount());
+        assertEquals(1, this.statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findDetailsByName_loadsDepartmentHeadAndEmployeesOnly() {
+        DepartmentResponseDTO result = this.departmentService.findDetailsByName("Mathematics Department")
+                .orElseThrow();
+
+        assertEquals(3, result.getEmployees().size());
+        assertEquals("Alice Johnson", result.getHeadOfDepartment().getName());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(4, this.statistics.getEntityLoadCount());
+        assertEquals(1, this.statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findSummaries_singleStatementWithoutEntities() {
+        Map<String, DepartmentSummary> result = this.departmentService.findSummaries(
+                List.of("Mathematics Department", "Medicine Department", "Unknown Department")
+        );
+
+        assertEquals(Set.of("Mathematics Department", "Medicine Department"), result.keySet());
+        assertEquals(3, result.get("Mathematics Department").employeeCount());
+        assertEquals("Bob Smith", result.get("Medicine Department").headOfDepartmentName());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchDegreeHistograms_summariesAndStatisticsRowsOnly() {
+        Map<String, EnumMap<Degree, Long>> result = this.departmentService.fetchDegreeHistograms(
+                List.of("Mathematics Department", "Medicine Department")
+        );
+
+        assertEquals(1L, result.get("Mathematics Department").get(Degree.ASSISTANT));
+        assertEquals(0L, result.get("Medicine Department").get(Degree.ASSISTANT));
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(2, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchAverageSalaries_summariesAndStatisticsRowsOnly() {
+        Map<String, BigDecimal> result = this.departmentService.fetchAverageSalaries(
+                List.of("Mathematics Department", "Medicine Department")
+        );
+
+        assertEquals(60000.0, result.get("Mathematics Department").doubleValue());
+        assertEquals(65000.0, result.get("Medicine Department").doubleValue());
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+        assertEquals(2, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchSalaryDistribution_summaryAndSalaryQueryWithoutEntities() {
+        DepartmentSalaries result = this.departmentService.fetchSalaryDistribution("Mathematics Department");
+
+        assertEquals(3, result.all().count());
+        assertEquals(5000000L, result.all().minCents());
+        assertEquals(6000000L, result.all().medianCents());
+        assertEquals(7000000L, result.byDegree().get(Degree.PROFESSOR).maxCents());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void fetchSalaryDistributions_allDepartmentsWithoutEntities() {
+        Map<String, DepartmentSalaries> result = this.departmentService.fetchSalaryDistributions();
+
+        assertEquals(List.of("Mathematics Department", "Medicine Department"), List.copyOf(result.keySet()));
+        assertEquals(6500000L, result.get("Medicine Department").all().averageCents());
+        assertEquals(Set.of(Degree.PROFESSOR, Degree.ASSOCIATE_PROFESSOR),
+                result.get("Medicine Department").byDegree().keySet());
+        assertEquals(0, this.statistics.getPrepareStatementCount());
+        assertEquals(0, this.statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByDepartmentName_doesNotCascadeIntoLectorDepartments() {
+        this.departmentRepository.findByDepartmentName("Mathematics Department");
+
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals(1, this.statistics.getEntityLoadCount());
+        assertEquals(0, this.statistics.getCollectionLoadCount());
+    }
+}
@@ -1,29 +1,55 @@
 package org.example.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.cache.DepartmentLookupCache;
+import org.example.dto.KeysetPage;
+import org.example.dto.depatrment.DepartmentDTO;
 import org.example.dto.depatrment.DepartmentRequestDTO;
-import org.example.entity.Department;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.DepartmentStats;
 import org.example.entity.Lector;
 import org.example.enums.Degree;
 import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.mapper.DepartmentMapper;
+import org.example.mapper.LectorMapper;
+import org.example.payroll.DepartmentSalaries;
+import org.example.payroll.PayrollRepository;
+import org.example.payroll.SalaryTable;
+import org.example.report.DepartmentReportGenerator;
 import org.example.repositrory.DepartmentRepository;
+import org.example.repositrory.DepartmentStatsRepository;
 import org.example.repositrory.LectorRepository;
 import org.example.service.impl.DepartmentServiceImpl;
+import org.example.snapshot.UniversitySnapshotHolder;
+import org.example.dto.depatrment.DepartmentResponseDTO;
+import org.example.dto.lector.LectorDTO;
+import org.example.entity.Department;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,16 +62,38 @@ public class DepartmentServiceImplTest {
     private LectorRepository lectorRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private EntityManager entityManager;
+
+    @Mock
+    private DepartmentStatsRepository departmentStatsRepository;
 
     @Mock
-    private Department department;
+    private DepartmentMapper departmentMapper;
+
+    @Mock
+    private LectorMapper lectorMapper;
+
+    @Mock
+    private PayrollRepository payrollRepository;
+
+    @Mock
+    private DepartmentReportGenerator departmentReportGenerator;
+
+    @Spy
+    private DepartmentLookupCache departmentLookupCache = DepartmentLookupCache.disabled();
+
+    @Spy
+    private UniversitySnapshotHolder universitySnapshotHolder = UniversitySnapshotHolder.disabled();
 
     @InjectMocks
     private DepartmentServiceImpl departmentService;
 
     private Lector lector;
 
+    private DepartmentSummary summary;
+
+    private DepartmentStats stats;
+
     @BeforeEach
     void setUp() {
         this.lector = new Lector();
@@ -53,28 +101,34 @@ public class DepartmentServiceImplTest {
         this.lector.setDegree(Degree.PROFESSOR);
         this.lector.setSalary(BigDecimal.valueOf(70000));
         this.lector.setIsHeadOfDepartment(true);
+
+        this.summary = new DepartmentSummary(1L, "Computer Science", 7L, "Alice Johnson", 12);
+        this.stats = new DepartmentStats(1L, 12L, BigDecimal.valueOf(780000), 12L, 4L, 6L, 2L);
     }
 
     @Test
     void findByName_validName_departmentRequestDTO() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.modelMapper.map(this.department, DepartmentRequestDTO.class))
-                .thenReturn(new DepartmentRequestDTO());
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentRepository.findEmployeeIdsByDepartmentId(1L))
+                .thenReturn(Set.of(7L, 8L));
 
         Optional<DepartmentRequestDTO> result =
                 this.departmentService.findByName("Computer Science");
 
         assertTrue(result.isPresent());
+        assertEquals("Computer Science", result.get().getDepartmentName());
+        assertEquals(Set.of(7L, 8L), result.get().getEmployeesIds());
+        assertEquals(7L, result.get().getHeadOfDepartmentId());
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.modelMapper, times(1))
-                .map(this.department, DepartmentRequestDTO.class);
+                .findSummaryByDepartmentName("Computer Science");
+        verify(this.departmentRepository, never())
+                .findByDepartmentName(anyString());
     }
 
     @Test
     void findByName_departmentNotFound() {
-        when(this.departmentRepository.findByDepartmentName("NonExistent"))
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
                 .thenReturn(Optional.empty());
 
         Optional<DepartmentRequestDTO> result =
@@ -82,162 +136,393 @@ public class DepartmentServiceImplTest {
 
         assertTrue(result.isEmpty());
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("NonExistent");
+                .findSummaryByDepartmentName("NonExistent");
+    }
+
+    @Test
+    void findDetailsByName_validName_departmentResponseDTO() {
+        Department department = new Department();
+        when(this.departmentRepository.findWithHeadAndEmployeesByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(department));
+        when(this.departmentMapper.toResponseDto(department))
+                .thenReturn(new DepartmentResponseDTO());
+
+        Optional<DepartmentResponseDTO> result =
+                this.departmentService.findDetailsByName("Computer Science");
+
+        assertTrue(result.isPresent());
+        verify(this.departmentRepository, times(1))
+                .findWithHeadAndEmployeesByDepartmentName("Computer Science");
     }
 
     @Test
     void fetchAverageSalary_validDepartmentName_averageSalary() {
-        when(this.lectorRepository.fetchAverageSalaryByDepartmentName("Computer Science"))
-                .thenReturn(BigDecimal.valueOf(70000));
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(this.stats));
 
         BigDecimal result = this.departmentService.fetchAverageSalary("Computer Science");
 
-        assertEquals(BigDecimal.valueOf(70000), result);
-        verify(this.lectorRepository, times(1))
-                .fetchAverageSalaryByDepartmentName("Computer Science");
+        assertEquals(new BigDecimal("65000.00"), result);
+        verify(this.departmentStatsRepository, times(1))
+                .findById(1L);
+        verifyNoInteractions(this.lectorRepository);
+    }
+
+    @Test
+    void fetchAverageSalary_noSalaries_null() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(new DepartmentStats(1L, 0L, BigDecimal.ZERO, 0L, 0L, 0L, 0L)));
+
+        assertNull(this.departmentService.fetchAverageSalary("Computer Science"));
     }
 
     @Test
     void fetchAverageSalary_departmentNotFound() {
-        when(this.lectorRepository.fetchAverageSalaryByDepartmentName("NonExistent"))
-                .thenThrow(new NotFoundException("Department not found", "NonExistent"));
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
+                .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> this.departmentService.fetchAverageSalary("NonExistent"));
-        verify(this.lectorRepository, times(1))
-                .fetchAverageSalaryByDepartmentName("NonExistent");
+        verifyNoInteractions(this.departmentStatsRepository);
     }
 
     @Test
     void fetchAssistantsCount_validDepartmentName_assistantsCount() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.department.getEmployees()).thenReturn(Set.of(this.lector));
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(this.stats));
 
         Integer result = this.departmentService.fetchAssistantsCount("Computer Science");
 
-        assertEquals(0, result);
-        verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.department, times(1)).getEmployees();
+        assertEquals(4, result);
+        verify(this.departmentRepository, never())
+                .findByDepartmentName(anyString());
     }
 
     @Test
     void fetchAssociateProfessorsCount_validDepartmentName_associateProfessorsCount() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.department.getEmployees()).thenReturn(Set.of(this.lector));
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(this.stats));
 
         Integer result = this.departmentService.fetchAssociateProfessorsCount("Computer Science");
 
-        assertEquals(0, result);
-        verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.department, times(1)).getEmployees();
+        assertEquals(6, result);
+        verify(this.departmentRepository, never())
+                .findByDepartmentName(anyString());
     }
 
     @Test
     void fetchProfessorsCount_validDepartmentName_professorsCount() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.department.getEmployees()).thenReturn(Set.of(this.lector));
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(this.stats));
 
         Integer result = this.departmentService.fetchProfessorsCount("Computer Science");
 
-        assertEquals(1, result);
+        assertEquals(2, result);
+        verify(this.departmentRepository, never())
+                .findByDepartmentName(anyString());
+    }
+
+    @Test
+    void fetchDegreeHistogram_validDepartmentName_countsPerDegree() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(this.stats));
+
+        EnumMap<Degree, Long> result = this.departmentService.fetchDegreeHistogram("Computer Science");
+
+        assertEquals(4L, result.get(Degree.ASSISTANT));
+        assertEquals(6L, result.get(Degree.ASSOCIATE_PROFESSOR));
+        assertEquals(2L, result.get(Degree.PROFESSOR));
+        verify(this.departmentStatsRepository, times(1))
+                .findById(1L);
+        verifyNoInteractions(this.lectorRepository);
+    }
+
+    @Test
+    void fetchDegreeHistogram_emptyDepartment_zeroCounts() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.of(new DepartmentStats(1L, 0L, BigDecimal.ZERO, 0L, 0L, 0L, 0L)));
+
+        EnumMap<Degree, Long> result = this.departmentService.fetchDegreeHistogram("Computer Science");
+
+        assertEquals(3, result.size());
+        assertTrue(result.values().stream().allMatch(count -> count == 0L));
+    }
+
+    @Test
+    void fetchDegreeHistogram_departmentNotFound() {
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> this.departmentService.fetchDegreeHistogram("NonExistent"));
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.department, times(1))
-                .getEmployees();
+                .findSummaryByDepartmentName("NonExistent");
+        verifyNoInteractions(this.departmentStatsRepository);
+    }
+
+    @Test
+    void fetchDegreeHistogram_statisticsRowMissing() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.departmentStatsRepository.findById(1L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> this.departmentService.fetchDegreeHistogram("Computer Science"));
     }
 
     @Test
     void fetchHeadOfDepartment_validDepartmentName_headOfDepartmentName() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.department.getHeadOfDepartment())
-                .thenReturn(this.lector);
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
 
         String result = this.departmentService.fetchHeadOfDepartment("Computer Science");
 
         assertEquals("Alice Johnson", result);
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.department, times(1))
-                .getHeadOfDepartment();
+                .findSummaryByDepartmentName("Computer Science");
     }
 
     @Test
     void fetchHeadOfDepartment_departmentNotFound() {
-        when(this.departmentRepository.findByDepartmentName("NonExistent"))
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> this.departmentService.fetchHeadOfDepartment("NonExistent"));
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("NonExistent");
+                .findSummaryByDepartmentName("NonExistent");
+    }
+
+    @Test
+    void fetchHeadOfDepartment_departmentWithoutHead() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(new DepartmentSummary(1L, "Computer Science", null, null, 0)));
+
+        assertThrows(NotFoundException.class,
+                () -> this.departmentService.fetchHeadOfDepartment("Computer Science"));
+    }
+
+    @Test
+    void fetchHeadOfDepartmentDetails_validDepartmentName_lectorDTO() {
+        Department department = new Department();
+        department.setHeadOfDepartment(this.lector);
+        LectorDTO head = new LectorDTO(7L, "Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000));
+        when(this.departmentRepository.findWithHeadByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(department));
+        when(this.lectorMapper.toDto(this.lector))
+                .thenReturn(head);
+
+        LectorDTO result = this.departmentService.fetchHeadOfDepartmentDetails("Computer Science");
+
+        assertEquals(head, result);
+        verify(this.departmentRepository, times(1))
+                .findWithHeadByDepartmentName("Computer Science");
+    }
+
+    @Test
+    void fetchEmployees_departmentNotFound() {
+        when(this.departmentRepository.findWithEmployeesByDepartmentName("NonExistent"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> this.departmentService.fetchEmployees("NonExistent"));
     }
 
     @Test
     void fetchEmployeeCount_validDepartmentName_employeeCount() {
-        when(this.departmentRepository.findByDepartmentName("Computer Science"))
-                .thenReturn(Optional.of(this.department));
-        when(this.department.getEmployees())
-                .thenReturn(Set.of(this.lector));
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
 
         Integer result = this.departmentService.fetchEmployeeCount("Computer Science");
 
-        assertEquals(1, result);
+        assertEquals(12, result);
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("Computer Science");
-        verify(this.department, times(1))
-                .getEmployees();
+                .findSummaryByDepartmentName("Computer Science");
     }
 
     @Test
     void fetchEmployeeCount_departmentNotFound() {
-        when(this.departmentRepository.findByDepartmentName("NonExistent"))
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> this.departmentService.fetchEmployeeCount("NonExistent"));
         verify(this.departmentRepository, times(1))
-                .findByDepartmentName("NonExistent");
+                .findSummaryByDepartmentName("NonExistent");
+    }
+
+    @Test
+    void findSummaries_duplicateNames_singleQueryForDistinctNames() {
+        when(this.departmentRepository.findSummariesByDepartmentNameIn(List.of("Computer Science", "NonExistent")))
+                .thenReturn(List.of(this.summary));
+
+        Map<String, DepartmentSummary> result = this.departmentService.findSummaries(
+                List.of("Computer Science", "NonExistent", "Computer Science")
+        );
+
+        assertEquals(Map.of("Computer Science", this.summary), result);
+        verify(this.departmentRepository, times(1)).findSummariesByDepartmentNameIn(anyCollection());
+        verifyNoInteractions(this.departmentLookupCache);
+    }
+
+    @Test
+    void findSummaries_manyNames_queriedInChunks() {
+        List<String> names = IntStream.range(0, 1001)
+                .mapToObj(i -> "Department " + i)
+                .toList();
+        when(this.departmentRepository.findSummariesByDepartmentNameIn(anyCollection()))
+                .thenReturn(List.of());
+
+        this.departmentService.findSummaries(names);
+
+        verify(this.departmentRepository, times(1)).findSummariesByDepartmentNameIn(
+                argThat((Collection<String> chunk) -> chunk.size() == 1000)
+        );
+        verify(this.departmentRepository, times(1)).findSummariesByDepartmentNameIn(
+                argThat((Collection<String> chunk) -> chunk.size() == 1)
+        );
+    }
+
+    @Test
+    void fetchDegreeHistograms_validDepartmentNames_countsPerDepartmentAndDegree() {
+        when(this.departmentRepository.findSummariesByDepartmentNameIn(List.of("Computer Science", "Medicine")))
+                .thenReturn(List.of(this.summary));
+        when(this.departmentStatsRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(this.stats));
+
+        Map<String, EnumMap<Degree, Long>> result = this.departmentService.fetchDegreeHistograms(
+                List.of("Computer Science", "Medicine")
+        );
+
+        assertEquals(Set.of("Computer Science"), result.keySet());
+        assertEquals(4L, result.get("Computer Science").get(Degree.ASSISTANT));
+        assertEquals(6L, result.get("Computer Science").get(Degree.ASSOCIATE_PROFESSOR));
+        assertEquals(2L, result.get("Computer Science").get(Degree.PROFESSOR));
+        verifyNoInteractions(this.lectorRepository);
+    }
+
+    @Test
+    void fetchAverageSalaries_validDepartmentNames_averageSalaryPerDepartment() {
+        when(this.departmentRepository.findSummariesByDepartmentNameIn(List.of("Computer Science", "Medicine")))
+                .thenReturn(List.of(this.summary));
+        when(this.departmentStatsRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(this.stats));
+
+        Map<String, BigDecimal> result = this.departmentService.fetchAverageSalaries(
+                List.of("Computer Science", "Medicine")
+        );
+
+        assertEquals(Map.of("Computer Science", new BigDecimal("65000.00")), result);
+    }
+
+    @Test
+    void fetchSalaryDistribution_validDepartmentName_departmentSalariesLoadedById() {
+        when(this.departmentRepository.findSummaryByDepartmentName("Computer Science"))
+                .thenReturn(Optional.of(this.summary));
+        when(this.payrollRepository.loadDepartment(1L, "Computer Science"))
+                .thenReturn(new SalaryTable.Builder()
+                        .department(1L, "Computer Science")
+                        .salary(7000000, Degree.PROFESSOR.ordinal())
+                        .salary(5000000, Degree.ASSISTANT.ordinal())
+                        .build());
+
+        DepartmentSalaries result = this.departmentService.fetchSalaryDistribution("Computer Science");
+
+        assertEquals("Computer Science", result.departmentName());
+        assertEquals(6000000L, result.all().averageCents());
+        assertEquals(Set.of(Degree.PROFESSOR, Degree.ASSISTANT), result.byDegree().keySet());
+    }
+
+    @Test
+    void fetchSalaryDistribution_departmentNotFound_throwsNotFoundException() {
+        when(this.departmentRepository.findSummaryByDepartmentName("NonExistent"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> this.departmentService.fetchSalaryDistribution("NonExistent"));
+        verifyNoInteractions(this.payrollRepository);
     }
 
     @Test
     void searchLecturersByNameContaining_validName_lectorsList() {
         when(this.lectorRepository.findByNameContaining("Alice"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
-        List<Lector> result = this.departmentService.searchLecturersByNameContaining("Alice");
+        List<Lector> result = new ArrayList<>();
+        int count = this.departmentService.searchLecturersByNameContaining("Alice", result::add);
 
+        assertEquals(1, count);
         assertEquals(1, result.size());
         assertEquals("Alice Johnson", result.getFirst().getName());
         verify(this.lectorRepository, times(1))
                 .findByNameContaining("Alice");
+        verify(this.entityManager, times(1)).detach(this.lector);
     }
 
     @Test
     void searchLecturersByNameContaining_substring_lectorsList() {
         when(this.lectorRepository.findByNameContaining("John"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
-        List<Lector> result = this.departmentService.searchLecturersByNameContaining("John");
+        List<Lector> result = new ArrayList<>();
+        int count = this.departmentService.searchLecturersByNameContaining("John", result::add);
 
+        assertEquals(1, count);
         assertEquals(1, result.size());
         assertEquals("Alice Johnson", result.getFirst().getName());
         verify(this.lectorRepository, times(1))
                 .findByNameContaining("John");
     }
 
+    @Test
+    void listDepartments_moreRowsThanLimit_nextAfterIdOfLastItem() {
+        DepartmentDTO mathematics = new DepartmentDTO(1L, "Mathematics Department");
+        DepartmentDTO medicine = new DepartmentDTO(51L, "Medicine Department");
+        when(this.departmentRepository.findPageAfter(Long.MIN_VALUE, Limit.of(2)))
+                .thenReturn(List.of(mathematics, medicine));
+
+        KeysetPage<DepartmentDTO> page = this.departmentService.listDepartments(null, 1);
+
+        assertEquals(List.of(mathematics), page.items());
+        assertEquals(1L, page.nextAfterId());
+    }
+
+    @Test
+    void listDepartments_fewerRowsThanLimit_lastPage() {
+        DepartmentDTO medicine = new DepartmentDTO(51L, "Medicine Department");
+        when(this.departmentRepository.findPageAfter(1L, Limit.of(2)))
+                .thenReturn(List.of(medicine));
+
+        KeysetPage<DepartmentDTO> page = this.departmentService.listDepartments(1L, 0);
+
+        assertEquals(List.of(medicine), page.items());
+        assertNull(page.nextAfterId());
+    }
+
     @Test
     void searchLecturersByNameContaining_singleCharacter_lectorsList() {
         when(this.lectorRepository.findByNameContaining("A"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
-        List<Lector> result = this.departmentService.searchLecturersByNameContaining("A");
+        List<Lector> result = new ArrayList<>();
+        int count = this.departmentService.searchLecturersByNameContaining("A", result::add);
 
+        assertEquals(1, count);
         assertEquals(1, result.size());
         assertEquals("Alice Johnson", result.getFirst().getName());
         verify(this.lectorRepository, times(1))
@@ -250,13 +535,15 @@ public class DepartmentServiceImplTest {
         lector2.setName("alice johnson");
 
         when(this.lectorRepository.findByNameContaining("alice"))
-                .thenReturn(List.of(this.lector, lector2));
+                .thenReturn(Stream.of(this.lector, lector2));
 
-        List<Lector> result = this.departmentService.searchLecturersByNameContaining("alice");
+        List<Lector> result = new ArrayList<>();
+        int count = this.departmentService.searchLecturersByNameContaining("alice", result::add);
 
+        assertEquals(2, count);
         assertEquals(2, result.size());
         assertEquals("Alice Johnson", result.getFirst().getName());
-        assertEquals("alice johnson", result.getFirst().getName());
+        assertEquals("alice johnson", result.get(1).getName());
         verify(this.lectorRepository, times(1))
                 .findByNameContaining("alice");
     }
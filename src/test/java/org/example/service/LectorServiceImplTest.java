@@ -1,7 +1,12 @@
 package org.example.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
 import org.example.entity.Lector;
+import org.example.enums.Degree;
 import org.example.repositrory.LectorRepository;
+import org.example.search.LectorSearchEngine;
 import org.example.service.impl.LectorServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,11 +14,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +33,12 @@ public class LectorServiceImplTest {
     @Mock
     private LectorRepository lectorRepository;
 
+    @Mock
+    private LectorSearchEngine lectorSearchEngine;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private LectorServiceImpl lectorService;
 
@@ -40,7 +57,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_validName_lectorsList() {
         when(this.lectorRepository.findByNameContaining("Alice"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
         List<String> result = this.lectorService.searchByNameContaining("Alice");
 
@@ -48,12 +65,13 @@ public class LectorServiceImplTest {
         assertEquals("Alice Johnson", result.getFirst());
         verify(this.lectorRepository, times(1))
                 .findByNameContaining("Alice");
+        verify(this.entityManager, times(1)).detach(this.lector);
     }
 
     @Test
     void searchByNameContaining_noLectors_emptyList() {
         when(this.lectorRepository.findByNameContaining("NonExistent"))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Stream.empty());
 
         List<String> result = this.lectorService.searchByNameContaining("NonExistent");
 
@@ -65,7 +83,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_multipleLectors_lectorsList() {
         when(this.lectorRepository.findByNameContaining("Smith"))
-                .thenReturn(List.of(this.lector, this.lector2));
+                .thenReturn(Stream.of(this.lector, this.lector2));
 
         List<String> result = this.lectorService.searchByNameContaining("Smith");
 
@@ -79,7 +97,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_emptyName_emptyList() {
         when(this.lectorRepository.findByNameContaining(""))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Stream.empty());
 
         List<String> result = this.lectorService.searchByNameContaining("");
 
@@ -91,7 +109,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_nullName_emptyList() {
         when(this.lectorRepository.findByNameContaining(null))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Stream.empty());
 
         List<String> result = this.lectorService.searchByNameContaining(null);
 
@@ -103,7 +121,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_singleCharacter_lectorsList() {
         when(this.lectorRepository.findByNameContaining("A"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
         List<String> result = this.lectorService.searchByNameContaining("A");
 
@@ -119,7 +137,7 @@ public class LectorServiceImplTest {
         lector3.setName("alice johnson");
 
         when(this.lectorRepository.findByNameContaining("alice"))
-                .thenReturn(List.of(this.lector, lector3));
+                .thenReturn(Stream.of(this.lector, lector3));
 
         List<String> result = this.lectorService.searchByNameContaining("alice");
 
@@ -132,7 +150,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_substring_lectorsList() {
         when(this.lectorRepository.findByNameContaining("John"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
         List<String> result = this.lectorService.searchByNameContaining("John");
 
@@ -145,7 +163,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_exactMatch_lectorsList() {
         when(this.lectorRepository.findByNameContaining("Alice Johnson"))
-                .thenReturn(List.of(this.lector));
+                .thenReturn(Stream.of(this.lector));
 
         List<String> result = this.lectorService.searchByNameContaining("Alice Johnson");
 
@@ -161,7 +179,7 @@ public class LectorServiceImplTest {
         lector3.setName("ALICE JOHNSON");
 
         when(this.lectorRepository.findByNameContaining("alice johnson"))
-                .thenReturn(List.of(this.lector, lector3));
+                .thenReturn(Stream.of(this.lector, lector3));
 
         List<String> result = lectorService.searchByNameContaining("alice johnson");
 
@@ -177,7 +195,7 @@ public class LectorServiceImplTest {
         lector3.setName("Alice Smith");
 
         when(this.lectorRepository.findByNameContaining("Alice"))
-                .thenReturn(List.of(this.lector, lector3));
+                .thenReturn(Stream.of(this.lector, lector3));
 
         List<String> result = this.lectorService.searchByNameContaining("Alice");
 
@@ -194,7 +212,7 @@ public class LectorServiceImplTest {
         lector3.setName("Alice-Johnson");
 
         when(this.lectorRepository.findByNameContaining("Alice-Johnson"))
-                .thenReturn(List.of(lector3));
+                .thenReturn(Stream.of(lector3));
 
         List<String> result = this.lectorService.searchByNameContaining("Alice-Johnson");
 
@@ -210,7 +228,7 @@ public class LectorServiceImplTest {
         lector3.setName(" Alice Johnson ");
 
         when(this.lectorRepository.findByNameContaining(" Alice Johnson "))
-                .thenReturn(List.of(lector3));
+                .thenReturn(Stream.of(lector3));
 
         List<String> result = this.lectorService.searchByNameContaining(" Alice Johnson ");
 
@@ -223,7 +241,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_emptyResult_emptyList() {
         when(this.lectorRepository.findByNameContaining("NonExistent"))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Stream.empty());
 
         List<String> result = this.lectorService.searchByNameContaining("NonExistent");
 
@@ -235,7 +253,7 @@ public class LectorServiceImplTest {
     @Test
     void searchByNameContaining_nullResult_emptyList() {
         when(this.lectorRepository.findByNameContaining(null))
-                .thenReturn(Collections.emptyList());
+                .thenReturn(Stream.empty());
 
         List<String> result = this.lectorService.searchByNameContaining(null);
 
@@ -243,4 +261,106 @@ public class LectorServiceImplTest {
         verify(this.lectorRepository, times(1))
                 .findByNameContaining(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchByNameContaining_moreMatchesThanLimit_capped() {
+        AtomicInteger read = new AtomicInteger();
+        when(this.lectorRepository.findByNameContaining("Lector"))
+                .thenReturn(Stream.generate(() -> {
+                    Lector lector = new Lector();
+                    lector.setName("Lector " + read.incrementAndGet());
+                    return lector;
+                }));
+
+        List<String> result = this.lectorService.searchByNameContaining("Lector");
+
+        assertEquals(LectorServiceImpl.MAX_SEARCH_LIMIT, result.size());
+        assertEquals("Lector 1", result.getFirst());
+        assertEquals(LectorServiceImpl.MAX_SEARCH_LIMIT, read.get());
+    }
+
+    @Test
+    void searchByNameContainingPaged_validName_rankedNames() {
+        when(this.lectorSearchEngine.search("alice", 10, 20))
+                .thenReturn(List.of("Alice Johnson", "Alice Smith"));
+
+        List<String> result = this.lectorService.searchByNameContaining("Alice", 10, 20);
+
+        assertEquals(List.of("Alice Johnson", "Alice Smith"), result);
+        verify(this.lectorSearchEngine, times(1))
+                .search("alice", 10, 20);
+        verifyNoInteractions(this.lectorRepository);
+    }
+
+    @Test
+    void searchByNameContainingPaged_limitAboveMaximum_limitCapped() {
+        when(this.lectorSearchEngine.search("a", LectorServiceImpl.MAX_SEARCH_LIMIT, 0))
+                .thenReturn(List.of(this.lector.getName()));
+
+        List<String> result = this.lectorService.searchByNameContaining("A", 100_000, -5);
+
+        assertEquals(1, result.size());
+        verify(this.lectorSearchEngine, times(1))
+                .search("a", LectorServiceImpl.MAX_SEARCH_LIMIT, 0);
+    }
+
+    @Test
+    void forEachNameContaining_validName_namesStreamedAndStreamClosed() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(this.lectorRepository.streamNamesContaining("al"))
+                .thenReturn(Stream.of("Alice Johnson", "Alan Smith").onClose(() -> closed.set(true)));
+        List<String> names = new ArrayList<>();
+
+        int count = this.lectorService.forEachNameContaining("Al", names::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of("Alice Johnson", "Alan Smith"), names);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void forEachNameContaining_blankName_noQuery() {
+        int count = this.lectorService.forEachNameContaining(" ", name -> {
+        });
+
+        assertEquals(0, count);
+        verifyNoInteractions(this.lectorRepository);
+    }
+
+    @Test
+    void listLectors_moreRowsThanLimit_nextAfterIdOfLastItem() {
+        LectorDTO first = new LectorDTO(3L, "Alice Johnson", Degree.PROFESSOR, null);
+        LectorDTO second = new LectorDTO(8L, "Bob Smith", Degree.ASSISTANT, null);
+        LectorDTO third = new LectorDTO(9L, "Carol White", null, null);
+        when(this.lectorRepository.findPageAfter(2L, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        KeysetPage<LectorDTO> page = this.lectorService.listLectors(2L, 2, null);
+
+        assertEquals(List.of(first, second), page.items());
+        assertEquals(8L, page.nextAfterId());
+    }
+
+    @Test
+    void listLectors_firstPageOfDegree_lastPageWithoutNextAfterId() {
+        LectorDTO lector = new LectorDTO(3L, "Alice Johnson", Degree.PROFESSOR, null);
+        when(this.lectorRepository.findPageAfterByDegree(
+                Long.MIN_VALUE,
+                Degree.PROFESSOR,
+                Limit.of(KeysetPage.MAX_LIMIT + 1)
+        )).thenReturn(List.of(lector));
+
+        KeysetPage<LectorDTO> page = this.lectorService.listLectors(null, 100_000, Degree.PROFESSOR);
+
+        assertEquals(List.of(lector), page.items());
+        assertNull(page.nextAfterId());
+    }
+
+    @Test
+    void searchByNameContainingPaged_blankName_emptyListWithoutQuery() {
+        List<String> result = this.lectorService.searchByNameContaining("  ", 10, 0);
+
+        assertEquals(0, result.size());
+        verifyNoInteractions(this.lectorSearchEngine);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.console.ConsoleInterface;
+import org.example.dto.KeysetPage;
+import org.example.dto.lector.LectorDTO;
+import org.example.enums.Degree;
+import org.example.search.LectorSearchEngine;
+import org.example.service.impl.LectorServiceImpl;
+import org.example.support.UniversityFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({LectorServiceImpl.class, UniversityFixtures.class})
+class LectorServicePagingTest {
+    private static final BigDecimal SALARY = new BigDecimal("1000.00");
+
+    @Autowired
+    private LectorService lectorService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private LectorSearchEngine lectorSearchEngine;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.ids.add(this.fixtures.persistLector("Alice Johnson", Degree.PROFESSOR, SALARY).getId());
+        this.ids.add(this.fixtures.persistLector("Bob Smith", Degree.ASSISTANT, SALARY).getId());
+        this.ids.add(this.fixtures.persistLector("Carol White", Degree.PROFESSOR, SALARY).getId());
+        this.ids.add(this.fixtures.persistLector("Dan Brown", null, SALARY).getId());
+        this.ids.add(this.fixtures.persistLector("Eve Black", Degree.PROFESSOR, SALARY).getId());
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    void listLectors_pagesWalked_allLectorsInIdOrder() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Long> listed = new ArrayList<>();
+        Long afterId = null;
+        int pages = 0;
+        do {
+            KeysetPage<LectorDTO> page = this.lectorService.listLectors(afterId, 2, null);
+            page.items().forEach(lector -> listed.add(lector.getId()));
+            afterId = page.nextAfterId();
+            pages++;
+        } while (afterId != null);
+
+        assertEquals(this.ids, listed);
+        assertEquals(3, pages);
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listLectors_degree_onlyLectorsOfDegree() {
+        KeysetPage<LectorDTO> first = this.lectorService.listLectors(null, 2, Degree.PROFESSOR);
+        KeysetPage<LectorDTO> second = this.lectorService.listLectors(first.nextAfterId(), 2, Degree.PROFESSOR);
+
+        assertEquals(List.of("Alice Johnson", "Carol White"), first.items().stream().map(LectorDTO::getName).toList());
+        assertEquals(List.of("Eve Black"), second.items().stream().map(LectorDTO::getName).toList());
+        assertEquals(new BigDecimal("1000.00"), second.items().getFirst().getSalary());
+        assertNull(second.nextAfterId());
+    }
+
+    @Test
+    void listLectors_exactlyOnePage_noNextPage() {
+        KeysetPage<LectorDTO> page = this.lectorService.listLectors(null, 5, null);
+
+        assertEquals(5, page.items().size());
+        assertNull(page.nextAfterId());
+    }
+}
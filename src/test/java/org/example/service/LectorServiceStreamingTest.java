@@ -0,0 +1,88 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.console.ConsoleInterface;
+import org.example.search.LectorSearchEngine;
+import org.example.service.impl.LectorServiceImpl;
+import org.example.support.UniversityFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({LectorServiceImpl.class, UniversityFixtures.class})
+// the generated column of migration V4, which the H2 schema lacks
+@Sql(
+        statements = "ALTER TABLE lectors ADD COLUMN IF NOT EXISTS name_search VARCHAR(255) AS (LOWER(name))",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS
+)
+class LectorServiceStreamingTest {
+
+    @Autowired
+    private LectorService lectorService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private LectorSearchEngine lectorSearchEngine;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    @BeforeEach
+    void setUp() {
+        this.fixtures.persistLector("Ivan Petrenko");
+        this.fixtures.persistLector("Anna Smith");
+        this.fixtures.persistLector("Bob Brown");
+        this.fixtures.persistLector("100% Ann_");
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    void forEachNameContaining_caseIgnored_namesInOrderWithoutEntities() {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<String> names = new ArrayList<>();
+
+        int count = this.lectorService.forEachNameContaining("AN", names::add);
+
+        assertEquals(3, count);
+        assertEquals(List.of("100% Ann_", "Anna Smith", "Ivan Petrenko"), names);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void forEachNameContaining_wildcards_matchedLiterally() {
+        List<String> names = new ArrayList<>();
+
+        this.lectorService.forEachNameContaining("0% ann_", names::add);
+
+        assertEquals(List.of("100% Ann_"), names);
+        assertEquals(0, this.lectorService.forEachNameContaining("n_a", name -> {
+        }));
+    }
+}
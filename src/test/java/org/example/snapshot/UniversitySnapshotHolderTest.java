@@ -0,0 +1,202 @@
+package org.example.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.cache.DepartmentLookupCache;
+import org.example.console.ConsoleInterface;
+import org.example.dto.depatrment.DepartmentSummary;
+import org.example.entity.DepartmentStats;
+import org.example.entity.Lector;
+import org.example.entity.listener.ChangeType;
+import org.example.entity.listener.DepartmentChangedEvent;
+import org.example.entity.listener.LectorChangedEvent;
+import org.example.enums.Degree;
+import org.example.mapper.DepartmentMapperImpl;
+import org.example.mapper.LectorMapperImpl;
+import org.example.payroll.PayrollRepository;
+import org.example.report.DepartmentReportGenerator;
+import org.example.report.DepartmentReportRepository;
+import org.example.payroll.SalaryTable;
+import org.example.service.DepartmentService;
+import org.example.service.impl.DepartmentServiceImpl;
+import org.example.support.UniversityFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "department.cache.enabled=false",
+        "snapshot.enabled=true",
+        "snapshot.refresh-interval=PT1H"
+})
+@Import({
+        UniversitySnapshotHolder.class,
+        DepartmentServiceImpl.class,
+        DepartmentMapperImpl.class,
+        LectorMapperImpl.class,
+        DepartmentLookupCache.class,
+        PayrollRepository.class,
+        DepartmentReportGenerator.class,
+        DepartmentReportRepository.class,
+        UniversityFixtures.class
+})
+class UniversitySnapshotHolderTest {
+
+    @Autowired
+    private UniversitySnapshotHolder universitySnapshotHolder;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private Lector alice;
+
+    private Lector bob;
+
+    private Lector namesake;
+
+    @BeforeEach
+    void setUp() {
+        this.alice = this.fixtures.persistLector("Alice Johnson", Degree.PROFESSOR, new BigDecimal("70000.50"));
+        this.bob = this.fixtures.persistLector("Bob Smith", Degree.ASSOCIATE_PROFESSOR, null);
+        this.namesake = this.fixtures.persistLector("Alice Johnson", null, new BigDecimal("50000.00"));
+        this.fixtures.persistDepartment(
+                "Mathematics Department",
+                this.alice,
+                Set.of(this.alice, this.bob, this.namesake)
+        );
+        this.fixtures.persistDepartment("Medicine Department", null, Set.of(this.bob));
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    void refresh_persistedData_departmentsAnsweredFromColumns() {
+        UniversitySnapshot snapshot = this.universitySnapshotHolder.refresh();
+
+        int mathematics = snapshot.department("Mathematics Department");
+        DepartmentSummary summary = snapshot.summary(mathematics);
+        assertEquals("Alice Johnson", summary.headOfDepartmentName());
+        assertEquals(this.alice.getId(), summary.headOfDepartmentId());
+        assertEquals(3, summary.employeeCount());
+        assertEquals(Set.of(this.alice.getId(), this.bob.getId(), this.namesake.getId()),
+                snapshot.employeeIds(mathematics));
+        DepartmentStats stats = snapshot.stats(mathematics);
+        assertEquals(new BigDecimal("60000.25"), stats.averageSalary());
+        assertEquals(1L, stats.getProfessors());
+        assertEquals(1L, stats.getAssociateProfessors());
+        assertEquals(0L, stats.getAssistants());
+
+        int medicine = snapshot.department("Medicine Department");
+        assertNull(snapshot.summary(medicine).headOfDepartmentName());
+        assertNull(snapshot.stats(medicine).averageSalary());
+        assertEquals(-1, snapshot.department("Unknown Department"));
+    }
+
+    @Test
+    void refresh_persistedData_footprintCountsDictionaryEntriesOnce() {
+        this.universitySnapshotHolder.refresh();
+
+        SnapshotFootprint footprint = this.universitySnapshotHolder.footprint();
+
+        assertEquals(3, footprint.lectors());
+        assertEquals(2, footprint.distinctNames());
+        assertEquals(2, footprint.departments());
+        assertEquals(4, footprint.memberships());
+        assertTrue(footprint.totalBytes() > footprint.lectorColumnBytes());
+    }
+
+    @Test
+    void salaries_departmentsWithSalariesOnly() {
+        SalaryTable salaries = this.universitySnapshotHolder.refresh().salaries();
+
+        assertEquals(1, salaries.departments());
+        assertEquals("Mathematics Department", salaries.departmentName(0));
+    }
+
+    @Test
+    void departmentService_snapshotHeld_noStatements() {
+        this.universitySnapshotHolder.refresh();
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(new BigDecimal("60000.25"), this.departmentService.fetchAverageSalary("Mathematics Department"));
+        assertEquals(3, this.departmentService.fetchEmployeeCount("Mathematics  Department"));
+        assertEquals("Alice Johnson", this.departmentService.fetchHeadOfDepartment("Mathematics Department"));
+        assertEquals(1, this.departmentService.fetchAssociateProfessorsCount("Medicine Department"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void departmentService_departmentCreatedAfterRefresh_lookedUpInDatabase() {
+        this.universitySnapshotHolder.refresh();
+        Lector head = this.entityManager.find(Lector.class, this.bob.getId());
+        this.fixtures.persistDepartment("History Department", head, Set.of());
+        this.entityManager.flush();
+
+        assertEquals("Bob Smith", this.departmentService.fetchHeadOfDepartment("History Department"));
+    }
+
+    @Test
+    void current_changeCommittedAfterRefresh_bypassedUntilRebuilt() {
+        UniversitySnapshotHolder holder = new UniversitySnapshotHolder(
+                true,
+                Duration.ofHours(1),
+                this.dataSource,
+                this.transactionManager,
+                this.meterRegistry
+        );
+        UniversitySnapshot built = holder.refresh();
+        assertSame(built, holder.current());
+
+        holder.onLectorChanged(new LectorChangedEvent(this.bob.getId(), "Bob Smith", ChangeType.UPDATED));
+        assertNull(holder.current());
+
+        UniversitySnapshot rebuilt = holder.refresh();
+        assertSame(rebuilt, holder.current());
+
+        holder.onDepartmentChanged(new DepartmentChangedEvent(1L, ChangeType.REMOVED));
+        assertNull(holder.current());
+    }
+}
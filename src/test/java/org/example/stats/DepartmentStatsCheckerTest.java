@@ -0,0 +1,119 @@
+package org.example.stats;
+
+import org.example.console.ConsoleInterface;
+import org.example.entity.DepartmentStats;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.example.repositrory.DepartmentStatsRepository;
+import org.example.support.UniversityFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({DepartmentStatsChecker.class, UniversityFixtures.class})
+class DepartmentStatsCheckerTest {
+
+    @Autowired
+    private DepartmentStatsChecker departmentStatsChecker;
+
+    @Autowired
+    private DepartmentStatsRepository departmentStatsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UniversityFixtures fixtures;
+
+    @MockitoBean
+    private ConsoleInterface consoleInterface;
+
+    private Long mathematicsId;
+
+    @BeforeEach
+    void setUp() {
+        Lector alice = this.fixtures.persistLector("Alice Johnson", Degree.PROFESSOR, BigDecimal.valueOf(70000));
+        Lector bob = this.fixtures.persistLector("Bob Smith", Degree.ASSOCIATE_PROFESSOR, BigDecimal.valueOf(60000));
+        Lector charlie = this.fixtures.persistLector("Charlie Brown", Degree.ASSISTANT, null);
+        this.mathematicsId = this.fixtures
+                .persistDepartment("Mathematics Department", null, Set.of(alice, bob, charlie))
+                .getId();
+        this.fixtures.persistDepartment("Empty Department", null, Set.of());
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    void check_missingRows_reportedWithRecomputedAggregates() {
+        List<DepartmentStatsMismatch> mismatches = this.departmentStatsChecker.check();
+
+        assertEquals(2, mismatches.size());
+        DepartmentStatsMismatch mathematics = mismatches.stream()
+                .filter(mismatch -> mismatch.departmentId().equals(this.mathematicsId))
+                .findFirst()
+                .orElseThrow();
+        assertNull(mathematics.actual());
+        assertEquals(3L, mathematics.expected().getHeadcount());
+        assertEquals(0, new BigDecimal("130000").compareTo(mathematics.expected().getSalarySum()));
+        assertEquals(2L, mathematics.expected().getSalaryCount());
+        assertEquals(1L, mathematics.expected().getAssistants());
+        assertEquals(1L, mathematics.expected().getAssociateProfessors());
+        assertEquals(1L, mathematics.expected().getProfessors());
+    }
+
+    @Test
+    void repair_missingAndDriftedRows_consistentAfterwards() {
+        assertEquals(2, this.departmentStatsChecker.repair());
+        this.entityManager.flush();
+        this.entityManager.clear();
+        assertTrue(this.departmentStatsChecker.check().isEmpty());
+
+        DepartmentStats drifted = this.departmentStatsRepository.findById(this.mathematicsId).orElseThrow();
+        drifted.setHeadcount(7L);
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        List<DepartmentStatsMismatch> mismatches = this.departmentStatsChecker.check();
+        assertEquals(1, mismatches.size());
+        assertEquals(7L, mismatches.getFirst().actual().getHeadcount());
+        assertEquals(3L, mismatches.getFirst().expected().getHeadcount());
+
+        assertEquals(1, this.departmentStatsChecker.repair());
+        this.entityManager.flush();
+        this.entityManager.clear();
+        assertEquals(3L, this.departmentStatsRepository.findById(this.mathematicsId).orElseThrow().getHeadcount());
+        assertEquals(
+                new BigDecimal("65000.00"),
+                this.departmentStatsRepository.findById(this.mathematicsId).orElseThrow().averageSalary()
+        );
+    }
+
+    @Test
+    void repair_givenDepartments_otherRowsLeftMissing() {
+        assertEquals(1, this.departmentStatsChecker.repair(List.of(this.mathematicsId)));
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        assertEquals(3L, this.departmentStatsRepository.findById(this.mathematicsId).orElseThrow().getHeadcount());
+        List<DepartmentStatsMismatch> mismatches = this.departmentStatsChecker.check();
+        assertEquals(1, mismatches.size());
+        assertNull(mismatches.getFirst().actual());
+        assertEquals(0, this.departmentStatsChecker.repair(List.of(this.mathematicsId)));
+    }
+}
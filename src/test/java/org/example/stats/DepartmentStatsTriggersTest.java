@@ -0,0 +1,168 @@
+package org.example.stats;
+
+import org.example.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the V5 {@code department_stats} triggers on PostgreSQL.
+ */
+@EnabledIf("org.example.support.PostgresTestDatabase#available")
+class DepartmentStatsTriggersTest {
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private long mathematics;
+
+    private long medicine;
+
+    private long alice;
+
+    private long bob;
+
+    @BeforeEach
+    void setUp() {
+        this.dataSource = PostgresTestDatabase.dataSource();
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        PostgresTestDatabase.truncate();
+        this.mathematics = insertDepartment("Mathematics Department");
+        this.medicine = insertDepartment("Medicine Department");
+        this.alice = insertLector("Alice Johnson", "PROFESSOR", new BigDecimal("70000.00"));
+        this.bob = insertLector("Bob Smith", "ASSISTANT", null);
+    }
+
+    @Test
+    void departmentInsert_emptyStatisticsRow() {
+        assertEquals(List.of(0L, new BigDecimal("0.00"), 0L, 0L, 0L, 0L), stats(this.mathematics));
+    }
+
+    @Test
+    void membershipInsert_lectorAdded() {
+        insertMembership(this.mathematics, this.alice);
+        insertMembership(this.mathematics, this.bob);
+
+        assertEquals(List.of(2L, new BigDecimal("70000.00"), 1L, 1L, 0L, 1L), stats(this.mathematics));
+    }
+
+    @Test
+    void membershipInsertWhileDeferred_statisticsLeftToTheBulkLoad() throws Exception {
+        try (Connection connection = this.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("SET LOCAL department_stats.deferred = on");
+            connection.createStatement().executeUpdate("INSERT INTO department_lector (department_id, lector_id) "
+                    + "VALUES (" + this.mathematics + ", " + this.alice + ")");
+            connection.createStatement().execute("SET LOCAL department_stats.deferred = off");
+            connection.createStatement().executeUpdate("INSERT INTO department_lector (department_id, lector_id) "
+                    + "VALUES (" + this.mathematics + ", " + this.bob + ")");
+            connection.commit();
+        }
+
+        assertEquals(List.of(1L, new BigDecimal("0.00"), 0L, 1L, 0L, 0L), stats(this.mathematics));
+    }
+
+    @Test
+    void membershipDelete_lectorSubtracted() {
+        insertMembership(this.mathematics, this.alice);
+        insertMembership(this.mathematics, this.bob);
+
+        this.jdbcTemplate.update("DELETE FROM department_lector WHERE department_id = ? AND lector_id = ?",
+                this.mathematics, this.alice);
+
+        assertEquals(List.of(1L, new BigDecimal("0.00"), 0L, 1L, 0L, 0L), stats(this.mathematics));
+    }
+
+    @Test
+    void lectorUpdate_aggregatesOfEveryDepartmentMoved() {
+        insertMembership(this.mathematics, this.bob);
+        insertMembership(this.medicine, this.bob);
+
+        this.jdbcTemplate.update("UPDATE lectors SET degree = 'ASSOCIATE_PROFESSOR', salary = 40000 WHERE id = ?",
+                this.bob);
+
+        assertEquals(List.of(1L, new BigDecimal("40000.00"), 1L, 0L, 1L, 0L), stats(this.mathematics));
+        assertEquals(List.of(1L, new BigDecimal("40000.00"), 1L, 0L, 1L, 0L), stats(this.medicine));
+    }
+
+    @Test
+    void lectorDelete_subtractedOnceFromEveryDepartment() {
+        insertMembership(this.mathematics, this.alice);
+        insertMembership(this.medicine, this.alice);
+        insertMembership(this.medicine, this.bob);
+
+        this.jdbcTemplate.update("DELETE FROM lectors WHERE id = ?", this.alice);
+
+        assertEquals(List.of(0L, new BigDecimal("0.00"), 0L, 0L, 0L, 0L), stats(this.mathematics));
+        assertEquals(List.of(1L, new BigDecimal("0.00"), 0L, 1L, 0L, 0L), stats(this.medicine));
+    }
+
+    @Test
+    void membershipInsertDuringSalaryUpdate_committedSalaryCounted() throws Exception {
+        try (Connection update = this.dataSource.getConnection()) {
+            update.setAutoCommit(false);
+            update.createStatement().executeUpdate("UPDATE lectors SET salary = 80000 WHERE id = " + this.alice);
+
+            CompletableFuture<Void> insert = CompletableFuture.runAsync(
+                    () -> insertMembership(this.mathematics, this.alice)
+            );
+            awaitLockWait();
+            update.commit();
+            insert.get();
+        }
+
+        assertEquals(List.of(1L, new BigDecimal("80000.00"), 1L, 0L, 0L, 1L), stats(this.mathematics));
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Integer waiting = this.jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private List<Object> stats(long departmentId) {
+        return this.jdbcTemplate.queryForObject("""
+                SELECT headcount, salary_sum, salary_count, assistants, associate_professors, professors
+                FROM department_stats WHERE department_id = ?
+                """, (resultSet, rowNum) -> List.of(
+                resultSet.getLong(1),
+                resultSet.getBigDecimal(2),
+                resultSet.getLong(3),
+                resultSet.getLong(4),
+                resultSet.getLong(5),
+                resultSet.getLong(6)
+        ), departmentId);
+    }
+
+    private long insertDepartment(String name) {
+        return this.jdbcTemplate.queryForObject(
+                "INSERT INTO departments (department_name) VALUES (?) RETURNING id", Long.class, name);
+    }
+
+    private long insertLector(String name, String degree, BigDecimal salary) {
+        return this.jdbcTemplate.queryForObject("""
+                INSERT INTO lectors (name, degree, salary, is_head_of_department) VALUES (?, ?, ?, false)
+                RETURNING id
+                """, Long.class, name, degree, salary);
+    }
+
+    private void insertMembership(long departmentId, long lectorId) {
+        this.jdbcTemplate.update("INSERT INTO department_lector (department_id, lector_id) VALUES (?, ?)",
+                departmentId, lectorId);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.support;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+/**
+ * A PostgreSQL database migrated by Flyway, for tests of the SQL that H2 cannot run: triggers, {@code COPY}
+ * and sequence syntax.
+ * <p>
+ * The database is a Testcontainers container shared by all test classes of the run. Without Docker, an
+ * existing database is used when {@code -Dpostgres.test.url} is set, with {@code postgres.test.username} and
+ * {@code postgres.test.password}; it is cleaned before the migration. Tests are skipped when neither is
+ * available:
+ * <pre>
+ * &#64;EnabledIf("org.example.support.PostgresTestDatabase#available")
+ * </pre>
+ */
+public final class PostgresTestDatabase {
+    private static final String URL_PROPERTY = "postgres.test.url";
+    private static final String IMAGE = "postgres:16-alpine";
+    private static final String DATABASE_NAME = "university";
+
+    private static DataSource dataSource;
+
+    private PostgresTestDatabase() {
+    }
+
+    /**
+     * Tells whether a PostgreSQL database can be provided.
+     *
+     * @return {@code true} if {@code postgres.test.url} is set or Docker is available
+     */
+    public static boolean available() {
+        return System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    /**
+     * Returns the migrated database, starting and migrating it on first use.
+     *
+     * @return the data source
+     */
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            dataSource = start();
+            Flyway flyway = Flyway.configure()
+                    .dataSource(dataSource)
+                    .cleanDisabled(false)
+                    .load();
+            flyway.clean();
+            flyway.migrate();
+        }
+        return dataSource;
+    }
+
+    /**
+     * Deletes all lectors, departments, memberships and statistics rows.
+     */
+    public static void truncate() {
+        new JdbcTemplate(dataSource())
+                .execute("TRUNCATE department_lector, department_stats, departments, lectors CASCADE");
+    }
+
+    private static DataSource start() {
+        PGSimpleDataSource pgDataSource = new PGSimpleDataSource();
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null) {
+            pgDataSource.setUrl(url);
+            pgDataSource.setUser(System.getProperty("postgres.test.username", "postgres"));
+            pgDataSource.setPassword(System.getProperty("postgres.test.password", ""));
+            return pgDataSource;
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(IMAGE).withDatabaseName(DATABASE_NAME);
+        container.start();
+        pgDataSource.setUrl(container.getJdbcUrl());
+        pgDataSource.setUser(container.getUsername());
+        pgDataSource.setPassword(container.getPassword());
+        return pgDataSource;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.support;
+
+import org.example.entity.Department;
+import org.example.entity.DepartmentStats;
+import org.example.entity.Lector;
+import org.example.enums.Degree;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Persists lectors and departments for {@code @DataJpaTest}s, which add it with {@code @Import}.
+ * Nothing is flushed; tests flush and clear the persistence context once their data is in place.
+ */
+public class UniversityFixtures {
+    private final TestEntityManager entityManager;
+
+    public UniversityFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Persists a lector without degree and salary.
+     *
+     * @param name the name of the lector
+     * @return the persisted lector
+     */
+    public Lector persistLector(String name) {
+        return persistLector(name, null, null);
+    }
+
+    /**
+     * Persists a lector who is not head of a department.
+     *
+     * @param name the name of the lector
+     * @param degree the degree, may be {@code null}
+     * @param salary the salary, may be {@code null}
+     * @return the persisted lector
+     */
+    public Lector persistLector(String name, Degree degree, BigDecimal salary) {
+        Lector lector = new Lector();
+        lector.setName(name);
+        lector.setDegree(degree);
+        lector.setSalary(salary);
+        lector.setIsHeadOfDepartment(false);
+        return this.entityManager.persist(lector);
+    }
+
+    /**
+     * Persists a department, marking its head as head of department.
+     *
+     * @param name the name of the department
+     * @param head the head, may be {@code null}
+     * @param employees the employees
+     * @return the persisted department
+     */
+    public Department persistDepartment(String name, Lector head, Set<Lector> employees) {
+        Department department = new Department();
+        department.setDepartmentName(name);
+        department.setHeadOfDepartment(head);
+        department.setEmployees(employees);
+        if (head != null) {
+            head.setIsHeadOfDepartment(true);
+        }
+        return this.entityManager.persist(department);
+    }
+
+    /**
+     * Persists a department together with its statistics row, which databases without the statistics
+     * triggers do not create.
+     *
+     * @param name the name of the department
+     * @param head the head, may be {@code null}
+     * @param employees the employees
+     * @param stats the statistics of the department
+     * @return the persisted department
+     */
+    public Department persistDepartment(String name, Lector head, Set<Lector> employees, DepartmentStats stats) {
+        Department department = persistDepartment(name, head, employees);
+        stats.setDepartmentId(department.getId());
+        this.entityManager.persist(stats);
+        return department;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.exceptionHandling.customExceptions.NotFoundException;
+import org.example.repositrory.DepartmentRepository;
+import org.example.service.DepartmentService;
+import org.example.service.LectorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private LectorService lectorService;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Test
+    void warmUp_department_everyReadMethodCalledPerRound() {
+        StartupWarmup warmup = new StartupWarmup(
+                this.departmentService, this.lectorService, this.departmentRepository, 8, 4);
+        when(this.departmentService.fetchAverageSalary("Mathematics"))
+                .thenThrow(new NotFoundException("Department not found", "Mathematics"));
+
+        int calls = warmup.warmUp("Mathematics");
+
+        assertEquals(8 * 13, calls);
+        verify(this.lectorService, times(8)).searchByNameContaining("an", 50, 0);
+        verify(this.departmentService, times(8)).fetchAverageSalary("Mathematics");
+        verify(this.departmentService, times(8)).fetchAverageSalaries(List.of("Mathematics"));
+    }
+
+    @Test
+    void warmUp_emptyDatabase_searchOnly() {
+        StartupWarmup warmup = new StartupWarmup(
+                this.departmentService, this.lectorService, this.departmentRepository, 3, 4);
+
+        int calls = warmup.warmUp(null);
+
+        assertEquals(4, calls);
+        verifyNoInteractions(this.departmentService);
+    }
+
+    @Test
+    void new_concurrencyUnset_maximumPoolSize() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(3);
+            @SuppressWarnings("unchecked")
+            ObjectProvider<DataSource> dataSource = mock(ObjectProvider.class);
+            when(dataSource.getIfAvailable()).thenReturn(pool);
+            StartupWarmup warmup = new StartupWarmup(
+                    this.departmentService, this.lectorService, this.departmentRepository, 3, 0, dataSource);
+
+            int calls = warmup.warmUp(null);
+
+            assertEquals(3, calls);
+        }
+    }
+}